@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.BatchRunner;
+
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+
+import java.util.function.Consumer;
+
+/**
+ * Represents a runner that plays many independent races on the same track.
+ * Provides methods to run a batch of races and collect aggregated statistics about them.
+ */
+public interface BatchRunner {
+
+    /**
+     * Runs the specified number of independent races and aggregates their results.
+     *
+     * @param races the number of races to run
+     * @return the statistics aggregated over all the races
+     */
+    BatchStatistics runRaces(int races);
+
+    /**
+     * Runs the specified number of independent races, notifying each result as soon as its race is over.
+     * The listener may be called concurrently from different threads.
+     *
+     * @param races the number of races to run
+     * @param onRaceCompleted the listener notified with the result of each race
+     * @return the statistics aggregated over all the races
+     */
+    BatchStatistics runRaces(int races, Consumer<RaceResult> onRaceCompleted);
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.BatchRunner;
+
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe accumulator of statistics over a batch of races.
+ * Results can be added while other threads read the statistics collected so far.
+ */
+public class BatchStatistics {
+    private final Map<String, Integer> wins;
+    private int[] finishTurns;
+    private int races;
+    private int finishedRaces;
+    private long participants;
+    private long eliminations;
+
+    /**
+     * Constructs a new empty BatchStatistics.
+     */
+    public BatchStatistics() {
+        this.wins = new HashMap<>();
+        this.finishTurns = new int[16];
+    }
+
+    /**
+     * Adds the result of a race to the statistics.
+     *
+     * @param result the result of the race
+     */
+    public synchronized void accept(RaceResult result) {
+        races++;
+        participants += result.bots().size();
+        eliminations += result.eliminatedBots().size();
+        if (result.hasWinner()) {
+            wins.merge(result.winner().getName(), 1, Integer::sum);
+            if (finishedRaces == finishTurns.length)
+                finishTurns = Arrays.copyOf(finishTurns, finishedRaces * 2);
+            finishTurns[finishedRaces++] = result.turns();
+        }
+    }
+
+    /**
+     * Returns the number of races collected.
+     *
+     * @return the number of races
+     */
+    public synchronized int getRaces() {
+        return races;
+    }
+
+    /**
+     * Returns the number of races that ended with a winner.
+     *
+     * @return the number of finished races
+     */
+    public synchronized int getFinishedRaces() {
+        return finishedRaces;
+    }
+
+    /**
+     * Returns the fraction of races won by the bot with the specified name.
+     *
+     * @param botName the name of the bot
+     * @return the win rate of the bot, between 0 and 1
+     */
+    public synchronized double getWinRate(String botName) {
+        return races == 0 ? 0 : (double) wins.getOrDefault(botName, 0) / races;
+    }
+
+    /**
+     * Returns the win rate of every bot that won at least one race.
+     *
+     * @return a map from bot name to win rate
+     */
+    public synchronized Map<String, Double> getWinRates() {
+        Map<String, Double> winRates = new HashMap<>();
+        wins.forEach((name, count) -> winRates.put(name, (double) count / races));
+        return winRates;
+    }
+
+    /**
+     * Returns the mean number of turns needed to finish, over the races that ended with a winner.
+     *
+     * @return the mean number of turns, or 0 if no race was finished
+     */
+    public synchronized double getMeanTurnsToFinish() {
+        if (finishedRaces == 0)
+            return 0;
+        long sum = 0;
+        for (int i = 0; i < finishedRaces; i++)
+            sum += finishTurns[i];
+        return (double) sum / finishedRaces;
+    }
+
+    /**
+     * Returns the specified percentile of the number of turns needed to finish,
+     * over the races that ended with a winner, using the nearest-rank method.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the number of turns at the percentile, or 0 if no race was finished
+     */
+    public synchronized int getTurnsToFinishPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+        if (finishedRaces == 0)
+            return 0;
+        int[] sorted = Arrays.copyOf(finishTurns, finishedRaces);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * finishedRaces);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Returns the fraction of participating bots that were eliminated.
+     *
+     * @return the elimination rate, between 0 and 1
+     */
+    public synchronized double getEliminationRate() {
+        return participants == 0 ? 0 : (double) eliminations / participants;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Races: " + races + ", win rates: " + getWinRates() +
+                ", turns to finish (mean/p50/p99): " + getMeanTurnsToFinish() + "/" +
+                getTurnsToFinishPercentile(50) + "/" + getTurnsToFinishPercentile(99) +
+                ", elimination rate: " + getEliminationRate();
+    }
+}
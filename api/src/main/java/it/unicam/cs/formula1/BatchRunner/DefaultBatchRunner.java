@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.BatchRunner;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.Track.Track;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Default implementation of the {@link BatchRunner} interface.
+ * Runs the races on a fork-join pool, sharing a single parsed {@link Track} between all of them.
+ * The seed of every race is derived from a master seed and the index of the race,
+ * so a batch is reproducible regardless of how the races are scheduled.
+ */
+public class DefaultBatchRunner implements BatchRunner {
+    private final Track track;
+    private final List<String> botNames;
+    private final int maxTurns;
+    private final ForkJoinPool pool;
+    private final long seed;
+
+    /**
+     * Constructs a new DefaultBatchRunner that uses all the available processors.
+     *
+     * @param track the track on which every race is played
+     * @param botNames the names of the bots taking part in every race
+     * @param maxTurns the maximum number of turns of a single race
+     * @throws BotException if there are more bots than starting positions
+     */
+    public DefaultBatchRunner(Track track, List<String> botNames, int maxTurns) throws BotException {
+        this(track, botNames, maxTurns, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new DefaultBatchRunner that runs the races on the specified pool.
+     *
+     * @param track the track on which every race is played
+     * @param botNames the names of the bots taking part in every race
+     * @param maxTurns the maximum number of turns of a single race
+     * @param pool the pool on which the races are run
+     * @throws BotException if there are more bots than starting positions
+     */
+    public DefaultBatchRunner(Track track, List<String> botNames, int maxTurns, ForkJoinPool pool) throws BotException {
+        this(track, botNames, maxTurns, pool, RaceRandom.randomSeed());
+    }
+
+    /**
+     * Constructs a new DefaultBatchRunner that runs the races on the specified pool, deriving their seeds from a master seed.
+     *
+     * @param track the track on which every race is played
+     * @param botNames the names of the bots taking part in every race
+     * @param maxTurns the maximum number of turns of a single race
+     * @param pool the pool on which the races are run
+     * @param seed the master seed of the batch
+     * @throws BotException if there are more bots than starting positions
+     */
+    public DefaultBatchRunner(Track track, List<String> botNames, int maxTurns, ForkJoinPool pool, long seed) throws BotException {
+        if (botNames.size() > track.getStartPositions().size())
+            throw new BotException("The number of bots exceeds the available starting positions.");
+        this.track = track;
+        this.botNames = List.copyOf(botNames);
+        this.maxTurns = maxTurns;
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    @Override
+    public BatchStatistics runRaces(int races) {
+        return runRaces(races, result -> {});
+    }
+
+    @Override
+    public BatchStatistics runRaces(int races, Consumer<RaceResult> onRaceCompleted) {
+        BatchStatistics statistics = new BatchStatistics();
+        pool.invoke(new RaceTask(0, races, statistics, onRaceCompleted));
+        return statistics;
+    }
+
+    /**
+     * Runs a single headless race with freshly created bots.
+     *
+     * @param index the index of the race in the batch
+     * @return the result of the race
+     */
+    private RaceResult runRace(int index) {
+        try {
+            List<Bot> bots = BotFactory.createBots(botNames, track, RaceRandom.derive(seed, index));
+            return new DefaultGameEngine(track, bots).runToCompletion(maxTurns);
+        } catch (BotException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Fork-join task running the races in a range, splitting the range in halves until a single race is left.
+     */
+    private class RaceTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final BatchStatistics statistics;
+        private final Consumer<RaceResult> onRaceCompleted;
+
+        RaceTask(int from, int to, BatchStatistics statistics, Consumer<RaceResult> onRaceCompleted) {
+            this.from = from;
+            this.to = to;
+            this.statistics = statistics;
+            this.onRaceCompleted = onRaceCompleted;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    RaceResult result = runRace(from);
+                    statistics.accept(result);
+                    onRaceCompleted.accept(result);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RaceTask(from, middle, statistics, onRaceCompleted),
+                    new RaceTask(middle, to, statistics, onRaceCompleted));
+        }
+    }
+}
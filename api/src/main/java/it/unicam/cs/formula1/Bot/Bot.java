@@ -27,6 +27,7 @@ package it.unicam.cs.formula1.Bot;
 
 import it.unicam.cs.formula1.Movement.Movement;
 import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
 
 /**
  * Represents a bot in the game.
@@ -40,6 +41,15 @@ public interface Bot {
      */
     void updatePosition(Position direction);
 
+    /**
+     * Updates the bots position to the specified coordinates.
+     * Allocation-free variant of {@link #updatePosition(Position)}.
+     *
+     * @param x the new x coordinate of the bot
+     * @param y the new y coordinate of the bot
+     */
+    void updatePosition(int x, int y);
+
     /**
      * Calculates the bots next moves based on its current position and movement strategy.
      */
@@ -52,6 +62,20 @@ public interface Bot {
      */
     Position getCurrentPosition();
 
+    /**
+     * Returns the x coordinate of the current position of the bot.
+     *
+     * @return the current x coordinate
+     */
+    int getCurrentX();
+
+    /**
+     * Returns the y coordinate of the current position of the bot.
+     *
+     * @return the current y coordinate
+     */
+    int getCurrentY();
+
     /**
      * Returns the previous move of the bot.
      *
@@ -59,6 +83,28 @@ public interface Bot {
      */
     Position getPreviousMove();
 
+    /**
+     * Returns the x component of the previous move of the bot.
+     *
+     * @return the x component of the previous move
+     */
+    int getPreviousMoveX();
+
+    /**
+     * Returns the y component of the previous move of the bot.
+     *
+     * @return the y component of the previous move
+     */
+    int getPreviousMoveY();
+
+    /**
+     * Checks if the last move of the bot was a nearby move, the fallback taken when the bot was stopped
+     * or its main point was not a valid position.
+     *
+     * @return true if the last move was a nearby move, false otherwise
+     */
+    boolean isNearbyMove();
+
     /**
      * Returns the name of the bot.
      *
@@ -73,6 +119,13 @@ public interface Bot {
      */
     Movement getMovement();
 
+    /**
+     * Returns the random number generator used for every random choice of the bot.
+     *
+     * @return the random number generator of the bot
+     */
+    RaceRandom getRandom();
+
     /**
      * Sets the elimination status of the bot.
      *
@@ -86,4 +139,19 @@ public interface Bot {
      * @return true if the bot is eliminated, false otherwise
      */
     boolean getEliminated();
+
+    /**
+     * Returns a copy of the whole state of the bot, including the state of its random number generator.
+     *
+     * @return the state of the bot
+     */
+    BotState getState();
+
+    /**
+     * Replaces the whole state of the bot, as returned by {@link #getState()}.
+     * A bot whose state has been set moves exactly as the bot the state was taken from.
+     *
+     * @param state the state to set
+     */
+    void setState(BotState state);
 }
@@ -26,9 +26,17 @@
 package it.unicam.cs.formula1.Bot;
 
 import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Movement.Movement;
+import it.unicam.cs.formula1.Planner.AStarPlanner;
+import it.unicam.cs.formula1.Planner.DoomedStateTable;
+import it.unicam.cs.formula1.Planner.Planner;
+import it.unicam.cs.formula1.Planner.PolicyTable;
+import it.unicam.cs.formula1.Planner.StateSpace;
 import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
 import it.unicam.cs.formula1.Track.*;
 import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -37,6 +45,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Factory class for creating instances of {@link Bot}.
@@ -54,21 +63,186 @@ public class BotFactory {
      * @throws BotException if there are issues with the bot configuration
      */
     public static List<Bot> createBotsFromConfig(String configPath, Track track) throws IOException, BotException {
+        return createBotsFromConfig(configPath, track, RaceRandom.randomSeed());
+    }
+
+    /**
+     * Creates a list of bots from a configuration file, deriving the random number generator of every bot
+     * from a master seed.
+     *
+     * @param configPath the path to the configuration file
+     * @param track      the track on which the bots will operate
+     * @param seed       the master seed of the race
+     * @return a list of {@link Bot}
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws BotException if there are issues with the bot configuration
+     */
+    public static List<Bot> createBotsFromConfig(String configPath, Track track, long seed) throws IOException, BotException {
+        return createBots(readBotNamesFromConfig(configPath), track, seed);
+    }
+
+    /**
+     * Reads the names of the bots from a configuration file.
+     *
+     * @param configPath the path to the configuration file
+     * @return the list of bot names, in configuration order
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws BotException if the required 'bots' key is missing
+     */
+    public static List<String> readBotNamesFromConfig(String configPath) throws IOException, BotException {
         String content = Files.readString(Paths.get(configPath));
         JSONArray jsonArray = parseAndValidateBotConfig(content);
-        return instantiateBots(jsonArray, track);
+        List<String> names = new ArrayList<>(jsonArray.length());
+        for (int i = 0; i < jsonArray.length(); i++)
+            names.add(jsonArray.getJSONObject(i).getString("name"));
+        return names;
+    }
+
+    /**
+     * Creates a default bot for each name, placing the bots on the start positions of the track in order.
+     *
+     * @param names the names of the bots
+     * @param track the track on which the bots will operate
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
+     */
+    public static List<Bot> createBots(List<String> names, Track track) throws BotException {
+        return createBots(names, track, RaceRandom.randomSeed());
+    }
+
+    /**
+     * Creates a default bot for each name, placing the bots on the start positions of the track in order.
+     * The random number generator of every bot is derived from the master seed and the index of the bot,
+     * so the same seed always gives the same race.
+     *
+     * @param names the names of the bots
+     * @param track the track on which the bots will operate
+     * @param seed  the master seed of the race
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
+     */
+    public static List<Bot> createBots(List<String> names, Track track, long seed) throws BotException {
+        return placeBots(names, track, seed, DefaultBot::new);
+    }
+
+    /**
+     * Creates a {@link PlannerBot} for each name, placing the bots on the start positions of the track in order.
+     * All the bots share a single {@link AStarPlanner} of the track.
+     *
+     * @param names the names of the bots
+     * @param track the track on which the bots will operate
+     * @param seed  the master seed of the race
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
+     */
+    public static List<Bot> createPlannerBots(List<String> names, Track track, long seed) throws BotException {
+        return createPlannerBots(names, new AStarPlanner(new StateSpace(track)), seed);
+    }
+
+    /**
+     * Creates a {@link PlannerBot} for each name, placing the bots on the start positions of the track in order.
+     * All the bots share the specified planner, which can be created once and reused by every race on its track.
+     *
+     * @param names   the names of the bots
+     * @param planner the planner of the track on which the bots will operate
+     * @param seed    the master seed of the race
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
+     */
+    public static List<Bot> createPlannerBots(List<String> names, Planner planner, long seed) throws BotException {
+        return placeBots(names, planner.getStateSpace().getTrack(), seed,
+                (name, startPosition, movement, trackOperation, random)
+                        -> new PlannerBot(name, startPosition, movement, trackOperation, random, planner));
     }
 
     /**
-     * Creates a default bot with the specified name, starting position, and track.
+     * Creates a {@link PolicyBot} for each name, placing the bots on the start positions of the track in order.
+     * All the bots share the specified policy table, which can be computed once and reused by every race on its track.
      *
-     * @param name          the name of the bot
-     * @param startPosition the starting position of the bot
-     * @param track         the track on which the bot will operate
-     * @return a new instance of DefaultBot
+     * @param names       the names of the bots
+     * @param policyTable the policy table of the track on which the bots will operate
+     * @param seed        the master seed of the race
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
+     */
+    public static List<Bot> createPolicyBots(List<String> names, PolicyTable policyTable, long seed) throws BotException {
+        return placeBots(names, policyTable.getStateSpace().getTrack(), seed,
+                (name, startPosition, movement, trackOperation, random)
+                        -> new PolicyBot(name, startPosition, movement, trackOperation, random, policyTable));
+    }
+
+    /**
+     * Creates a {@link CautiousBot} for each name, placing the bots on the start positions of the track in order.
+     * All the bots share the specified doomed state table.
+     *
+     * @param names        the names of the bots
+     * @param doomedStates the doomed states of the track on which the bots will operate
+     * @param seed         the master seed of the race
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
+     */
+    public static List<Bot> createCautiousBots(List<String> names, DoomedStateTable doomedStates, long seed) throws BotException {
+        return placeBots(names, doomedStates.getStateSpace().getTrack(), seed,
+                (name, startPosition, movement, trackOperation, random)
+                        -> new CautiousBot(name, startPosition, movement, trackOperation, random, doomedStates));
+    }
+
+    /**
+     * Creates a {@link RolloutBot} for each name, placing the bots on the start positions of the track in order.
+     * All the bots share a single {@link StateSpace} of the track and run their rollouts on the common pool.
+     *
+     * @param names    the names of the bots
+     * @param track    the track on which the bots will operate
+     * @param seed     the master seed of the race
+     * @param settings the settings of the rollouts
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
      */
-    private static Bot createDefaultBot(String name, Position startPosition, Track track) {
-        return new DefaultBot(name, startPosition, new DefaultMovement(), new DefaultTrackOperation(track));
+    public static List<Bot> createRolloutBots(List<String> names, Track track, long seed, RolloutSettings settings)
+            throws BotException {
+        return createRolloutBots(names, track, seed, settings, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a {@link RolloutBot} for each name, placing the bots on the start positions of the track in order.
+     * All the bots share a single {@link StateSpace} of the track and run their rollouts on the specified pool.
+     *
+     * @param names    the names of the bots
+     * @param track    the track on which the bots will operate
+     * @param seed     the master seed of the race
+     * @param settings the settings of the rollouts
+     * @param pool     the pool on which the rollouts are run
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
+     */
+    public static List<Bot> createRolloutBots(List<String> names, Track track, long seed, RolloutSettings settings,
+                                              ForkJoinPool pool) throws BotException {
+        StateSpace stateSpace = new StateSpace(track);
+        return placeBots(names, track, seed, (name, startPosition, movement, trackOperation, random)
+                -> new RolloutBot(name, startPosition, movement, trackOperation, random, stateSpace, settings, pool));
+    }
+
+    /**
+     * Creates a bot for each name, placing the bots on the start positions of the track in order.
+     * The random number generator of every bot is derived from the master seed and the index of the bot.
+     *
+     * @param names       the names of the bots
+     * @param track       the track on which the bots will operate
+     * @param seed        the master seed of the race
+     * @param constructor the constructor of a single bot
+     * @return a list of {@link Bot}
+     * @throws BotException if there are more bots than starting positions
+     */
+    private static List<Bot> placeBots(List<String> names, Track track, long seed, BotConstructor constructor)
+            throws BotException {
+        List<Position> startPositions = track.getStartPositions();
+        if (names.size() > startPositions.size())
+            throw new BotException("The number of bots exceeds the available starting positions.");
+        List<Bot> bots = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++)
+            bots.add(constructor.create(names.get(i), startPositions.get(i), new DefaultMovement(),
+                    new DefaultTrackOperation(track), new RaceRandom(RaceRandom.derive(seed, i))));
+        return bots;
     }
 
     /**
@@ -86,22 +260,10 @@ public class BotFactory {
     }
 
     /**
-     * Instantiates bots based on the JSON array and the given track.
-     *
-     * @param jsonArray the JSON array containing bot details
-     * @param track     the track on which the bots will operate
-     * @return a list of instantiated bots
-     * @throws BotException if there are more bots than starting positions
+     * Constructor of a bot from its name, starting position, movement, track operation and random number generator.
      */
-    private static List<Bot> instantiateBots(JSONArray jsonArray, Track track) throws BotException {
-        List<Bot> bots = new ArrayList<>();
-        int startPositionsSize = track.getStartPositions().size();
-        if (jsonArray.length() > startPositionsSize)
-            throw new BotException("The number of bots exceeds the available starting positions.");
-        for (int i = 0; i < jsonArray.length() && i < startPositionsSize; i++) {
-            JSONObject botJson = jsonArray.getJSONObject(i);
-            bots.add(createDefaultBot(botJson.getString("name"), track.getStartPositions().get(i), track));
-        }
-        return bots;
+    @FunctionalInterface
+    private interface BotConstructor {
+        Bot create(String name, Position startPosition, Movement movement, TrackOperation trackOperation, RaceRandom random);
     }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Bot;
+
+/**
+ * Snapshot of the whole state of a {@link Bot}: everything that decides its next moves.
+ *
+ * @param x The x coordinate of the bot.
+ * @param y The y coordinate of the bot.
+ * @param previousMoveX The x component of the previous move of the bot.
+ * @param previousMoveY The y component of the previous move of the bot.
+ * @param speed The speed of the bot.
+ * @param nearbyMove Whether the last move of the bot was a nearby move.
+ * @param eliminated Whether the bot is eliminated.
+ * @param randomState The state of the random number generator of the bot.
+ */
+public record BotState(int x, int y, int previousMoveX, int previousMoveY, int speed, boolean nearbyMove,
+                       boolean eliminated, long randomState) {
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Bot;
+
+import it.unicam.cs.formula1.Movement.Movement;
+import it.unicam.cs.formula1.Planner.DoomedStateTable;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
+
+/**
+ * A {@link DefaultBot} that stays out of the doomed states of a {@link DoomedStateTable}.
+ * The bot makes its move as a default bot, and keeps it when it is a move of the {@link StateSpace} to a state
+ * that is not doomed. Otherwise, when the move would eliminate the bot, cross a wall or reach a doomed state,
+ * the bot makes instead the first move of the state space to a state that is not doomed, if there is one.
+ * A cautious bot that starts from a state that is not doomed is never eliminated.
+ */
+public class CautiousBot extends DefaultBot {
+    private final DoomedStateTable doomedStates;
+
+    /**
+     * Constructs a new CautiousBot with the specified name, starting position, movement, track operation,
+     * random number generator and doomed state table.
+     *
+     * @param name            the name of the bot
+     * @param startPosition   the starting position of the bot
+     * @param movement        the movement strategy for the bot
+     * @param trackOperation  the track operation for the bot
+     * @param random          the random number generator of the bot
+     * @param doomedStates    the doomed states of the track
+     */
+    public CautiousBot(String name, Position startPosition, Movement movement, TrackOperation trackOperation,
+                       RaceRandom random, DoomedStateTable doomedStates) {
+        super(name, startPosition, movement, trackOperation, random);
+        this.doomedStates = doomedStates;
+    }
+
+    @Override
+    public void calculateNextMoves() {
+        BotState before = getState();
+        super.calculateNextMoves();
+        StateSpace stateSpace = doomedStates.getStateSpace();
+        if (!stateSpace.contains(before.x(), before.y(), before.previousMoveX(), before.previousMoveY(), before.speed()))
+            return;
+        BotState after = getState();
+        long current = stateSpace.encode(before.x(), before.y(), before.previousMoveX(), before.previousMoveY(), before.speed());
+        long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+        int count = stateSpace.successors(current, successors);
+        int safe = -1;
+        for (int i = count - 1; i >= 0; i--) {
+            if (doomedStates.isDoomed(successors[i]))
+                continue;
+            if (!after.eliminated() && stateSpace.getX(successors[i]) == after.x()
+                    && stateSpace.getY(successors[i]) == after.y() && stateSpace.getSpeed(successors[i]) == after.speed())
+                return;
+            safe = i;
+        }
+        if (safe < 0)
+            return;
+        int x = stateSpace.getX(successors[safe]);
+        int y = stateSpace.getY(successors[safe]);
+        setState(new BotState(x, y, x - before.x(), y - before.y(), stateSpace.getSpeed(successors[safe]),
+                stateSpace.isNearbyMove(current), false, after.randomState()));
+    }
+}
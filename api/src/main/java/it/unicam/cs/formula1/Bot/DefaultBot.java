@@ -26,23 +26,34 @@
 package it.unicam.cs.formula1.Bot;
 
 import it.unicam.cs.formula1.Movement.Movement;
+import it.unicam.cs.formula1.Movement.MovementRules;
 import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
 import it.unicam.cs.formula1.TrackOperation.TrackOperation;
 
 /**
  * Default implementation of the {@link Bot} interface.
  * Provides methods to update the bots position and calculate next moves.
+ * The position and the previous move are kept as primitive coordinates, so that moving a bot does not allocate;
+ * the {@link Position} views are created only when requested.
  */
 public class DefaultBot implements Bot {
     private final String name;
     private final Movement movement;
     private final TrackOperation trackOperation;
+    private final RaceRandom random;
     private boolean eliminated;
+    private boolean nearbyMove;
+    private int x;
+    private int y;
+    private int previousMoveX;
+    private int previousMoveY;
     private Position actualPosition;
     private Position previousMove;
 
     /**
-     * Constructs a new DefaultBot with the specified name, starting position, movement, track operation, and random number generator.
+     * Constructs a new DefaultBot with the specified name, starting position, movement and track operation,
+     * and a randomly seeded random number generator.
      *
      * @param name            the name of the bot
      * @param startPosition   the starting position of the bot
@@ -50,33 +61,65 @@ public class DefaultBot implements Bot {
      * @param trackOperation  the track operation for the bot
      */
     public DefaultBot(String name, Position startPosition, Movement movement, TrackOperation trackOperation) {
+        this(name, startPosition, movement, trackOperation, new RaceRandom());
+    }
+
+    /**
+     * Constructs a new DefaultBot with the specified name, starting position, movement, track operation, and random number generator.
+     *
+     * @param name            the name of the bot
+     * @param startPosition   the starting position of the bot
+     * @param movement        the movement strategy for the bot
+     * @param trackOperation  the track operation for the bot
+     * @param random          the random number generator of the bot
+     */
+    public DefaultBot(String name, Position startPosition, Movement movement, TrackOperation trackOperation, RaceRandom random) {
         this.name = name;
+        this.x = startPosition.getX();
+        this.y = startPosition.getY();
         this.actualPosition = startPosition;
-        this.previousMove = new Position(0, 0);
         this.movement = movement;
         this.trackOperation = trackOperation;
+        this.random = random;
         this.eliminated = false;
     }
 
     @Override
     public void updatePosition(Position direction) {
-        this.previousMove = new Position(direction.getX() - this.actualPosition.getX(), direction.getY() - this.actualPosition.getY());
+        updatePosition(direction.getX(), direction.getY());
         this.actualPosition = direction;
     }
 
+    @Override
+    public void updatePosition(int x, int y) {
+        this.previousMoveX = x - this.x;
+        this.previousMoveY = y - this.y;
+        this.x = x;
+        this.y = y;
+        this.actualPosition = null;
+        this.previousMove = null;
+    }
+
     @Override
     public void calculateNextMoves() {
-        Position mainPoint = movement.calculateMainPoint(actualPosition, previousMove);
-        Position nextMainPoint1 = movement.calculateMainPoint(mainPoint, previousMove);
-        Position nextMainPoint2 = movement.calculateMainPoint(nextMainPoint1, previousMove);
-        if (actualPosition.equals(mainPoint) || !trackOperation.isValidPosition(mainPoint)) {
+        int mainX = x + previousMoveX;
+        int mainY = y + previousMoveY;
+        nearbyMove = MovementRules.isNearbyMove(trackOperation, x, y, previousMoveX, previousMoveY);
+        if (nearbyMove) {
             trackOperation.executeNearbyMove(this);
             return;
         }
-        Position newPosition = trackOperation.isValidAndPassable(mainPoint, nextMainPoint1, nextMainPoint2)
-                ? movement.accelerate(mainPoint, previousMove) : movement.decelerate(mainPoint, previousMove);
-        updatePosition(newPosition);
+        int directionX = Integer.signum(previousMoveX);
+        int directionY = Integer.signum(previousMoveY);
+        if (MovementRules.accelerates(trackOperation, mainX, mainY, previousMoveX, previousMoveY)) {
+            int step = movement.accelerate();
+            updatePosition(mainX + step * directionX, mainY + step * directionY);
+        } else {
+            int step = movement.decelerate();
+            updatePosition(mainX - step * directionX, mainY - step * directionY);
+        }
     }
+
     @Override
     public Movement getMovement() {
         return movement;
@@ -84,12 +127,43 @@ public class DefaultBot implements Bot {
 
     @Override
     public Position getPreviousMove() {
-        return previousMove;
+        Position move = previousMove;
+        if (move == null)
+            previousMove = move = new Position(previousMoveX, previousMoveY);
+        return move;
+    }
+
+    @Override
+    public int getPreviousMoveX() {
+        return previousMoveX;
+    }
+
+    @Override
+    public int getPreviousMoveY() {
+        return previousMoveY;
     }
 
     @Override
     public Position getCurrentPosition() {
-        return this.actualPosition;
+        Position position = actualPosition;
+        if (position == null)
+            actualPosition = position = new Position(x, y);
+        return position;
+    }
+
+    @Override
+    public int getCurrentX() {
+        return x;
+    }
+
+    @Override
+    public int getCurrentY() {
+        return y;
+    }
+
+    @Override
+    public boolean isNearbyMove() {
+        return nearbyMove;
     }
 
     @Override
@@ -97,6 +171,11 @@ public class DefaultBot implements Bot {
         return this.name;
     }
 
+    @Override
+    public RaceRandom getRandom() {
+        return random;
+    }
+
     @Override
     public void isEliminated(boolean eliminated) {
         this.eliminated = eliminated;
@@ -106,4 +185,26 @@ public class DefaultBot implements Bot {
     public boolean getEliminated() {
         return eliminated;
     }
+
+    @Override
+    public BotState getState() {
+        return new BotState(x, y, previousMoveX, previousMoveY, movement.getSpeed(), nearbyMove, eliminated, random.getState());
+    }
+
+    @Override
+    public void setState(BotState state) {
+        this.x = state.x();
+        this.y = state.y();
+        this.previousMoveX = state.previousMoveX();
+        this.previousMoveY = state.previousMoveY();
+        this.actualPosition = null;
+        this.previousMove = null;
+        while (movement.getSpeed() < state.speed())
+            movement.increaseSpeed();
+        while (movement.getSpeed() > state.speed())
+            movement.decreaseSpeed();
+        this.nearbyMove = state.nearbyMove();
+        this.eliminated = state.eliminated();
+        random.setState(state.randomState());
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Bot;
+
+import it.unicam.cs.formula1.Movement.Movement;
+import it.unicam.cs.formula1.Planner.Planner;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
+
+/**
+ * A {@link Bot} that follows a plan to the finish made by a {@link Planner}, instead of looking a few moves ahead.
+ * The plan is made on the first move and followed as long as the bot is where the plan expects it;
+ * a new plan is made when the bot has been moved elsewhere. When there is no plan, because the finish cannot be
+ * reached or the state of the bot is outside the state space, the bot moves as a {@link DefaultBot};
+ * a state from which planning failed is remembered, so the bot does not search again until its state changes.
+ */
+public class PlannerBot extends DefaultBot {
+    private final Planner planner;
+    private long[] plan;
+    private int step;
+    private long failedState;
+
+    /**
+     * Constructs a new PlannerBot with the specified name, starting position, movement, track operation,
+     * random number generator and planner.
+     *
+     * @param name            the name of the bot
+     * @param startPosition   the starting position of the bot
+     * @param movement        the movement strategy for the bot
+     * @param trackOperation  the track operation for the bot
+     * @param random          the random number generator of the bot
+     * @param planner         the planner of the moves of the bot
+     */
+    public PlannerBot(String name, Position startPosition, Movement movement, TrackOperation trackOperation,
+                      RaceRandom random, Planner planner) {
+        super(name, startPosition, movement, trackOperation, random);
+        this.planner = planner;
+        this.plan = new long[0];
+        this.failedState = -1;
+    }
+
+    @Override
+    public void calculateNextMoves() {
+        StateSpace stateSpace = planner.getStateSpace();
+        BotState state = getState();
+        if (!stateSpace.contains(state.x(), state.y(), state.previousMoveX(), state.previousMoveY(), state.speed())) {
+            super.calculateNextMoves();
+            return;
+        }
+        long current = stateSpace.encode(state.x(), state.y(), state.previousMoveX(), state.previousMoveY(), state.speed());
+        if (current == failedState) {
+            super.calculateNextMoves();
+            return;
+        }
+        if (step + 1 >= plan.length || plan[step] != current) {
+            plan = planner.plan(current);
+            step = 0;
+        }
+        if (plan.length < 2) {
+            failedState = current;
+            super.calculateNextMoves();
+            return;
+        }
+        long next = plan[++step];
+        int x = stateSpace.getX(next);
+        int y = stateSpace.getY(next);
+        setState(new BotState(x, y, x - state.x(), y - state.y(), stateSpace.getSpeed(next),
+                stateSpace.isNearbyMove(current), false, state.randomState()));
+    }
+
+    /**
+     * Returns the plan the bot is following.
+     *
+     * @return the planned states, from the state of the bot when the plan was made to the state that crosses the finish
+     */
+    public long[] getPlan() {
+        return plan.clone();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Bot;
+
+import it.unicam.cs.formula1.Movement.Movement;
+import it.unicam.cs.formula1.Planner.PolicyTable;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
+
+/**
+ * A {@link Bot} that looks up its next move in a {@link PolicyTable} every turn, so it makes the best move
+ * from wherever it is without keeping a plan. When the finish cannot be reached from the state of the bot,
+ * or the state is outside the state space, the bot moves as a {@link DefaultBot}.
+ */
+public class PolicyBot extends DefaultBot {
+    private final PolicyTable policyTable;
+
+    /**
+     * Constructs a new PolicyBot with the specified name, starting position, movement, track operation,
+     * random number generator and policy table.
+     *
+     * @param name            the name of the bot
+     * @param startPosition   the starting position of the bot
+     * @param movement        the movement strategy for the bot
+     * @param trackOperation  the track operation for the bot
+     * @param random          the random number generator of the bot
+     * @param policyTable     the policy table of the track
+     */
+    public PolicyBot(String name, Position startPosition, Movement movement, TrackOperation trackOperation,
+                     RaceRandom random, PolicyTable policyTable) {
+        super(name, startPosition, movement, trackOperation, random);
+        this.policyTable = policyTable;
+    }
+
+    @Override
+    public void calculateNextMoves() {
+        StateSpace stateSpace = policyTable.getStateSpace();
+        BotState state = getState();
+        if (!stateSpace.contains(state.x(), state.y(), state.previousMoveX(), state.previousMoveY(), state.speed())) {
+            super.calculateNextMoves();
+            return;
+        }
+        long current = stateSpace.encode(state.x(), state.y(), state.previousMoveX(), state.previousMoveY(), state.speed());
+        long next = policyTable.next(current);
+        if (next < 0) {
+            super.calculateNextMoves();
+            return;
+        }
+        int x = stateSpace.getX(next);
+        int y = stateSpace.getY(next);
+        setState(new BotState(x, y, x - state.x(), y - state.y(), stateSpace.getSpeed(next),
+                stateSpace.isNearbyMove(current), false, state.randomState()));
+    }
+}
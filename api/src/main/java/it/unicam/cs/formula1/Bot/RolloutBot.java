@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Bot;
+
+import it.unicam.cs.formula1.Movement.Movement;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.Track.DistanceField;
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link Bot} that picks every move by Monte Carlo rollouts. Each turn, from every move of the {@link StateSpace}
+ * the bot runs many rollouts of random moves, and it makes the move with the best average progress,
+ * measured on the {@link DistanceField} and rewarding the rollouts that cross the finish early and
+ * penalising the ones that run out of moves. The rollouts run on a fork-join pool and work on packed states
+ * and primitive generator states, so a rollout allocates nothing. The seed of every rollout is derived from
+ * the generator of the bot and the index of the rollout, so with no time budget the bot is reproducible
+ * regardless of how the rollouts are scheduled. When its state is outside the state space or it has no move,
+ * the bot moves as a {@link DefaultBot}; so it does when the finish cannot be reached from its cell.
+ */
+public class RolloutBot extends DefaultBot {
+    private static final int LEAF_ROLLOUTS = 64;
+    private final StateSpace stateSpace;
+    private final RolloutSettings settings;
+    private final ForkJoinPool pool;
+    private final DistanceField distanceField;
+    private final int crashPenalty;
+
+    /**
+     * Constructs a new RolloutBot with the specified name, starting position, movement, track operation,
+     * random number generator, state space, rollout settings and pool.
+     *
+     * @param name            the name of the bot
+     * @param startPosition   the starting position of the bot
+     * @param movement        the movement strategy for the bot
+     * @param trackOperation  the track operation for the bot
+     * @param random          the random number generator of the bot
+     * @param stateSpace      the state space of the track
+     * @param settings        the settings of the rollouts
+     * @param pool            the pool on which the rollouts are run
+     */
+    public RolloutBot(String name, Position startPosition, Movement movement, TrackOperation trackOperation,
+                      RaceRandom random, StateSpace stateSpace, RolloutSettings settings, ForkJoinPool pool) {
+        super(name, startPosition, movement, trackOperation, random);
+        this.stateSpace = stateSpace;
+        this.settings = settings;
+        this.pool = pool;
+        this.distanceField = stateSpace.getTrack().getDistanceField();
+        this.crashPenalty = 2 * (settings.depth() + 1) * StateSpace.MAX_VELOCITY;
+    }
+
+    @Override
+    public void calculateNextMoves() {
+        BotState state = getState();
+        if (!stateSpace.contains(state.x(), state.y(), state.previousMoveX(), state.previousMoveY(), state.speed())) {
+            super.calculateNextMoves();
+            return;
+        }
+        long current = stateSpace.encode(state.x(), state.y(), state.previousMoveX(), state.previousMoveY(), state.speed());
+        long[] candidates = new long[StateSpace.MAX_SUCCESSORS];
+        int count = stateSpace.successors(current, candidates);
+        if (count == 0 || distance(current) == DistanceField.UNREACHABLE) {
+            super.calculateNextMoves();
+            return;
+        }
+        long seed = getRandom().nextLong();
+        int best = 0;
+        for (int i = 0; i < count; i++)
+            if (stateSpace.crossesFinish(current, candidates[i])) {
+                best = i;
+                count = 0;
+            }
+        if (count > 1)
+            best = bestCandidate(current, candidates, count, seed);
+        long next = candidates[best];
+        int x = stateSpace.getX(next);
+        int y = stateSpace.getY(next);
+        setState(new BotState(x, y, x - state.x(), y - state.y(), stateSpace.getSpeed(next),
+                stateSpace.isNearbyMove(current), false, getRandom().getState()));
+    }
+
+    /**
+     * Runs the rollouts of every candidate on the pool and returns the candidate with the best average score.
+     */
+    private int bestCandidate(long current, long[] candidates, int count, long seed) {
+        AtomicLongArray scores = new AtomicLongArray(count);
+        AtomicLongArray rollouts = new AtomicLongArray(count);
+        long deadline = settings.timeBudgetNanos() == 0 ? Long.MAX_VALUE : System.nanoTime() + settings.timeBudgetNanos();
+        int start = distance(current);
+        pool.invoke(new RolloutTask(candidates, count, seed, start, deadline, scores, rollouts,
+                0, count * settings.rollouts()));
+        int best = 0;
+        double bestAverage = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double average = rollouts.get(i) == 0 ? Double.NEGATIVE_INFINITY : (double) scores.get(i) / rollouts.get(i);
+            if (average > bestAverage) {
+                best = i;
+                bestAverage = average;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs a rollout of random moves from a state reached with a candidate move.
+     *
+     * @param state the state reached with the candidate move
+     * @param start the distance to the finish before the candidate move
+     * @param random the state of the generator of the rollout
+     * @param successors the array on which the moves of every state are written
+     * @return the score of the rollout
+     */
+    private int rollout(long state, int start, long random, long[] successors) {
+        for (int move = 1; move <= settings.depth(); move++) {
+            int count = stateSpace.successors(state, successors);
+            if (count == 0)
+                return -crashPenalty;
+            random = RaceRandom.nextState(random);
+            long next = successors[RaceRandom.boundedInt(random, count)];
+            if (stateSpace.crossesFinish(state, next))
+                return start + (settings.depth() + 1 - move) * StateSpace.MAX_VELOCITY;
+            state = next;
+        }
+        int end = distance(state);
+        return end == DistanceField.UNREACHABLE ? -crashPenalty : start - end;
+    }
+
+    private int distance(long state) {
+        return distanceField.getDistance(stateSpace.getX(state), stateSpace.getY(state));
+    }
+
+    /**
+     * Fork-join task running the rollouts in a range, splitting the range in halves until a leaf is small enough.
+     * The rollouts of the candidates are interleaved, so a turn that runs out of time has run about as many
+     * rollouts from every candidate.
+     */
+    private class RolloutTask extends RecursiveAction {
+        private final long[] candidates;
+        private final int count;
+        private final long seed;
+        private final int start;
+        private final long deadline;
+        private final AtomicLongArray scores;
+        private final AtomicLongArray rollouts;
+        private final int from;
+        private final int to;
+
+        RolloutTask(long[] candidates, int count, long seed, int start, long deadline, AtomicLongArray scores,
+                    AtomicLongArray rollouts, int from, int to) {
+            this.candidates = candidates;
+            this.count = count;
+            this.seed = seed;
+            this.start = start;
+            this.deadline = deadline;
+            this.scores = scores;
+            this.rollouts = rollouts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_ROLLOUTS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RolloutTask(candidates, count, seed, start, deadline, scores, rollouts, from, middle),
+                        new RolloutTask(candidates, count, seed, start, deadline, scores, rollouts, middle, to));
+                return;
+            }
+            if (System.nanoTime() > deadline)
+                return;
+            long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+            long[] leafScores = new long[count];
+            int[] leafRollouts = new int[count];
+            for (int i = from; i < to; i++) {
+                int candidate = i % count;
+                leafScores[candidate] += rollout(candidates[candidate], start, RaceRandom.derive(seed, i), successors);
+                leafRollouts[candidate]++;
+            }
+            for (int i = 0; i < count; i++)
+                if (leafRollouts[i] > 0) {
+                    scores.addAndGet(i, leafScores[i]);
+                    rollouts.addAndGet(i, leafRollouts[i]);
+                }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Bot;
+
+import it.unicam.cs.formula1.Planner.StateSpace;
+
+/**
+ * Settings of the rollouts of a {@link RolloutBot}.
+ *
+ * @param rollouts The number of rollouts run from every candidate move each turn, at most {@link #MAX_ROLLOUTS}.
+ * @param depth The largest number of moves of a rollout after the candidate move.
+ * @param timeBudgetNanos The time a turn may spend on rollouts, in nanoseconds, or zero for no limit.
+ *                        With no limit every rollout is run and the bot is reproducible from its seed;
+ *                        with a limit the rollouts left when the time is up are skipped.
+ */
+public record RolloutSettings(int rollouts, int depth, long timeBudgetNanos) {
+    /**
+     * The largest number of rollouts from every candidate move, so the rollouts of all the candidates of a turn
+     * can still be counted in an int.
+     */
+    public static final int MAX_ROLLOUTS = Integer.MAX_VALUE / StateSpace.MAX_SUCCESSORS;
+
+    /**
+     * The default settings: 256 rollouts of up to 24 moves from every candidate move, with no time limit.
+     */
+    public static final RolloutSettings DEFAULT = new RolloutSettings(256, 24, 0);
+
+    /**
+     * Constructs new rollout settings.
+     *
+     * @throws IllegalArgumentException if the rollouts or the depth are not positive, the rollouts are more than
+     * {@link #MAX_ROLLOUTS}, or the time budget is negative
+     */
+    public RolloutSettings {
+        if (rollouts <= 0 || depth <= 0)
+            throw new IllegalArgumentException("The rollouts and their depth must be positive.");
+        if (rollouts > MAX_ROLLOUTS)
+            throw new IllegalArgumentException("The rollouts cannot be more than " + MAX_ROLLOUTS + ".");
+        if (timeBudgetNanos < 0)
+            throw new IllegalArgumentException("The time budget cannot be negative.");
+    }
+}
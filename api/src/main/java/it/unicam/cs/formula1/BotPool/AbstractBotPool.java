@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.BotPool;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Movement.MovementRules;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.Track.NeighbourMasks;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
+
+import java.util.List;
+
+/**
+ * Base class of the {@link BotPool} implementations.
+ * Applies the {@link MovementRules} of {@link it.unicam.cs.formula1.Bot.DefaultBot} and {@link DefaultMovement}
+ * to the primitive state of the bots, leaving the storage of the state to the subclasses.
+ * A bot of a pool moves exactly as a {@link it.unicam.cs.formula1.Bot.DefaultBot} created by
+ * {@link it.unicam.cs.formula1.Bot.BotFactory} with the same seed and index.
+ */
+public abstract class AbstractBotPool implements BotPool {
+    private final Track track;
+    private final TrackOperation trackOperation;
+    private final NeighbourMasks neighbourMasks;
+    private final List<String> names;
+
+    /**
+     * Constructor of AbstractBotPool.
+     *
+     * @param track the track on which the bots race
+     * @param names the names of the bots
+     * @throws BotException if the track has no starting positions
+     */
+    protected AbstractBotPool(Track track, List<String> names) throws BotException {
+        if (track.getStartPositions().isEmpty() && !names.isEmpty())
+            throw new BotException("The track has no starting positions.");
+        this.track = track;
+        this.trackOperation = new DefaultTrackOperation(track);
+        this.neighbourMasks = track.getNeighbourMasks();
+        this.names = names;
+    }
+
+    /**
+     * Places every bot on a starting position, cycling through the starting positions of the track
+     * so that there can be more bots than positions, with a random number generator derived from the seed.
+     *
+     * @param seed the master seed of the race
+     */
+    protected void reset(long seed) {
+        List<Position> startPositions = track.getStartPositions();
+        for (int bot = 0; bot < size(); bot++) {
+            Position start = startPositions.get(bot % startPositions.size());
+            setState(bot, start.getX(), start.getY(), 0, 0);
+            setSpeed(bot, 1);
+            setEliminated(bot, false);
+            setNearbyMove(bot, false);
+            setRandomState(bot, RaceRandom.derive(seed, bot));
+        }
+    }
+
+    /**
+     * Sets the position and the previous move of a bot.
+     *
+     * @param bot the index of the bot
+     * @param x the x coordinate of the position
+     * @param y the y coordinate of the position
+     * @param previousMoveX the x component of the previous move
+     * @param previousMoveY the y component of the previous move
+     */
+    protected abstract void setState(int bot, int x, int y, int previousMoveX, int previousMoveY);
+
+    /**
+     * Records if the last move of a bot was a nearby move.
+     *
+     * @param bot the index of the bot
+     * @param nearbyMove true if the last move was a nearby move
+     */
+    protected abstract void setNearbyMove(int bot, boolean nearbyMove);
+
+    @Override
+    public int size() {
+        return names.size();
+    }
+
+    @Override
+    public Track getTrack() {
+        return track;
+    }
+
+    @Override
+    public String getName(int bot) {
+        return names.get(bot);
+    }
+
+    @Override
+    public void updatePosition(int bot, int x, int y) {
+        setState(bot, x, y, x - getX(bot), y - getY(bot));
+    }
+
+    @Override
+    public void calculateNextMove(int bot) {
+        int x = getX(bot);
+        int y = getY(bot);
+        int previousMoveX = getPreviousMoveX(bot);
+        int previousMoveY = getPreviousMoveY(bot);
+        int mainX = x + previousMoveX;
+        int mainY = y + previousMoveY;
+        boolean nearbyMove = MovementRules.isNearbyMove(trackOperation, x, y, previousMoveX, previousMoveY);
+        setNearbyMove(bot, nearbyMove);
+        if (nearbyMove) {
+            executeNearbyMove(bot, x, y, mainX, mainY);
+            return;
+        }
+        int directionX = Integer.signum(previousMoveX);
+        int directionY = Integer.signum(previousMoveY);
+        if (MovementRules.accelerates(trackOperation, mainX, mainY, previousMoveX, previousMoveY)) {
+            int step = accelerate(bot);
+            setState(bot, mainX + step * directionX, mainY + step * directionY, previousMoveX + step * directionX, previousMoveY + step * directionY);
+        } else {
+            int step = decelerate(bot);
+            setState(bot, mainX - step * directionX, mainY - step * directionY, previousMoveX - step * directionX, previousMoveY - step * directionY);
+        }
+    }
+
+    @Override
+    public Bot getBot(int bot) {
+        if (bot < 0 || bot >= size())
+            throw new IndexOutOfBoundsException(bot);
+        return new PooledBot(this, bot);
+    }
+
+    /**
+     * Accelerates a bot as {@link DefaultMovement#accelerate()} does.
+     *
+     * @param bot the index of the bot
+     * @return the step added to the main point
+     */
+    int accelerate(int bot) {
+        int speed = getSpeed(bot);
+        setSpeed(bot, MovementRules.acceleratedSpeed(speed));
+        return MovementRules.accelerateStep(speed);
+    }
+
+    /**
+     * Decelerates a bot as {@link DefaultMovement#decelerate()} does.
+     *
+     * @param bot the index of the bot
+     * @return the step taken from the main point
+     */
+    int decelerate(int bot) {
+        int speed = getSpeed(bot);
+        setSpeed(bot, MovementRules.deceleratedSpeed(speed));
+        return MovementRules.decelerateStep(speed);
+    }
+
+    /**
+     * Moves a bot to a random valid position around the main point that is also around its current position,
+     * or eliminates it if there is none.
+     */
+    private void executeNearbyMove(int bot, int x, int y, int mainX, int mainY) {
+        int nearbyMoves = neighbourMasks.getCommonMask(mainX, mainY, x, y);
+        if (nearbyMoves == 0) {
+            setEliminated(bot, true);
+            return;
+        }
+        decelerate(bot);
+        long state = RaceRandom.nextState(getRandomState(bot));
+        setRandomState(bot, state);
+        int move = NeighbourMasks.nthBit(nearbyMoves, RaceRandom.boundedInt(state, Integer.bitCount(nearbyMoves)));
+        int newX = mainX + NeighbourMasks.DX[move];
+        int newY = mainY + NeighbourMasks.DY[move];
+        setState(bot, newX, newY, newX - x, newY - y);
+    }
+}
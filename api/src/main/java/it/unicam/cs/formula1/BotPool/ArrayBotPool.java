@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.BotPool;
+
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Track.Track;
+
+import java.util.List;
+
+/**
+ * Struct-of-arrays implementation of the {@link BotPool} interface.
+ * Every field of the bots is kept in its own primitive array, indexed by the bot,
+ * so a turn reads and writes the arrays linearly and a bot costs about 30 bytes of heap.
+ * Every field of a bot is a separate array element, so different bots can be moved concurrently.
+ */
+public class ArrayBotPool extends AbstractBotPool {
+    private final int[] x;
+    private final int[] y;
+    private final int[] previousMoveX;
+    private final int[] previousMoveY;
+    private final byte[] speed;
+    private final long[] randomState;
+    private final boolean[] eliminated;
+    private final boolean[] nearbyMove;
+
+    /**
+     * Constructs a new ArrayBotPool with the specified bots, placed on the starting positions of the track.
+     * The random number generator of every bot is derived from the master seed and the index of the bot.
+     *
+     * @param track the track on which the bots race
+     * @param names the names of the bots
+     * @param seed the master seed of the race
+     * @throws BotException if the track has no starting positions
+     */
+    public ArrayBotPool(Track track, List<String> names, long seed) throws BotException {
+        super(track, names);
+        int size = names.size();
+        this.x = new int[size];
+        this.y = new int[size];
+        this.previousMoveX = new int[size];
+        this.previousMoveY = new int[size];
+        this.speed = new byte[size];
+        this.randomState = new long[size];
+        this.eliminated = new boolean[size];
+        this.nearbyMove = new boolean[size];
+        reset(seed);
+    }
+
+    @Override
+    protected void setState(int bot, int x, int y, int previousMoveX, int previousMoveY) {
+        this.x[bot] = x;
+        this.y[bot] = y;
+        this.previousMoveX[bot] = previousMoveX;
+        this.previousMoveY[bot] = previousMoveY;
+    }
+
+    @Override
+    public int getX(int bot) {
+        return x[bot];
+    }
+
+    @Override
+    public int getY(int bot) {
+        return y[bot];
+    }
+
+    @Override
+    public int getPreviousMoveX(int bot) {
+        return previousMoveX[bot];
+    }
+
+    @Override
+    public int getPreviousMoveY(int bot) {
+        return previousMoveY[bot];
+    }
+
+    @Override
+    public int getSpeed(int bot) {
+        return speed[bot];
+    }
+
+    @Override
+    public void setSpeed(int bot, int speed) {
+        this.speed[bot] = (byte) speed;
+    }
+
+    @Override
+    public boolean isEliminated(int bot) {
+        return eliminated[bot];
+    }
+
+    @Override
+    public void setEliminated(int bot, boolean eliminated) {
+        this.eliminated[bot] = eliminated;
+    }
+
+    @Override
+    public boolean isNearbyMove(int bot) {
+        return nearbyMove[bot];
+    }
+
+    @Override
+    protected void setNearbyMove(int bot, boolean nearbyMove) {
+        this.nearbyMove[bot] = nearbyMove;
+    }
+
+    @Override
+    public long getRandomState(int bot) {
+        return randomState[bot];
+    }
+
+    @Override
+    public void setRandomState(int bot, long state) {
+        randomState[bot] = state;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.BotPool;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Track.Track;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Represents the state of a whole fleet of bots racing on the same track, addressed by the index of the bot.
+ * Unlike a list of {@link Bot} objects, a pool can keep the state of every bot in primitive storage,
+ * so that very large fleets are moved without a separate object per bot.
+ * The move of a bot reads and writes only the state of that bot, so different bots can be moved concurrently.
+ */
+public interface BotPool {
+
+    /**
+     * Returns the number of bots in the pool.
+     *
+     * @return the number of bots
+     */
+    int size();
+
+    /**
+     * Returns the track on which the bots race.
+     *
+     * @return the track of the pool
+     */
+    Track getTrack();
+
+    /**
+     * Returns the name of a bot.
+     *
+     * @param bot the index of the bot
+     * @return the name of the bot
+     */
+    String getName(int bot);
+
+    /**
+     * Returns the x coordinate of the current position of a bot.
+     *
+     * @param bot the index of the bot
+     * @return the current x coordinate
+     */
+    int getX(int bot);
+
+    /**
+     * Returns the y coordinate of the current position of a bot.
+     *
+     * @param bot the index of the bot
+     * @return the current y coordinate
+     */
+    int getY(int bot);
+
+    /**
+     * Returns the x component of the previous move of a bot.
+     *
+     * @param bot the index of the bot
+     * @return the x component of the previous move
+     */
+    int getPreviousMoveX(int bot);
+
+    /**
+     * Returns the y component of the previous move of a bot.
+     *
+     * @param bot the index of the bot
+     * @return the y component of the previous move
+     */
+    int getPreviousMoveY(int bot);
+
+    /**
+     * Returns the speed of a bot.
+     *
+     * @param bot the index of the bot
+     * @return the speed of the bot
+     */
+    int getSpeed(int bot);
+
+    /**
+     * Sets the speed of a bot.
+     *
+     * @param bot the index of the bot
+     * @param speed the speed to set
+     */
+    void setSpeed(int bot, int speed);
+
+    /**
+     * Returns the elimination status of a bot.
+     *
+     * @param bot the index of the bot
+     * @return true if the bot is eliminated, false otherwise
+     */
+    boolean isEliminated(int bot);
+
+    /**
+     * Sets the elimination status of a bot.
+     *
+     * @param bot the index of the bot
+     * @param eliminated the elimination status to set
+     */
+    void setEliminated(int bot, boolean eliminated);
+
+    /**
+     * Checks if the last move of a bot was a nearby move.
+     *
+     * @param bot the index of the bot
+     * @return true if the last move was a nearby move, false otherwise
+     */
+    boolean isNearbyMove(int bot);
+
+    /**
+     * Returns the state of the random number generator of a bot.
+     *
+     * @param bot the index of the bot
+     * @return the state of the random number generator
+     */
+    long getRandomState(int bot);
+
+    /**
+     * Sets the state of the random number generator of a bot.
+     *
+     * @param bot the index of the bot
+     * @param state the state to set
+     */
+    void setRandomState(int bot, long state);
+
+    /**
+     * Moves a bot to the specified coordinates, recording the move as its previous move.
+     *
+     * @param bot the index of the bot
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     */
+    void updatePosition(int bot, int x, int y);
+
+    /**
+     * Calculates and applies the next move of a bot, with the same rules as {@link Bot#calculateNextMoves()}.
+     *
+     * @param bot the index of the bot
+     */
+    void calculateNextMove(int bot);
+
+    /**
+     * Returns a {@link Bot} view of a bot of the pool, backed by the pool.
+     *
+     * @param bot the index of the bot
+     * @return the view of the bot
+     */
+    Bot getBot(int bot);
+
+    /**
+     * Returns the names "Bot1", "Bot2" and so on for the specified number of bots,
+     * generated on demand so that a large fleet does not hold a string per bot.
+     *
+     * @param count the number of bots
+     * @return the list of names
+     */
+    static List<String> numberedNames(int count) {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= count)
+                    throw new IndexOutOfBoundsException(index);
+                return "Bot" + (index + 1);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+}
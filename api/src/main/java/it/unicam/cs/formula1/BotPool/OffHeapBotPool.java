@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.BotPool;
+
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Track.Track;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Implementation of the {@link BotPool} interface that keeps the state of the bots outside the Java heap.
+ * The state is stored in a direct buffer as one fixed-size record per bot, so the garbage collector does not
+ * scan or move it, whatever the size of the fleet, and the whole state is saved or restored with a single bulk copy.
+ */
+public class OffHeapBotPool extends AbstractBotPool {
+    /**
+     * The size in bytes of the record of a bot.
+     */
+    public static final int RECORD_SIZE = 32;
+    private static final int X = 0;
+    private static final int Y = 4;
+    private static final int PREVIOUS_MOVE_X = 8;
+    private static final int PREVIOUS_MOVE_Y = 12;
+    private static final int RANDOM_STATE = 16;
+    private static final int SPEED = 24;
+    private static final int ELIMINATED = 25;
+    private static final int NEARBY_MOVE = 26;
+    private final ByteBuffer state;
+
+    /**
+     * Constructs a new OffHeapBotPool with the specified bots, placed on the starting positions of the track.
+     * The random number generator of every bot is derived from the master seed and the index of the bot.
+     *
+     * @param track the track on which the bots race
+     * @param names the names of the bots
+     * @param seed the master seed of the race
+     * @throws BotException if the track has no starting positions or the pool does not fit in a single buffer
+     */
+    public OffHeapBotPool(Track track, List<String> names, long seed) throws BotException {
+        super(track, names);
+        if (names.size() > Integer.MAX_VALUE / RECORD_SIZE)
+            throw new BotException("The number of bots exceeds the capacity of an off-heap pool.");
+        this.state = ByteBuffer.allocateDirect(names.size() * RECORD_SIZE).order(ByteOrder.nativeOrder());
+        reset(seed);
+    }
+
+    /**
+     * Copies the state of all the bots in a new heap buffer.
+     *
+     * @return the copy of the state
+     */
+    public ByteBuffer snapshot() {
+        ByteBuffer copy = ByteBuffer.allocate(state.capacity()).order(state.order());
+        copy.put(0, state, 0, state.capacity());
+        return copy;
+    }
+
+    /**
+     * Restores the state of all the bots from a copy returned by {@link #snapshot()}.
+     *
+     * @param snapshot the copy of the state
+     * @throws IllegalArgumentException if the copy was taken from a pool of a different size
+     */
+    public void restore(ByteBuffer snapshot) {
+        if (snapshot.capacity() != state.capacity())
+            throw new IllegalArgumentException("The snapshot does not match the size of the pool.");
+        state.put(0, snapshot, 0, state.capacity());
+    }
+
+    @Override
+    protected void setState(int bot, int x, int y, int previousMoveX, int previousMoveY) {
+        int record = bot * RECORD_SIZE;
+        state.putInt(record + X, x);
+        state.putInt(record + Y, y);
+        state.putInt(record + PREVIOUS_MOVE_X, previousMoveX);
+        state.putInt(record + PREVIOUS_MOVE_Y, previousMoveY);
+    }
+
+    @Override
+    public int getX(int bot) {
+        return state.getInt(bot * RECORD_SIZE + X);
+    }
+
+    @Override
+    public int getY(int bot) {
+        return state.getInt(bot * RECORD_SIZE + Y);
+    }
+
+    @Override
+    public int getPreviousMoveX(int bot) {
+        return state.getInt(bot * RECORD_SIZE + PREVIOUS_MOVE_X);
+    }
+
+    @Override
+    public int getPreviousMoveY(int bot) {
+        return state.getInt(bot * RECORD_SIZE + PREVIOUS_MOVE_Y);
+    }
+
+    @Override
+    public int getSpeed(int bot) {
+        return state.get(bot * RECORD_SIZE + SPEED);
+    }
+
+    @Override
+    public void setSpeed(int bot, int speed) {
+        state.put(bot * RECORD_SIZE + SPEED, (byte) speed);
+    }
+
+    @Override
+    public boolean isEliminated(int bot) {
+        return state.get(bot * RECORD_SIZE + ELIMINATED) != 0;
+    }
+
+    @Override
+    public void setEliminated(int bot, boolean eliminated) {
+        state.put(bot * RECORD_SIZE + ELIMINATED, (byte) (eliminated ? 1 : 0));
+    }
+
+    @Override
+    public boolean isNearbyMove(int bot) {
+        return state.get(bot * RECORD_SIZE + NEARBY_MOVE) != 0;
+    }
+
+    @Override
+    protected void setNearbyMove(int bot, boolean nearbyMove) {
+        state.put(bot * RECORD_SIZE + NEARBY_MOVE, (byte) (nearbyMove ? 1 : 0));
+    }
+
+    @Override
+    public long getRandomState(int bot) {
+        return state.getLong(bot * RECORD_SIZE + RANDOM_STATE);
+    }
+
+    @Override
+    public void setRandomState(int bot, long state) {
+        this.state.putLong(bot * RECORD_SIZE + RANDOM_STATE, state);
+    }
+}
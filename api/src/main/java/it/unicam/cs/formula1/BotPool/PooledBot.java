@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.BotPool;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotState;
+import it.unicam.cs.formula1.Movement.Movement;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+
+/**
+ * A {@link Bot} view of a bot of an {@link AbstractBotPool}, for callers that work with bot objects,
+ * such as the race display. Every method reads or writes the state held by the pool.
+ *
+ * @param pool The pool holding the state of the bot.
+ * @param index The index of the bot in the pool.
+ */
+record PooledBot(AbstractBotPool pool, int index) implements Bot {
+
+    @Override
+    public void updatePosition(Position direction) {
+        pool.updatePosition(index, direction.getX(), direction.getY());
+    }
+
+    @Override
+    public void updatePosition(int x, int y) {
+        pool.updatePosition(index, x, y);
+    }
+
+    @Override
+    public void calculateNextMoves() {
+        pool.calculateNextMove(index);
+    }
+
+    @Override
+    public Position getCurrentPosition() {
+        return new Position(pool.getX(index), pool.getY(index));
+    }
+
+    @Override
+    public int getCurrentX() {
+        return pool.getX(index);
+    }
+
+    @Override
+    public int getCurrentY() {
+        return pool.getY(index);
+    }
+
+    @Override
+    public Position getPreviousMove() {
+        return new Position(pool.getPreviousMoveX(index), pool.getPreviousMoveY(index));
+    }
+
+    @Override
+    public int getPreviousMoveX() {
+        return pool.getPreviousMoveX(index);
+    }
+
+    @Override
+    public int getPreviousMoveY() {
+        return pool.getPreviousMoveY(index);
+    }
+
+    @Override
+    public boolean isNearbyMove() {
+        return pool.isNearbyMove(index);
+    }
+
+    @Override
+    public String getName() {
+        return pool.getName(index);
+    }
+
+    @Override
+    public Movement getMovement() {
+        return new PooledMovement();
+    }
+
+    /**
+     * Returns the random number generator of the bot, whose state is held by the pool,
+     * so numbers drawn from it advance the generator of the bot as for any other bot.
+     *
+     * @return the random number generator of the bot
+     */
+    @Override
+    public RaceRandom getRandom() {
+        return new PooledRandom();
+    }
+
+    @Override
+    public void isEliminated(boolean eliminated) {
+        pool.setEliminated(index, eliminated);
+    }
+
+    @Override
+    public boolean getEliminated() {
+        return pool.isEliminated(index);
+    }
+
+    @Override
+    public BotState getState() {
+        return new BotState(pool.getX(index), pool.getY(index), pool.getPreviousMoveX(index), pool.getPreviousMoveY(index),
+                pool.getSpeed(index), pool.isNearbyMove(index), pool.isEliminated(index), pool.getRandomState(index));
+    }
+
+    @Override
+    public void setState(BotState state) {
+        pool.setState(index, state.x(), state.y(), state.previousMoveX(), state.previousMoveY());
+        pool.setSpeed(index, state.speed());
+        pool.setNearbyMove(index, state.nearbyMove());
+        pool.setEliminated(index, state.eliminated());
+        pool.setRandomState(index, state.randomState());
+    }
+
+    /**
+     * {@link RaceRandom} view of the random state of the bot.
+     */
+    private class PooledRandom extends RaceRandom {
+
+        PooledRandom() {
+            super(0);
+        }
+
+        @Override
+        public long getState() {
+            return pool.getRandomState(index);
+        }
+
+        @Override
+        public void setState(long state) {
+            pool.setRandomState(index, state);
+        }
+    }
+
+    /**
+     * {@link Movement} view of the speed of the bot.
+     */
+    private class PooledMovement implements Movement {
+
+        @Override
+        public Position accelerate(Position mainPoint, Position previousMove) {
+            if (accelerate() == 1)
+                return new Position(mainPoint.getX() + Integer.signum(previousMove.getX()), mainPoint.getY() + Integer.signum(previousMove.getY()));
+            return mainPoint;
+        }
+
+        @Override
+        public Position decelerate(Position mainPoint, Position previousMove) {
+            if (decelerate() == 1)
+                return new Position(mainPoint.getX() - Integer.signum(previousMove.getX()), mainPoint.getY() - Integer.signum(previousMove.getY()));
+            return mainPoint;
+        }
+
+        @Override
+        public int accelerate() {
+            return pool.accelerate(index);
+        }
+
+        @Override
+        public int decelerate() {
+            return pool.decelerate(index);
+        }
+
+        @Override
+        public Position calculateMainPoint(Position actualPosition, Position previousMove) {
+            return new Position(actualPosition.getX() + previousMove.getX(), actualPosition.getY() + previousMove.getY());
+        }
+
+        @Override
+        public int getSpeed() {
+            return pool.getSpeed(index);
+        }
+
+        @Override
+        public void increaseSpeed() {
+            pool.setSpeed(index, pool.getSpeed(index) + 1);
+        }
+
+        @Override
+        public void decreaseSpeed() {
+            pool.setSpeed(index, pool.getSpeed(index) - 1);
+        }
+    }
+}
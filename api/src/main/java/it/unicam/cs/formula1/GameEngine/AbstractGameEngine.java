@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.GameEngine;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class of the {@link GameEngine} implementations.
+ * Plays the turns of the race, finds the winner and decides when the race is over, leaving to the subclasses
+ * how the bots are stored. The bots still in the race are identified by their index among the active bots,
+ * and every bot by its index among the participants of the race, which identifies the winner.
+ * The moves of a turn can be run on a fork-join pool: the active bots are read-only while the bots move,
+ * and the finishers and eliminations are merged afterwards in index order, so the race does not depend on the threads.
+ */
+public abstract class AbstractGameEngine implements GameEngine {
+    private static final int DEFAULT_MAX_TURNS = 10_000;
+    private final Track track;
+    private final TrackOperation trackOperation;
+    private final ForkJoinPool forkJoinPool;
+    private int turn;
+    private int winner;
+    private boolean verbose;
+
+    /**
+     * Constructor of AbstractGameEngine.
+     *
+     * @param track the track on which the race is played
+     * @param forkJoinPool the fork-join pool on which the bots are moved, or null to move them sequentially
+     */
+    protected AbstractGameEngine(Track track, ForkJoinPool forkJoinPool) {
+        this.track = track;
+        this.trackOperation = new DefaultTrackOperation(track);
+        this.forkJoinPool = forkJoinPool;
+        this.turn = 0;
+        this.winner = -1;
+        this.verbose = true;
+    }
+
+    /**
+     * Returns the number of bots still in the race.
+     *
+     * @return the number of active bots
+     */
+    protected abstract int getActiveCount();
+
+    /**
+     * Returns the index among the participants of an active bot.
+     *
+     * @param index the index of the bot among the active bots
+     * @return the index of the bot among the participants
+     */
+    protected abstract int getParticipant(int index);
+
+    /**
+     * Returns a participant of the race.
+     *
+     * @param participant the index of the bot among the participants
+     * @return the bot
+     */
+    protected abstract Bot getParticipantBot(int participant);
+
+    /**
+     * Returns all the participants of the race, in their final state.
+     *
+     * @return the participants of the race
+     */
+    protected abstract List<Bot> getParticipants();
+
+    /**
+     * Returns the bots eliminated so far, in order of elimination, in a list that does not change with the race.
+     *
+     * @return the eliminated bots
+     */
+    protected abstract List<Bot> getEliminatedBots();
+
+    /**
+     * Returns the name of an active bot.
+     *
+     * @param index the index of the bot among the active bots
+     * @return the name of the bot
+     */
+    protected abstract String getName(int index);
+
+    /**
+     * Returns the x coordinate of an active bot.
+     *
+     * @param index the index of the bot among the active bots
+     * @return the x coordinate of the bot
+     */
+    protected abstract int getX(int index);
+
+    /**
+     * Returns the y coordinate of an active bot.
+     *
+     * @param index the index of the bot among the active bots
+     * @return the y coordinate of the bot
+     */
+    protected abstract int getY(int index);
+
+    /**
+     * Returns the x component of the previous move of an active bot.
+     *
+     * @param index the index of the bot among the active bots
+     * @return the x component of the previous move
+     */
+    protected abstract int getPreviousMoveX(int index);
+
+    /**
+     * Returns the y component of the previous move of an active bot.
+     *
+     * @param index the index of the bot among the active bots
+     * @return the y component of the previous move
+     */
+    protected abstract int getPreviousMoveY(int index);
+
+    /**
+     * Checks if an active bot has been eliminated during the turn.
+     *
+     * @param index the index of the bot among the active bots
+     * @return true if the bot has been eliminated, false otherwise
+     */
+    protected abstract boolean isEliminated(int index);
+
+    /**
+     * Moves an active bot. Must touch only the state of the bot, as the bots of a turn may move in parallel.
+     *
+     * @param index the index of the bot among the active bots
+     */
+    protected abstract void move(int index);
+
+    /**
+     * Moves the eliminated bots out of the active bots, keeping the order of the remaining ones,
+     * and prints every elimination if the engine is verbose.
+     */
+    protected abstract void removeEliminatedBots();
+
+    /**
+     * Called after the bots of a turn have moved, before the eliminated bots are removed.
+     *
+     * @param firstFinisher the index among the active bots of the bot that won in this turn, or -1
+     */
+    protected void afterTurn(int firstFinisher) {
+    }
+
+    @Override
+    public void startRace() {
+        System.out.println("Race started!");
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+        Runnable raceTask = () -> {
+            if (winner >= 0 || allBotsEliminated())
+                scheduler.shutdown();
+            else {
+                updateRace();
+                displayStatus();
+            }
+        };
+        scheduler.scheduleAtFixedRate(raceTask, 0, 500, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public RaceResult runToCompletion(int maxTurns) {
+        boolean wasVerbose = verbose;
+        verbose = false;
+        try {
+            while (winner < 0 && getActiveCount() > 0 && turn < maxTurns)
+                updateRace();
+        } finally {
+            verbose = wasVerbose;
+        }
+        return new RaceResult(winner < 0 ? null : getParticipantBot(winner), turn, getEliminatedBots(), getParticipants());
+    }
+
+    @Override
+    public RaceResult runToCompletion() {
+        return runToCompletion(DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * Checks if the race is over, looking for an active bot on a finish cell if there is no winner yet,
+     * since the bots may have been moved outside the turns.
+     *
+     * @return true if the race is over, false otherwise
+     */
+    @Override
+    public Boolean isRaceOver() {
+        return winner >= 0 || findWinnerOnFinish();
+    }
+
+    /**
+     * Makes the first active bot that stands on a finish cell the winner, as for a bot that starts on the finish.
+     *
+     * @return true if a bot stands on a finish cell, false otherwise
+     */
+    protected boolean findWinnerOnFinish() {
+        for (int i = 0; i < getActiveCount(); i++)
+            if (track.getCell(getX(i), getY(i)) == Track.FINISH) {
+                winner = getParticipant(i);
+                return true;
+            }
+        return false;
+    }
+
+    @Override
+    public boolean allBotsEliminated() {
+        if (getActiveCount() == 0) {
+            System.out.println("All bots have been eliminated. The race is over.");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Moves every bot still in the race by one turn.
+     * A bot wins as soon as its move crosses a finish cell, even if it does not stop on it; if several bots cross
+     * the finish in the same turn, the winner is the one that crossed it at the earliest fraction of its move,
+     * and the first in index order on ties. The eliminated bots are removed in a single pass,
+     * only on the turns in which some bot was eliminated.
+     */
+    @Override
+    public void updateRace() {
+        turn++;
+        ParallelTick.Outcome outcome = ParallelTick.forEach(forkJoinPool, getActiveCount(), this::moveBot);
+        if (outcome.firstFinisher() >= 0)
+            winner = getParticipant(outcome.firstFinisher());
+        afterTurn(outcome.firstFinisher());
+        if (outcome.eliminations() > 0)
+            removeEliminatedBots();
+    }
+
+    /**
+     * Moves the bot with the specified index and reports what happened to it,
+     * tracing the whole move to find if it crossed the finish and not only its arrival.
+     */
+    private long moveBot(int index) {
+        move(index);
+        if (isEliminated(index))
+            return ParallelTick.ELIMINATED;
+        int x = getX(index);
+        int y = getY(index);
+        int moveX = getPreviousMoveX(index);
+        int moveY = getPreviousMoveY(index);
+        int step = trackOperation.findFinishCrossing(x - moveX, y - moveY, x, y);
+        if (step < 0)
+            return ParallelTick.MOVED;
+        return ParallelTick.finished(step, Math.max(Math.abs(moveX), Math.abs(moveY)));
+    }
+
+    @Override
+    public void displayStatus() {
+        System.out.println("\nTurn number: " + turn);
+        for (int i = 0; i < getActiveCount(); i++)
+            System.out.println("Bot " + getName(i) + ", is in position: (" + getX(i) + ", " + getY(i) + ")");
+    }
+
+    @Override
+    public Bot getWinner() {
+        Bot bot = winner < 0 ? null : getParticipantBot(winner);
+        System.out.println("Bot " + bot.getName() + " won the race!");
+        return bot;
+    }
+
+    @Override
+    public Track getTrack() {
+        return track;
+    }
+
+    /**
+     * Returns the number of turns played.
+     *
+     * @return the turn
+     */
+    protected int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Returns the index among the participants of the winner.
+     *
+     * @return the index of the winner, or -1 if no bot has won
+     */
+    protected int getWinnerIndex() {
+        return winner;
+    }
+
+    /**
+     * Restores the number of turns played and the winner, as when restoring a race.
+     *
+     * @param turn the number of turns played
+     * @param winner the index among the participants of the winner, or -1 if no bot has won
+     */
+    protected void setProgress(int turn, int winner) {
+        this.turn = turn;
+        this.winner = winner;
+    }
+
+    /**
+     * Checks if the engine prints the events of the race, which it does not while running a race to completion.
+     *
+     * @return true if the engine is verbose
+     */
+    protected boolean isVerbose() {
+        return verbose;
+    }
+}
@@ -28,27 +28,29 @@ package it.unicam.cs.formula1.GameEngine;
 import it.unicam.cs.formula1.Bot.Bot;
 import it.unicam.cs.formula1.Bot.BotException;
 import it.unicam.cs.formula1.Bot.BotFactory;
-import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Bot.BotState;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.RaceLog.RaceEvent;
+import it.unicam.cs.formula1.RaceLog.RaceLog;
 import it.unicam.cs.formula1.Track.Track;
 import it.unicam.cs.formula1.Track.TrackException;
 import it.unicam.cs.formula1.Track.TrackFactory;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Default implementation of the {@link GameEngine} interface.
  * Provides methods to load, start, and manage the race.
  */
-public class DefaultGameEngine implements GameEngine {
-    private final Track track;
+public class DefaultGameEngine extends AbstractGameEngine {
     private final List<Bot> bots;
-    private final Set<Position> finishPositions;
-    private int turn;
-    private Bot winner;
+    private final List<Bot> participants;
+    private final List<Bot> eliminatedBots;
+    private int[] botIds;
+    private RaceLog raceLog;
 
     /**
      * Constructs a new DefaultGameEngine with the specified file path.
@@ -60,81 +62,244 @@ public class DefaultGameEngine implements GameEngine {
      * @throws BotException if there are issues with the bot configuration
      */
     public DefaultGameEngine(String filePath) throws TrackException, IOException, BotException {
-        this.track = TrackFactory.loadTrackFromConfig(filePath);
-        this.bots = BotFactory.createBotsFromConfig(filePath, track);
-        this.finishPositions = new HashSet<>(track.getEndPositions());
-        this.turn = 1;
-        this.winner = null;
+        this(filePath, RaceRandom.randomSeed());
     }
 
-    @Override
-    public void startRace() {
-        System.out.println("Race started!");
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-        Runnable raceTask = () -> {
-            if (isRaceOver() || allBotsEliminated())
-                scheduler.shutdown();
-            else {
-                updateRace();
-                displayStatus();
-            }
-        };
-        scheduler.scheduleAtFixedRate(raceTask, 0, 500, TimeUnit.MILLISECONDS);
+    /**
+     * Constructs a new DefaultGameEngine with the specified file path and master seed.
+     * Every bot gets its own random number generator derived from the seed,
+     * so the same seed and configuration always give the same race.
+     *
+     * @param filePath the path to the track configuration file
+     * @param seed the master seed of the race
+     * @throws TrackException if there is an error with the track configuration
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws BotException if there are issues with the bot configuration
+     */
+    public DefaultGameEngine(String filePath, long seed) throws TrackException, IOException, BotException {
+        this(TrackFactory.loadCompactTrackFromConfig(filePath), filePath, seed);
     }
 
-    @Override
-    public Boolean isRaceOver(){
-        Optional<Bot> winningBot = bots.stream()
-                .filter(bot -> finishPositions.contains(bot.getCurrentPosition()))
-                .findFirst();
-        if (winningBot.isPresent()) {
-            this.winner = winningBot.get();
-            return true;
+    /**
+     * Constructs a new DefaultGameEngine on an already loaded track, reading the bots from the configuration file.
+     *
+     * @param track the track on which the race is played
+     * @param filePath the path to the bot configuration file
+     * @param seed the master seed of the race
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws BotException if there are issues with the bot configuration
+     */
+    private DefaultGameEngine(Track track, String filePath, long seed) throws IOException, BotException {
+        this(track, BotFactory.createBotsFromConfig(filePath, track, seed));
+    }
+
+    /**
+     * Constructs a new DefaultGameEngine with the specified track and bots.
+     * The track can be shared between engines, since it is never modified by the race.
+     *
+     * @param track the track on which the race is played
+     * @param bots the bots participating in the race
+     */
+    public DefaultGameEngine(Track track, List<Bot> bots) {
+        this(track, bots, null);
+    }
+
+    /**
+     * Constructs a new DefaultGameEngine with the specified track and bots, moving the bots of every turn in parallel.
+     * The bots must not share mutable state, as the {@link it.unicam.cs.formula1.Bot.DefaultBot}s created by
+     * {@link BotFactory}, so that each of them can move on its own thread; eliminations are merged after the moves,
+     * in list order, so the race is the same as with sequential moves.
+     * A bot that starts on a finish cell wins the race before the first turn.
+     *
+     * @param track the track on which the race is played
+     * @param bots the bots participating in the race
+     * @param forkJoinPool the fork-join pool on which the bots are moved, or null to move them sequentially
+     */
+    public DefaultGameEngine(Track track, List<Bot> bots, ForkJoinPool forkJoinPool) {
+        super(track, forkJoinPool);
+        this.bots = new ArrayList<>(bots);
+        this.participants = List.copyOf(bots);
+        this.botIds = new int[bots.size()];
+        for (int i = 0; i < botIds.length; i++)
+            botIds[i] = i;
+        this.eliminatedBots = new ArrayList<>();
+        findWinnerOnFinish();
+    }
+
+    /**
+     * Sets the log on which the events of the race are recorded, and records the start of the bots still in the race.
+     * The events of every turn are appended after the bots have moved, in list order, so the log is the same
+     * whether the bots are moved sequentially or in parallel. The engine does not close the log.
+     *
+     * @param raceLog the log of the race, or null to stop logging
+     */
+    public void setRaceLog(RaceLog raceLog) {
+        this.raceLog = raceLog;
+        if (raceLog != null)
+            for (int i = 0; i < bots.size(); i++)
+                raceLog.append(RaceEvent.START, getTurn(), botIds[i], bots.get(i));
+    }
+
+    /**
+     * Writes the state of the race to a checkpoint file: the hash of the track, the turn, the winner,
+     * the lists of the bots in the race and of the eliminated bots, and the whole state of every bot,
+     * including its random number generator. A checkpoint can be taken between any two turns.
+     *
+     * @param path the path of the checkpoint file
+     * @throws IOException if an I/O error occurs writing to the file
+     */
+    public void checkpoint(Path path) throws IOException {
+        Map<Bot, Integer> indexes = new IdentityHashMap<>();
+        List<String> names = new ArrayList<>(participants.size());
+        List<BotState> states = new ArrayList<>(participants.size());
+        for (int i = 0; i < participants.size(); i++) {
+            Bot bot = participants.get(i);
+            indexes.put(bot, i);
+            names.add(bot.getName());
+            states.add(bot.getState());
         }
-        return false;
+        int[] eliminated = new int[eliminatedBots.size()];
+        for (int i = 0; i < eliminated.length; i++)
+            eliminated[i] = indexes.get(eliminatedBots.get(i));
+        new EngineCheckpoint(getTrack().getHash(), getTurn(), getWinnerIndex(), names, states,
+                Arrays.copyOf(botIds, bots.size()), eliminated).write(path);
+    }
+
+    /**
+     * Restores the state of the race from a checkpoint file, written by an engine on the same track with bots
+     * of the same names. The restored race continues exactly as the race the checkpoint was taken from.
+     * The race log, if any, is not rewound.
+     *
+     * @param path the path of the checkpoint file
+     * @throws IOException if an I/O error occurs reading the file, the file is not a valid checkpoint,
+     * or the checkpoint was taken on another track or with other bots
+     */
+    public void restore(Path path) throws IOException {
+        EngineCheckpoint checkpoint = EngineCheckpoint.read(path);
+        if (checkpoint.trackHash() != getTrack().getHash())
+            throw new IOException("The checkpoint was taken on a different track.");
+        if (checkpoint.names().size() != participants.size())
+            throw new IOException("The checkpoint was taken with different bots.");
+        for (int i = 0; i < participants.size(); i++)
+            if (!checkpoint.names().get(i).equals(participants.get(i).getName()))
+                throw new IOException("The checkpoint was taken with different bots.");
+        for (int i = 0; i < participants.size(); i++)
+            participants.get(i).setState(checkpoint.states().get(i));
+        bots.clear();
+        for (int index : checkpoint.active())
+            bots.add(participants.get(index));
+        botIds = Arrays.copyOf(checkpoint.active(), participants.size());
+        eliminatedBots.clear();
+        for (int index : checkpoint.eliminated())
+            eliminatedBots.add(participants.get(index));
+        setProgress(checkpoint.turn(), checkpoint.winner());
     }
 
+    /**
+     * Appends the moves of the last turn to the race log, if any.
+     */
     @Override
-    public boolean allBotsEliminated(){
-        if (bots.isEmpty()){
-            System.out.println("All bots have been eliminated. The race is over.");
-            return true;
+    protected void afterTurn(int firstFinisher) {
+        if (raceLog != null)
+            logTurn(firstFinisher);
+    }
+
+    /**
+     * Appends the moves of the last turn to the race log, followed by the win if a bot crossed the finish.
+     */
+    private void logTurn(int firstFinisher) {
+        for (int i = 0; i < bots.size(); i++) {
+            Bot bot = bots.get(i);
+            RaceEvent event = bot.getEliminated() ? RaceEvent.ELIMINATION
+                    : bot.isNearbyMove() ? RaceEvent.NEARBY_MOVE : RaceEvent.MOVE;
+            raceLog.append(event, getTurn(), botIds[i], bot);
         }
-        return false;
+        if (firstFinisher >= 0)
+            raceLog.append(RaceEvent.WIN, getTurn(), botIds[firstFinisher], bots.get(firstFinisher));
     }
 
+    /**
+     * Moves the eliminated bots from the race to the eliminated bots, keeping the order of both lists.
+     */
     @Override
-    public void updateRace() {
-        List<Bot> botEliminated = new ArrayList<>();
-        for (Bot bot : bots) {
-            bot.calculateNextMoves();
+    protected void removeEliminatedBots() {
+        int remaining = 0;
+        for (int i = 0; i < bots.size(); i++) {
+            Bot bot = bots.get(i);
             if (bot.getEliminated()) {
-                botEliminated.add(bot);
-                System.out.println("Bot " + bot.getName() + ", was eliminated from the race due to a crash.");
+                eliminatedBots.add(bot);
+                if (isVerbose())
+                    System.out.println("Bot " + bot.getName() + ", was eliminated from the race due to a crash.");
+            } else {
+                botIds[remaining] = botIds[i];
+                bots.set(remaining++, bot);
             }
         }
-        bots.removeAll(botEliminated);
+        bots.subList(remaining, bots.size()).clear();
+    }
+
+    @Override
+    public List<Bot> getBots() {
+        return bots;
     }
 
     @Override
-    public void displayStatus() {
-        System.out.println("\nTurn number: " + turn++);
-        for (Bot bot : bots)
-            System.out.println("Bot " + bot.getName() + ", is in position: " + bot.getCurrentPosition().toString());
+    protected int getActiveCount() {
+        return bots.size();
     }
 
     @Override
-    public Bot getWinner(){
-        System.out.println("Bot " + winner.getName() + " won the race!");
-        return winner;
+    protected int getParticipant(int index) {
+        return botIds[index];
     }
 
     @Override
-    public Track getTrack() {
-        return track;
+    protected Bot getParticipantBot(int participant) {
+        return participants.get(participant);
     }
+
     @Override
-    public List<Bot> getBots() {
-        return bots;
+    protected List<Bot> getParticipants() {
+        return participants;
+    }
+
+    @Override
+    protected List<Bot> getEliminatedBots() {
+        return List.copyOf(eliminatedBots);
+    }
+
+    @Override
+    protected String getName(int index) {
+        return bots.get(index).getName();
+    }
+
+    @Override
+    protected int getX(int index) {
+        return bots.get(index).getCurrentX();
+    }
+
+    @Override
+    protected int getY(int index) {
+        return bots.get(index).getCurrentY();
+    }
+
+    @Override
+    protected int getPreviousMoveX(int index) {
+        return bots.get(index).getPreviousMoveX();
+    }
+
+    @Override
+    protected int getPreviousMoveY(int index) {
+        return bots.get(index).getPreviousMoveY();
+    }
+
+    @Override
+    protected boolean isEliminated(int index) {
+        return bots.get(index).getEliminated();
+    }
+
+    @Override
+    protected void move(int index) {
+        bots.get(index).calculateNextMoves();
     }
 }
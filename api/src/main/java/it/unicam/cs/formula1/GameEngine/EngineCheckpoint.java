@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.GameEngine;
+
+import it.unicam.cs.formula1.Bot.BotState;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The state of a {@link DefaultGameEngine} as stored in a checkpoint file.
+ * A checkpoint file is little-endian and made of a header, with the magic number, the format version, the hash of
+ * the track, the turn, the index of the winner and the number of bots, followed by the names of the bots as
+ * u16 length and UTF-8 bytes, the fixed-width state of every bot, and the indexes of the bots still in the race
+ * and of the eliminated bots, each list preceded by its length.
+ *
+ * @param trackHash The hash of the track of the race.
+ * @param turn The turn of the race.
+ * @param winner The index of the winner among the participants, or -1 if no bot has won.
+ * @param names The names of the participants.
+ * @param states The states of the participants.
+ * @param active The indexes of the bots still in the race, in race order.
+ * @param eliminated The indexes of the eliminated bots, in elimination order.
+ */
+record EngineCheckpoint(long trackHash, int turn, int winner, List<String> names, List<BotState> states,
+                        int[] active, int[] eliminated) {
+    private static final int MAGIC = 0x50433146;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 28;
+    private static final int STATE_SIZE = 26;
+    private static final int NEARBY_MOVE = 1;
+    private static final int ELIMINATED = 2;
+
+    /**
+     * Writes the checkpoint to a file. The checkpoint is written to a temporary file next to the target
+     * and then moved over it, so a process that dies while writing leaves the previous checkpoint intact.
+     *
+     * @param path the path of the checkpoint file
+     * @throws IOException if an I/O error occurs writing to the file
+     */
+    void write(Path path) throws IOException {
+        List<byte[]> encodedNames = new ArrayList<>(names.size());
+        int size = HEADER_SIZE + states.size() * STATE_SIZE + 2 * Integer.BYTES + (active.length + eliminated.length) * Integer.BYTES;
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF)
+                throw new IOException("The name of a bot is too long for a checkpoint.");
+            encodedNames.add(bytes);
+            size += Short.BYTES + bytes.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(trackHash).putInt(turn).putInt(winner).putInt(names.size());
+        for (byte[] bytes : encodedNames)
+            buffer.putShort((short) bytes.length).put(bytes);
+        for (BotState state : states)
+            buffer.putInt(state.x()).putInt(state.y()).putInt(state.previousMoveX()).putInt(state.previousMoveY())
+                    .put((byte) state.speed())
+                    .put((byte) ((state.nearbyMove() ? NEARBY_MOVE : 0) | (state.eliminated() ? ELIMINATED : 0)))
+                    .putLong(state.randomState());
+        putIndexes(buffer, active);
+        putIndexes(buffer, eliminated);
+        buffer.flip();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a checkpoint from a file.
+     *
+     * @param path the path of the checkpoint file
+     * @return the checkpoint
+     * @throws IOException if an I/O error occurs reading the file or the file is not a valid checkpoint
+     */
+    static EngineCheckpoint read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC)
+                throw new IOException("The file is not a valid engine checkpoint.");
+            int version = buffer.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported engine checkpoint version " + version + ".");
+            long trackHash = buffer.getLong();
+            int turn = buffer.getInt();
+            int winner = buffer.getInt();
+            int count = buffer.getInt();
+            if (count < 0 || winner < -1 || winner >= count)
+                throw new IOException("The file is not a valid engine checkpoint.");
+            List<String> names = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(bytes);
+                names.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            List<BotState> states = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int x = buffer.getInt();
+                int y = buffer.getInt();
+                int previousMoveX = buffer.getInt();
+                int previousMoveY = buffer.getInt();
+                int speed = buffer.get();
+                int flags = buffer.get();
+                states.add(new BotState(x, y, previousMoveX, previousMoveY, speed, (flags & NEARBY_MOVE) != 0,
+                        (flags & ELIMINATED) != 0, buffer.getLong()));
+            }
+            int[] active = getIndexes(buffer, count);
+            int[] eliminated = getIndexes(buffer, count);
+            return new EngineCheckpoint(trackHash, turn, winner, names, states, active, eliminated);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("The engine checkpoint is truncated.", e);
+        }
+    }
+
+    private static void putIndexes(ByteBuffer buffer, int[] indexes) {
+        buffer.putInt(indexes.length);
+        for (int index : indexes)
+            buffer.putInt(index);
+    }
+
+    private static int[] getIndexes(ByteBuffer buffer, int count) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > count)
+            throw new IOException("The file is not a valid engine checkpoint.");
+        int[] indexes = new int[length];
+        for (int i = 0; i < length; i++) {
+            indexes[i] = buffer.getInt();
+            if (indexes[i] < 0 || indexes[i] >= count)
+                throw new IOException("The file is not a valid engine checkpoint.");
+        }
+        return indexes;
+    }
+}
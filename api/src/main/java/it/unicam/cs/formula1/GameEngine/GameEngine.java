@@ -26,21 +26,34 @@
 package it.unicam.cs.formula1.GameEngine;
 
 import it.unicam.cs.formula1.Bot.Bot;
-import it.unicam.cs.formula1.Track.Track;
-
-import java.util.List;
 
 /**
  * Represents the game engine responsible for managing the game.
  * Provides methods to load the game, start the race, update the race status, and retrieve track and bot information.
  */
-public interface GameEngine {
+public interface GameEngine extends RaceView {
 
     /**
      * Starts the race and manages the game loop until the race is over.
      */
     void startRace();
 
+    /**
+     * Runs the race headless on the calling thread, playing turns back-to-back without
+     * printing the race status, until a bot wins, all bots are eliminated or the turn limit is reached.
+     *
+     * @param maxTurns the maximum number of turns to play
+     * @return the result of the race
+     */
+    RaceResult runToCompletion(int maxTurns);
+
+    /**
+     * Runs the race headless on the calling thread with the default turn limit.
+     *
+     * @return the result of the race
+     */
+    RaceResult runToCompletion();
+
     /**
      * Checks if the race is over.
      *
@@ -72,18 +85,4 @@ public interface GameEngine {
      * @return the winning bot
      */
     Bot getWinner();
-
-    /**
-     * Returns the track on which the game is being played.
-     *
-     * @return the track
-     */
-    Track getTrack();
-
-    /**
-     * Returns the list of bots participating in the game.
-     *
-     * @return the list of bots
-     */
-    List<Bot> getBots();
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.GameEngine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task moving the bots of a turn in parallel, splitting the range of their indexes in halves
+ * until the chunks are small enough.
+ * The move of an index must touch only the state of its own bot and reports what happened to the bot,
+ * so the outcome of the turn does not depend on the number of threads or on the scheduling:
+ * the outcomes of the chunks are merged in index order.
+ * Nothing is double-buffered: no move reads what another move of the same turn writes,
+ * and the state shared by the turn is changed only by the engine, after the merge.
+ */
+final class ParallelTick extends RecursiveTask<ParallelTick.Outcome> {
+    /**
+     * The bot moved and is still racing.
+     */
+    static final long MOVED = -1;
+    /**
+     * The bot was eliminated.
+     */
+    static final long ELIMINATED = -2;
+    private static final int CHUNK = 2048;
+    private final int from;
+    private final int to;
+    private final Move move;
+
+    private ParallelTick(int from, int to, Move move) {
+        this.from = from;
+        this.to = to;
+        this.move = move;
+    }
+
+    /**
+     * Returns the report of a bot that crossed the finish during its move.
+     *
+     * @param step the step of the move at which the bot entered the finish
+     * @param length the length of the move, in steps
+     * @return the report of the move
+     */
+    static long finished(int step, int length) {
+        return (long) step << 32 | length;
+    }
+
+    /**
+     * Applies the move to every index from zero to count, on the pool if it is not null and sequentially otherwise.
+     *
+     * @param pool the pool on which the moves are run, or null to run them on the calling thread
+     * @param count the number of indexes
+     * @param move the move of an index
+     * @return the outcome of the turn
+     */
+    static Outcome forEach(ForkJoinPool pool, int count, Move move) {
+        if (pool == null || count <= CHUNK)
+            return run(0, count, move);
+        return pool.invoke(new ParallelTick(0, count, move));
+    }
+
+    @Override
+    protected Outcome compute() {
+        if (to - from <= CHUNK)
+            return run(from, to, move);
+        int middle = (from + to) >>> 1;
+        ParallelTick right = new ParallelTick(middle, to, move);
+        right.fork();
+        Outcome left = new ParallelTick(from, middle, move).compute();
+        return left.merge(right.join());
+    }
+
+    private static Outcome run(int from, int to, Move move) {
+        Outcome outcome = Outcome.NONE;
+        int eliminations = 0;
+        for (int i = from; i < to; i++) {
+            long report = move.apply(i);
+            if (report == ELIMINATED)
+                eliminations++;
+            else if (report != MOVED) {
+                Outcome finisher = new Outcome(i, (int) (report >>> 32), (int) report, 0);
+                if (finisher.finishesBefore(outcome))
+                    outcome = finisher;
+            }
+        }
+        return new Outcome(outcome.firstFinisher, outcome.step, outcome.length, eliminations);
+    }
+
+    /**
+     * The move of a bot in a turn.
+     */
+    @FunctionalInterface
+    interface Move {
+
+        /**
+         * Moves the bot with the specified index.
+         *
+         * @param index the index of the bot
+         * @return {@link #MOVED}, {@link #ELIMINATED}, or the report built by {@link #finished(int, int)}
+         */
+        long apply(int index);
+    }
+
+    /**
+     * Record representing what happened to the bots of a range of indexes during a turn.
+     *
+     * @param firstFinisher the index of the bot that crossed the finish at the earliest fraction of its move,
+     *                      the lowest index on ties, or -1 if no bot crossed the finish
+     * @param step the step of the move at which the first finisher entered the finish
+     * @param length the length of the move of the first finisher
+     * @param eliminations the number of bots eliminated
+     */
+    record Outcome(int firstFinisher, int step, int length, int eliminations) {
+        static final Outcome NONE = new Outcome(-1, 0, 1, 0);
+
+        /**
+         * Checks if this outcome has a finisher that crossed the finish at a strictly earlier fraction of its move
+         * than the finisher of another outcome, comparing the fractions exactly.
+         *
+         * @param other the other outcome
+         * @return true if this finisher comes first
+         */
+        boolean finishesBefore(Outcome other) {
+            return firstFinisher >= 0 && (other.firstFinisher < 0 || (long) step * other.length < (long) other.step * length);
+        }
+
+        /**
+         * Merges this outcome with the outcome of the range that follows it.
+         *
+         * @param next the outcome of the following range
+         * @return the outcome of the two ranges
+         */
+        Outcome merge(Outcome next) {
+            Outcome first = next.finishesBefore(this) ? next : this;
+            return new Outcome(first.firstFinisher, first.step, first.length, eliminations + next.eliminations);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.GameEngine;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.BotPool.BotPool;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Implementation of the {@link GameEngine} interface on a {@link BotPool}.
+ * The bots still in the race are kept as an array of indexes into the pool, in pool order,
+ * so a turn walks the state of the pool linearly without a bot object per bot.
+ * The index of a bot among the participants of the race is its index in the pool.
+ * The {@link Bot} objects returned by the engine are views backed by the pool, created only when they are read.
+ */
+public class PooledGameEngine extends AbstractGameEngine {
+    private final BotPool pool;
+    private final int[] active;
+    private int activeCount;
+    private int[] eliminated;
+    private int eliminatedCount;
+
+    /**
+     * Constructs a new PooledGameEngine racing all the bots of a pool.
+     *
+     * @param pool the pool of the bots participating in the race
+     */
+    public PooledGameEngine(BotPool pool) {
+        this(pool, null);
+    }
+
+    /**
+     * Constructs a new PooledGameEngine racing all the bots of a pool, moving the bots of every turn in parallel.
+     * A bot that starts on a finish cell wins the race before the first turn.
+     *
+     * @param pool the pool of the bots participating in the race
+     * @param forkJoinPool the fork-join pool on which the bots are moved, or null to move them sequentially
+     */
+    public PooledGameEngine(BotPool pool, ForkJoinPool forkJoinPool) {
+        super(pool.getTrack(), forkJoinPool);
+        this.pool = pool;
+        this.active = new int[pool.size()];
+        for (int bot = 0; bot < pool.size(); bot++)
+            if (!pool.isEliminated(bot))
+                active[activeCount++] = bot;
+        this.eliminated = new int[16];
+        findWinnerOnFinish();
+    }
+
+    /**
+     * Moves the eliminated bots from the active bots to the eliminated bots, keeping the order of both.
+     */
+    @Override
+    protected void removeEliminatedBots() {
+        int remaining = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int bot = active[i];
+            if (pool.isEliminated(bot)) {
+                addEliminated(bot);
+                if (isVerbose())
+                    System.out.println("Bot " + pool.getName(bot) + ", was eliminated from the race due to a crash.");
+            } else
+                active[remaining++] = bot;
+        }
+        activeCount = remaining;
+    }
+
+    /**
+     * Returns a live read-only list of views of the bots still in the race.
+     *
+     * @return the bots still in the race
+     */
+    @Override
+    public List<Bot> getBots() {
+        return new AbstractList<>() {
+            @Override
+            public Bot get(int index) {
+                if (index < 0 || index >= activeCount)
+                    throw new IndexOutOfBoundsException(index);
+                return pool.getBot(active[index]);
+            }
+
+            @Override
+            public int size() {
+                return activeCount;
+            }
+        };
+    }
+
+    /**
+     * Returns the pool of the bots of the race.
+     *
+     * @return the pool of the bots
+     */
+    public BotPool getPool() {
+        return pool;
+    }
+
+    @Override
+    protected int getActiveCount() {
+        return activeCount;
+    }
+
+    @Override
+    protected int getParticipant(int index) {
+        return active[index];
+    }
+
+    @Override
+    protected Bot getParticipantBot(int participant) {
+        return pool.getBot(participant);
+    }
+
+    /**
+     * Returns a read-only list of views of all the bots of the pool.
+     */
+    @Override
+    protected List<Bot> getParticipants() {
+        return new AbstractList<>() {
+            @Override
+            public Bot get(int index) {
+                return pool.getBot(index);
+            }
+
+            @Override
+            public int size() {
+                return pool.size();
+            }
+        };
+    }
+
+    /**
+     * Returns a read-only list of views of the eliminated bots, on a copy of their indexes.
+     */
+    @Override
+    protected List<Bot> getEliminatedBots() {
+        int[] indexes = Arrays.copyOf(eliminated, eliminatedCount);
+        return new AbstractList<>() {
+            @Override
+            public Bot get(int index) {
+                return pool.getBot(indexes[index]);
+            }
+
+            @Override
+            public int size() {
+                return indexes.length;
+            }
+        };
+    }
+
+    @Override
+    protected String getName(int index) {
+        return pool.getName(active[index]);
+    }
+
+    @Override
+    protected int getX(int index) {
+        return pool.getX(active[index]);
+    }
+
+    @Override
+    protected int getY(int index) {
+        return pool.getY(active[index]);
+    }
+
+    @Override
+    protected int getPreviousMoveX(int index) {
+        return pool.getPreviousMoveX(active[index]);
+    }
+
+    @Override
+    protected int getPreviousMoveY(int index) {
+        return pool.getPreviousMoveY(active[index]);
+    }
+
+    @Override
+    protected boolean isEliminated(int index) {
+        return pool.isEliminated(active[index]);
+    }
+
+    @Override
+    protected void move(int index) {
+        pool.calculateNextMove(active[index]);
+    }
+
+    private void addEliminated(int bot) {
+        if (eliminatedCount == eliminated.length)
+            eliminated = Arrays.copyOf(eliminated, eliminatedCount * 2);
+        eliminated[eliminatedCount++] = bot;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.GameEngine;
+
+import it.unicam.cs.formula1.Bot.Bot;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Record representing the outcome of a race run to completion.
+ *
+ * @param winner the bot that won the race, or null if no bot reached the finish
+ * @param turns the number of turns played
+ * @param eliminatedBots the bots eliminated during the race, in order of elimination
+ * @param bots all the bots that took part in the race, in their final state
+ */
+public record RaceResult(Bot winner, int turns, List<Bot> eliminatedBots, List<Bot> bots) {
+
+    /**
+     * Constructs a new RaceResult on read-only views of the given lists, which are not copied:
+     * the engines pass lists that no longer change, and may build their bots only when they are read.
+     *
+     * @param winner the bot that won the race, or null if no bot reached the finish
+     * @param turns the number of turns played
+     * @param eliminatedBots the bots eliminated during the race, in order of elimination
+     * @param bots all the bots that took part in the race, in their final state
+     */
+    public RaceResult(Bot winner, int turns, List<Bot> eliminatedBots, List<Bot> bots) {
+        this.winner = winner;
+        this.turns = turns;
+        this.eliminatedBots = Collections.unmodifiableList(eliminatedBots);
+        this.bots = Collections.unmodifiableList(bots);
+    }
+
+    /**
+     * Checks if the race ended with a winner.
+     *
+     * @return true if a bot reached the finish, false otherwise
+     */
+    public boolean hasWinner() {
+        return winner != null;
+    }
+}
@@ -32,7 +32,10 @@ import it.unicam.cs.formula1.Position.Position;
  * Provides methods to accelerate, decelerate, and calculate the main point for movement.
  */
 public class DefaultMovement implements Movement {
-    private static final int MAX_SPEED = 3;
+    /**
+     * The maximum speed of a bot.
+     */
+    public static final int MAX_SPEED = 3;
     private int speed;
 
     /**
@@ -44,20 +47,34 @@ public class DefaultMovement implements Movement {
 
     @Override
     public Position accelerate(Position mainPoint, Position previousMove) {
-        if (speed < MAX_SPEED) {
-            increaseSpeed();
+        if (accelerate() == 1)
             return new Position(mainPoint.getX() + Integer.signum(previousMove.getX()), mainPoint.getY() + Integer.signum(previousMove.getY()));
-        }
         return mainPoint;
     }
 
     @Override
     public Position decelerate(Position mainPoint, Position previousMove) {
+        if (decelerate() == 1)
+            return new Position(mainPoint.getX() - Integer.signum(previousMove.getX()), mainPoint.getY() - Integer.signum(previousMove.getY()));
+        return mainPoint;
+    }
+
+    @Override
+    public int accelerate() {
+        if (speed < MAX_SPEED) {
+            increaseSpeed();
+            return 1;
+        }
+        return 0;
+    }
+
+    @Override
+    public int decelerate() {
         if (speed > 1) {
             decreaseSpeed();
-            return new Position(mainPoint.getX() - Integer.signum(previousMove.getX()), mainPoint.getY() - Integer.signum(previousMove.getY()));
+            return 1;
         }
-        return mainPoint;
+        return 0;
     }
 
     @Override
@@ -73,6 +90,7 @@ public class DefaultMovement implements Movement {
     public void decreaseSpeed() {
         this.speed -=1;
     }
+    @Override
     public int getSpeed() {
         return speed;
     }
@@ -51,6 +51,22 @@ public interface Movement {
      */
     Position decelerate(Position actualPosition, Position previousMove);
 
+    /**
+     * Accelerates the movement, if the maximum speed has not been reached.
+     * Allocation-free variant of {@link #accelerate(Position, Position)}.
+     *
+     * @return the number of cells to add to the main point along each moving axis, 1 if accelerated or 0
+     */
+    int accelerate();
+
+    /**
+     * Decelerates the movement, if the minimum speed has not been reached.
+     * Allocation-free variant of {@link #decelerate(Position, Position)}.
+     *
+     * @return the number of cells to remove from the main point along each moving axis, 1 if decelerated or 0
+     */
+    int decelerate();
+
     /**
      * Calculates the main point for movement based on the actual position and the previous move.
      *
@@ -60,6 +76,13 @@ public interface Movement {
      */
     Position calculateMainPoint(Position actualPosition, Position previousMove);
 
+    /**
+     * Returns the current speed.
+     *
+     * @return the current speed
+     */
+    int getSpeed();
+
     /**
      * Increase the speed
      */
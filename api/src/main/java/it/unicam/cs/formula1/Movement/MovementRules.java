@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Movement;
+
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
+
+/**
+ * The rules by which a {@link it.unicam.cs.formula1.Bot.DefaultBot} moves, for the code that moves bots
+ * without a {@link Movement} object, such as the bot pools and the state space of the planners.
+ * The steps and speeds are taken once from a {@link DefaultMovement} at every speed, so every user of these rules
+ * moves as a {@link DefaultMovement} does and the rules hash of the state space covers them.
+ */
+public final class MovementRules {
+    private static final int[] ACCELERATE_STEPS = new int[DefaultMovement.MAX_SPEED + 1];
+    private static final int[] ACCELERATED_SPEEDS = new int[DefaultMovement.MAX_SPEED + 1];
+    private static final int[] DECELERATE_STEPS = new int[DefaultMovement.MAX_SPEED + 1];
+    private static final int[] DECELERATED_SPEEDS = new int[DefaultMovement.MAX_SPEED + 1];
+
+    static {
+        DefaultMovement movement = new DefaultMovement();
+        for (int speed = 1; speed <= DefaultMovement.MAX_SPEED; speed++) {
+            movement.setSpeed(speed);
+            ACCELERATE_STEPS[speed] = movement.accelerate();
+            ACCELERATED_SPEEDS[speed] = movement.getSpeed();
+            movement.setSpeed(speed);
+            DECELERATE_STEPS[speed] = movement.decelerate();
+            DECELERATED_SPEEDS[speed] = movement.getSpeed();
+        }
+    }
+
+    private MovementRules() {
+    }
+
+    /**
+     * Checks if a bot makes a nearby move instead of moving from its main point, that is if it is at rest
+     * or its main point is outside the track.
+     *
+     * @param trackOperation the track operation of the track
+     * @param x the x coordinate of the bot
+     * @param y the y coordinate of the bot
+     * @param previousMoveX the x component of the previous move of the bot
+     * @param previousMoveY the y component of the previous move of the bot
+     * @return true if the bot makes a nearby move, false otherwise
+     */
+    public static boolean isNearbyMove(TrackOperation trackOperation, int x, int y, int previousMoveX, int previousMoveY) {
+        return (previousMoveX == 0 && previousMoveY == 0)
+                || !trackOperation.isValidPosition(x + previousMoveX, y + previousMoveY);
+    }
+
+    /**
+     * Checks if a bot moving from its main point accelerates, that is if the two moves after the main point
+     * with the same previous move are valid and passable; otherwise it decelerates.
+     *
+     * @param trackOperation the track operation of the track
+     * @param mainX the x coordinate of the main point of the bot
+     * @param mainY the y coordinate of the main point of the bot
+     * @param previousMoveX the x component of the previous move of the bot
+     * @param previousMoveY the y component of the previous move of the bot
+     * @return true if the bot accelerates, false if it decelerates
+     */
+    public static boolean accelerates(TrackOperation trackOperation, int mainX, int mainY, int previousMoveX, int previousMoveY) {
+        int nextMainX1 = mainX + previousMoveX;
+        int nextMainY1 = mainY + previousMoveY;
+        return trackOperation.isValidAndPassable(mainX, mainY, nextMainX1, nextMainY1,
+                nextMainX1 + previousMoveX, nextMainY1 + previousMoveY);
+    }
+
+    /**
+     * Returns the step that {@link DefaultMovement#accelerate()} adds to the main point at a speed.
+     *
+     * @param speed the speed, from 1 to {@link DefaultMovement#MAX_SPEED}
+     * @return the step
+     */
+    public static int accelerateStep(int speed) {
+        return ACCELERATE_STEPS[speed];
+    }
+
+    /**
+     * Returns the speed after {@link DefaultMovement#accelerate()} at a speed.
+     *
+     * @param speed the speed, from 1 to {@link DefaultMovement#MAX_SPEED}
+     * @return the speed after accelerating
+     */
+    public static int acceleratedSpeed(int speed) {
+        return ACCELERATED_SPEEDS[speed];
+    }
+
+    /**
+     * Returns the step that {@link DefaultMovement#decelerate()} takes from the main point at a speed.
+     *
+     * @param speed the speed, from 1 to {@link DefaultMovement#MAX_SPEED}
+     * @return the step
+     */
+    public static int decelerateStep(int speed) {
+        return DECELERATE_STEPS[speed];
+    }
+
+    /**
+     * Returns the speed after {@link DefaultMovement#decelerate()} at a speed, which is also the speed
+     * after a nearby move.
+     *
+     * @param speed the speed, from 1 to {@link DefaultMovement#MAX_SPEED}
+     * @return the speed after decelerating
+     */
+    public static int deceleratedSpeed(int speed) {
+        return DECELERATED_SPEEDS[speed];
+    }
+}
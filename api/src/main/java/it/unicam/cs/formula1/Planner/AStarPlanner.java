@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+/**
+ * Implementation of the {@link Planner} interface that finds the shortest plans with an A* search.
+ * The cost of a plan is its number of moves. The heuristic is the {@link MoveField} of the track, computed when
+ * the planner is constructed: it never overestimates the moves left, and it never drops by more than one
+ * along a move, so every state is expanded at most once.
+ * The visited states are kept in a {@link StateTable} and the open states in a {@link NodeHeap},
+ * so the search does not allocate an object per state.
+ */
+public class AStarPlanner implements Planner {
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private final StateSpace stateSpace;
+    private final MoveField moveField;
+
+    /**
+     * Constructs a new AStarPlanner on the specified state space, computing its move field.
+     *
+     * @param stateSpace the state space of the track
+     */
+    public AStarPlanner(StateSpace stateSpace) {
+        this(stateSpace, MoveField.compute(stateSpace));
+    }
+
+    /**
+     * Constructs a new AStarPlanner on the specified state space and move field.
+     *
+     * @param stateSpace the state space of the track
+     * @param moveField the move field of the track
+     */
+    public AStarPlanner(StateSpace stateSpace, MoveField moveField) {
+        this.stateSpace = stateSpace;
+        this.moveField = moveField;
+    }
+
+    @Override
+    public StateSpace getStateSpace() {
+        return stateSpace;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The finish is checked when a move is generated rather than when its state is expanded: since every state
+     * has a heuristic of at least one, the first move found to cross the finish ends a shortest plan.
+     * Only the states one move away from the finish in the move field are checked.
+     */
+    @Override
+    public long[] plan(long state) {
+        if (heuristic(state) < 0)
+            return new long[0];
+        StateTable table = new StateTable(INITIAL_CAPACITY);
+        NodeHeap open = new NodeHeap(INITIAL_CAPACITY);
+        long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+        open.push(table.insert(state, 0, -1), priority(heuristic(state), 0));
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (table.isClosed(node))
+                continue;
+            table.close(node);
+            long current = table.getState(node);
+            int cost = table.getCost(node) + 1;
+            boolean canFinish = heuristic(current) == 1;
+            int count = stateSpace.successors(current, successors);
+            for (int i = 0; i < count; i++) {
+                long next = successors[i];
+                if (canFinish && stateSpace.crossesFinish(current, next))
+                    return path(table, node, next);
+                int heuristic = heuristic(next);
+                if (heuristic < 0)
+                    continue;
+                int nextNode = table.insert(next, cost, node);
+                if (nextNode < 0) {
+                    nextNode = ~nextNode;
+                    if (table.isClosed(nextNode) || cost >= table.getCost(nextNode))
+                        continue;
+                    table.update(nextNode, cost, node);
+                }
+                open.push(nextNode, priority(cost + heuristic, cost));
+            }
+        }
+        return new long[0];
+    }
+
+    /**
+     * Returns a lower bound of the moves from a state to the finish, or -1 if the finish cannot be reached.
+     */
+    private int heuristic(long state) {
+        return moveField.getMoves(stateSpace.getCell(state));
+    }
+
+    /**
+     * Orders the open states by estimated total cost, and then by highest cost so far,
+     * which expands the states closer to the finish first among the equally promising ones.
+     */
+    private static long priority(int estimate, int cost) {
+        return (long) estimate << 32 | (Integer.MAX_VALUE - cost);
+    }
+
+    private static long[] path(StateTable table, int node, long last) {
+        long[] path = new long[table.getCost(node) + 2];
+        path[path.length - 1] = last;
+        for (int i = path.length - 2; i >= 0; i--, node = table.getParent(node))
+            path[i] = table.getState(node);
+        return path;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Sweeps over the cells of a track, in blocks of cells run in parallel, for the tables computed from the
+ * {@link MoveCodes} of the states. A sweep until settled updates the states of the cells in place, alternating
+ * the order of the cells between forwards and backwards, and only updates the dirty cells, whose moves reach
+ * a state changed since the cell was last updated. A block clears the flag of a cell before updating it,
+ * and flags the cells that can move to a cell whose states it changed after writing them; the flags are cleared
+ * with a volatile read and set with a release write, so a block either sees the states behind a flag or leaves
+ * the flag set for a later update.
+ */
+final class CellSweep {
+    private static final int BLOCK_SIZE = 256;
+    private static final VarHandle DIRTY = MethodHandles.arrayElementVarHandle(boolean[].class);
+
+    private CellSweep() {
+    }
+
+    /**
+     * Runs an action on every cell, in parallel blocks of cells.
+     *
+     * @param cells the cells
+     * @param action the action run on every cell
+     */
+    static void forEach(int[] cells, IntConsumer action) {
+        int blocks = (cells.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            for (int i = block * BLOCK_SIZE; i < Math.min(cells.length, (block + 1) * BLOCK_SIZE); i++)
+                action.accept(cells[i]);
+        });
+    }
+
+    /**
+     * Sweeps over the cells until a sweep finds no dirty cell. Every cell starts dirty.
+     *
+     * @param rows the rows of the track
+     * @param columns the columns of the track
+     * @param cells the cells swept
+     * @param update the update of the states of a cell, returning true if a state has changed
+     * @return the number of sweeps, the one that found no dirty cell included
+     */
+    static int untilSettled(int rows, int columns, int[] cells, IntPredicate update) {
+        boolean[] dirty = new boolean[rows * columns];
+        for (int cell : cells)
+            dirty[cell] = true;
+        int blocks = (cells.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int sweeps = 0;
+        boolean updated = true;
+        while (updated) {
+            boolean backwards = sweeps++ % 2 == 1;
+            updated = IntStream.range(0, blocks).parallel().mapToObj(block -> {
+                boolean any = false;
+                for (int i = block * BLOCK_SIZE; i < Math.min(cells.length, (block + 1) * BLOCK_SIZE); i++) {
+                    int cell = cells[backwards ? cells.length - 1 - i : i];
+                    if (!(boolean) DIRTY.getAndSet(dirty, cell, false))
+                        continue;
+                    any = true;
+                    if (update.test(cell))
+                        flagPredecessors(dirty, rows, columns, cell);
+                }
+                return any;
+            }).reduce(false, Boolean::logicalOr);
+        }
+        return sweeps;
+    }
+
+    /**
+     * Flags the cells from which a move can reach a cell.
+     */
+    private static void flagPredecessors(boolean[] dirty, int rows, int columns, int cell) {
+        int x = cell / columns;
+        int y = cell % columns;
+        int lastX = Math.min(rows - 1, x + StateSpace.MAX_VELOCITY);
+        int lastY = Math.min(columns - 1, y + StateSpace.MAX_VELOCITY);
+        for (int previousX = Math.max(0, x - StateSpace.MAX_VELOCITY); previousX <= lastX; previousX++)
+            for (int previousY = Math.max(0, y - StateSpace.MAX_VELOCITY); previousY <= lastY; previousY++)
+                DIRTY.setRelease(dirty, previousX * columns + previousY, true);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Track.DistanceField;
+import it.unicam.cs.formula1.Track.Track;
+
+import java.util.stream.IntStream;
+
+/**
+ * The doomed states of a track, from which every way forward runs out of moves before the finish:
+ * whatever moves a bot makes, it ends in a state with no move of the {@link StateSpace}, where a bot that has to
+ * make a nearby move with no valid nearby cell is eliminated. The table is computed once by backward induction
+ * and kept as one bit for every state, so a bot can check any state in constant time.
+ */
+public final class DoomedStateTable {
+    private final StateSpace stateSpace;
+    private final long[] doomed;
+    private final int sweeps;
+
+    private DoomedStateTable(StateSpace stateSpace, long[] doomed, int sweeps) {
+        this.stateSpace = stateSpace;
+        this.doomed = doomed;
+        this.sweeps = sweeps;
+    }
+
+    /**
+     * Computes the doomed states of a track by backward induction over the states of its passable cells.
+     * The states with no move and no crossing of the finish are doomed, and so is every state whose moves
+     * all reach doomed states and none crosses the finish. A {@link CellSweep} marks the states in place
+     * until no more are marked; a state is only marked by the block of its cell and marks are never removed,
+     * so a block missing a mark that another block is making only delays the induction.
+     *
+     * @param stateSpace the state space of the track
+     * @return the doomed states of the track
+     * @throws IllegalArgumentException if the state space has too many states for a table
+     */
+    public static DoomedStateTable compute(StateSpace stateSpace) {
+        if (stateSpace.size() > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("The track has too many states for a doomed state table.");
+        Track track = stateSpace.getTrack();
+        DistanceField distanceField = track.getDistanceField();
+        int rows = track.getRows();
+        int columns = track.getColumns();
+        int[] cells = IntStream.range(0, rows * columns)
+                .filter(cell -> track.isPassable(cell / columns, cell % columns)).toArray();
+        MoveCodes codes = MoveCodes.encode(stateSpace, cells, cell -> {
+            int distance = distanceField.getDistance(cell / columns, cell % columns);
+            return distance != DistanceField.UNREACHABLE && distance <= StateSpace.MAX_VELOCITY;
+        });
+        boolean[] marks = new boolean[(int) stateSpace.size()];
+        int sweeps = CellSweep.untilSettled(rows, columns, cells, cell -> update(codes, marks, cell));
+        long[] doomed = new long[(marks.length + Long.SIZE - 1) / Long.SIZE];
+        for (int state = 0; state < marks.length; state++)
+            if (marks[state])
+                doomed[state >>> 6] |= 1L << state;
+        return new DoomedStateTable(stateSpace, doomed, sweeps);
+    }
+
+    /**
+     * Marks the states of a cell whose moves all reach marked states and none crosses the finish.
+     *
+     * @return true if a state has been marked, false otherwise
+     */
+    private static boolean update(MoveCodes codes, boolean[] marks, int cell) {
+        boolean changed = false;
+        int state = cell * StateSpace.STATES_PER_CELL;
+        for (int velocityX = -StateSpace.MAX_VELOCITY; velocityX <= StateSpace.MAX_VELOCITY; velocityX++)
+            for (int velocityY = -StateSpace.MAX_VELOCITY; velocityY <= StateSpace.MAX_VELOCITY; velocityY++)
+                for (int speed = 1; speed <= DefaultMovement.MAX_SPEED; speed++, state++) {
+                    if (marks[state])
+                        continue;
+                    int code = codes.getCode(state);
+                    boolean doomed = true;
+                    for (int bits = code & MoveCodes.MOVES; bits != 0 && doomed; bits &= bits - 1) {
+                        int bit = Integer.numberOfTrailingZeros(bits);
+                        doomed = !MoveCodes.crossesFinish(code, bit)
+                                && marks[codes.successor(cell, velocityX, velocityY, speed, code, bit)];
+                    }
+                    if (doomed) {
+                        marks[state] = true;
+                        changed = true;
+                    }
+                }
+        return changed;
+    }
+
+    /**
+     * Returns the state space of the table.
+     *
+     * @return the state space
+     */
+    public StateSpace getStateSpace() {
+        return stateSpace;
+    }
+
+    /**
+     * Checks if a state is doomed. The states of the walls are never doomed, since no move reaches them.
+     *
+     * @param state the state
+     * @return true if every way forward from the state runs out of moves before the finish, false otherwise
+     */
+    public boolean isDoomed(long state) {
+        return (doomed[(int) (state >>> 6)] & 1L << state) != 0;
+    }
+
+    /**
+     * Returns the number of sweeps the induction took, the one that found nothing to update included.
+     *
+     * @return the number of sweeps
+     */
+    public int getSweeps() {
+        return sweeps;
+    }
+}
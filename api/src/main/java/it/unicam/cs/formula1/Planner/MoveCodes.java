@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Movement.MovementRules;
+import it.unicam.cs.formula1.Track.NeighbourMasks;
+
+import java.util.function.IntPredicate;
+
+/**
+ * The moves of the states of a track, checked against the track once and kept as a few bits for every state,
+ * so the tables computed by sweeping over the states find the successors of a state with arithmetic alone.
+ * The code of a state has the {@link #NEARBY} flag if the moves are nearby moves, one bit for every move
+ * in the order of {@link StateSpace#successors}, that is the bit of the nearby cell in the {@link NeighbourMasks}
+ * or the accelerating and decelerating bits, and the same bit shifted by {@link #FINISH_SHIFT}
+ * if the move crosses the finish.
+ */
+final class MoveCodes {
+    /**
+     * The bits of the moves of a code.
+     */
+    static final int MOVES = 0xFF;
+    private static final int NEARBY = 1 << 8;
+    private static final int FINISH_SHIFT = 16;
+    private static final int ACCELERATE = 0;
+    private static final int DECELERATE = 1;
+    private static final int VELOCITIES = 2 * StateSpace.MAX_VELOCITY + 1;
+    private final int[] codes;
+    private final int columns;
+
+    private MoveCodes(int[] codes, int columns) {
+        this.codes = codes;
+        this.columns = columns;
+    }
+
+    /**
+     * Encodes the moves of the states of some cells, in parallel blocks of cells. The states of the other cells
+     * have no moves.
+     *
+     * @param stateSpace the state space of the track
+     * @param cells the cells whose states are encoded
+     * @param finishing whether a cell may have a move that crosses the finish, for the crossings are only
+     *                  checked for these cells
+     * @return the codes of the states
+     */
+    static MoveCodes encode(StateSpace stateSpace, int[] cells, IntPredicate finishing) {
+        int[] codes = new int[(int) stateSpace.size()];
+        CellSweep.forEach(cells, cell -> {
+            long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+            boolean finishes = finishing.test(cell);
+            int first = cell * StateSpace.STATES_PER_CELL;
+            for (int state = first; state < first + StateSpace.STATES_PER_CELL; state++) {
+                int count = stateSpace.successors(state, successors);
+                boolean nearby = stateSpace.isNearbyMove(state);
+                int code = nearby ? NEARBY : 0;
+                for (int j = 0; j < count; j++) {
+                    int bit = nearby
+                            ? neighbour(stateSpace.getVelocityX(successors[j]) - stateSpace.getVelocityX(state),
+                                    stateSpace.getVelocityY(successors[j]) - stateSpace.getVelocityY(state))
+                            : isAcceleration(stateSpace.getSpeed(state), stateSpace.getSpeed(successors[j]))
+                            ? ACCELERATE : DECELERATE;
+                    code |= 1 << bit;
+                    if (finishes && stateSpace.crossesFinish(state, successors[j]))
+                        code |= 1 << (bit + FINISH_SHIFT);
+                }
+                codes[state] = code;
+            }
+        });
+        return new MoveCodes(codes, stateSpace.getTrack().getColumns());
+    }
+
+    /**
+     * Returns the code of a state.
+     *
+     * @param state the state
+     * @return the code of the state
+     */
+    int getCode(int state) {
+        return codes[state];
+    }
+
+    /**
+     * Checks if a move of a code crosses the finish.
+     *
+     * @param code the code of the state
+     * @param bit the bit of the move
+     * @return true if the move crosses the finish, false otherwise
+     */
+    static boolean crossesFinish(int code, int bit) {
+        return (code & (1 << (bit + FINISH_SHIFT))) != 0;
+    }
+
+    /**
+     * Returns the state reached with a move from a state.
+     *
+     * @param cell the cell of the state
+     * @param velocityX the x component of the previous move of the state
+     * @param velocityY the y component of the previous move of the state
+     * @param speed the speed of the state
+     * @param code the code of the state
+     * @param bit the bit of the move
+     * @return the state reached with the move
+     */
+    int successor(int cell, int velocityX, int velocityY, int speed, int code, int bit) {
+        if ((code & NEARBY) != 0)
+            return state(cell, velocityX + NeighbourMasks.DX[bit], velocityY + NeighbourMasks.DY[bit],
+                    MovementRules.deceleratedSpeed(speed));
+        int step = bit == ACCELERATE ? MovementRules.accelerateStep(speed) : -MovementRules.decelerateStep(speed);
+        return state(cell, velocityX + step * Integer.signum(velocityX), velocityY + step * Integer.signum(velocityY),
+                bit == ACCELERATE ? MovementRules.acceleratedSpeed(speed) : MovementRules.deceleratedSpeed(speed));
+    }
+
+    /**
+     * Returns the index of the state reached from a cell with the specified move and speed.
+     */
+    private int state(int cell, int velocityX, int velocityY, int speed) {
+        return (cell + velocityX * columns + velocityY) * StateSpace.STATES_PER_CELL
+                + ((velocityX + StateSpace.MAX_VELOCITY) * VELOCITIES + velocityY + StateSpace.MAX_VELOCITY)
+                * DefaultMovement.MAX_SPEED + speed - 1;
+    }
+
+    /**
+     * Returns the bit of a nearby cell in the {@link NeighbourMasks}.
+     */
+    private static int neighbour(int dx, int dy) {
+        int bit = 0;
+        while (NeighbourMasks.DX[bit] != dx || NeighbourMasks.DY[bit] != dy)
+            bit++;
+        return bit;
+    }
+
+    /**
+     * Checks if a move from the main point is the accelerating one, from the speeds before and after it.
+     */
+    private static boolean isAcceleration(int speed, int nextSpeed) {
+        return nextSpeed == MovementRules.acceleratedSpeed(speed);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import it.unicam.cs.formula1.Track.DistanceField;
+import it.unicam.cs.formula1.Track.Track;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Least number of moves from every cell of a track to the finish, for a bot free to make any move of up to
+ * {@link StateSpace#MAX_VELOCITY} cells in any direction every turn, as long as the move lands on a passable cell
+ * along a passable segment. Every move of a real bot is such a move, so the field never overestimates
+ * the moves a bot needs, whatever its previous move and speed; unlike the {@link DistanceField},
+ * it accounts for the walls that block the long moves.
+ */
+public final class MoveField {
+    /**
+     * Moves of the cells from which the finish cannot be reached, walls included.
+     */
+    public static final int UNREACHABLE = -1;
+    private static final int PARALLEL_FRONTIER = 1024;
+    private static final int CHUNK_SIZE = 256;
+    private static final VarHandle MOVES = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int[] OFFSET_X;
+    private static final int[] OFFSET_Y;
+    private final int rows;
+    private final int columns;
+    private final int[] moves;
+
+    static {
+        int side = 2 * StateSpace.MAX_VELOCITY + 1;
+        OFFSET_X = new int[side * side - 1];
+        OFFSET_Y = new int[side * side - 1];
+        int count = 0;
+        for (int dx = -StateSpace.MAX_VELOCITY; dx <= StateSpace.MAX_VELOCITY; dx++)
+            for (int dy = -StateSpace.MAX_VELOCITY; dy <= StateSpace.MAX_VELOCITY; dy++)
+                if (dx != 0 || dy != 0) {
+                    OFFSET_X[count] = dx;
+                    OFFSET_Y[count++] = dy;
+                }
+    }
+
+    private MoveField(int rows, int columns, int[] moves) {
+        this.rows = rows;
+        this.columns = columns;
+        this.moves = moves;
+    }
+
+    /**
+     * Computes the move field of a track with a breadth-first search backwards from the cells with a move
+     * that crosses the finish. Every level of the search is expanded in parallel when its frontier is large.
+     *
+     * @param stateSpace the state space of the track
+     * @return the move field of the track
+     */
+    public static MoveField compute(StateSpace stateSpace) {
+        Track track = stateSpace.getTrack();
+        DistanceField distanceField = track.getDistanceField();
+        int rows = track.getRows();
+        int columns = track.getColumns();
+        int[] moves = new int[rows * columns];
+        Arrays.fill(moves, UNREACHABLE);
+        int[] frontier = new int[16];
+        int size = 0;
+        for (int x = 0; x < rows; x++)
+            for (int y = 0; y < columns; y++) {
+                int distance = distanceField.getDistance(x, y);
+                if (distance == DistanceField.UNREACHABLE || distance > StateSpace.MAX_VELOCITY || !finishes(stateSpace, x, y))
+                    continue;
+                moves[x * columns + y] = 1;
+                if (size == frontier.length)
+                    frontier = Arrays.copyOf(frontier, size * 2);
+                frontier[size++] = x * columns + y;
+            }
+        frontier = Arrays.copyOf(frontier, size);
+        for (int level = 2; frontier.length > 0; level++)
+            frontier = frontier.length < PARALLEL_FRONTIER
+                    ? expand(stateSpace, moves, frontier, 0, frontier.length, level)
+                    : expandParallel(stateSpace, moves, frontier, level);
+        return new MoveField(rows, columns, moves);
+    }
+
+    /**
+     * Returns the least number of moves from a cell to the finish.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return the number of moves, or {@link #UNREACHABLE} if the finish cannot be reached from the cell
+     */
+    public int getMoves(int x, int y) {
+        if (x < 0 || y < 0 || x >= rows || y >= columns)
+            return UNREACHABLE;
+        return moves[x * columns + y];
+    }
+
+    /**
+     * Returns the least number of moves from a cell to the finish.
+     *
+     * @param cell the index of the cell, row-major
+     * @return the number of moves, or {@link #UNREACHABLE} if the finish cannot be reached from the cell
+     */
+    public int getMoves(long cell) {
+        return moves[(int) cell];
+    }
+
+    /**
+     * Checks if a move from a cell can cross the finish.
+     */
+    private static boolean finishes(StateSpace stateSpace, int x, int y) {
+        for (int i = 0; i < OFFSET_X.length; i++)
+            if (stateSpace.isPassableMove(x, y, x + OFFSET_X[i], y + OFFSET_Y[i])
+                    && stateSpace.crossesFinish(x, y, x + OFFSET_X[i], y + OFFSET_Y[i]))
+                return true;
+        return false;
+    }
+
+    /**
+     * Expands a frontier by splitting it in chunks expanded in parallel,
+     * then concatenating the next frontier of every chunk.
+     */
+    private static int[] expandParallel(StateSpace stateSpace, int[] moves, int[] frontier, int level) {
+        int chunks = (frontier.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[][] next = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> next[chunk] = expand(stateSpace, moves, frontier,
+                chunk * CHUNK_SIZE, Math.min(frontier.length, (chunk + 1) * CHUNK_SIZE), level));
+        return Arrays.stream(next).flatMapToInt(Arrays::stream).toArray();
+    }
+
+    /**
+     * Expands a range of the frontier, claiming for the given level every unvisited cell with a move
+     * to a cell of the frontier. Cells are claimed with a compare-and-set, so concurrent expansions never
+     * add a cell twice.
+     *
+     * @return the cells claimed for the level
+     */
+    private static int[] expand(StateSpace stateSpace, int[] moves, int[] frontier, int from, int to, int level) {
+        Track track = stateSpace.getTrack();
+        int columns = track.getColumns();
+        int[] next = new int[Math.max(8, (to - from) * 2)];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int x = frontier[i] / columns;
+            int y = frontier[i] % columns;
+            for (int j = 0; j < OFFSET_X.length; j++) {
+                int previousX = x - OFFSET_X[j];
+                int previousY = y - OFFSET_Y[j];
+                if (!track.isPassable(previousX, previousY))
+                    continue;
+                int cell = previousX * columns + previousY;
+                if (moves[cell] == UNREACHABLE && stateSpace.isPassableMove(previousX, previousY, x, y)
+                        && MOVES.compareAndSet(moves, cell, UNREACHABLE, level)) {
+                    if (size == next.length)
+                        next = Arrays.copyOf(next, size * 2);
+                    next[size++] = cell;
+                }
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+}
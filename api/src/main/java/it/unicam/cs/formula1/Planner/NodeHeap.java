@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of nodes of a {@link StateTable}, ordered by a long priority.
+ * A node can be pushed again with a better priority; the stale entries are skipped by the caller
+ * when they are popped, instead of being moved inside the heap.
+ */
+final class NodeHeap {
+    private int[] nodes;
+    private long[] priorities;
+    private int size;
+
+    /**
+     * Constructs a new empty NodeHeap.
+     *
+     * @param capacity the number of entries the heap holds before growing
+     */
+    NodeHeap(int capacity) {
+        capacity = Math.max(16, capacity);
+        this.nodes = new int[capacity];
+        this.priorities = new long[capacity];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(int node, long priority) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priorities[parent] <= priority)
+                break;
+            nodes[index] = nodes[parent];
+            priorities[index] = priorities[parent];
+            index = parent;
+        }
+        nodes[index] = node;
+        priorities[index] = priority;
+    }
+
+    /**
+     * Removes the entry with the lowest priority and returns its node.
+     */
+    int pop() {
+        int top = nodes[0];
+        int node = nodes[--size];
+        long priority = priorities[size];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && priorities[child + 1] < priorities[child])
+                child++;
+            if (priorities[child] >= priority)
+                break;
+            nodes[index] = nodes[child];
+            priorities[index] = priorities[child];
+            index = child;
+        }
+        nodes[index] = node;
+        priorities[index] = priority;
+        return top;
+    }
+}
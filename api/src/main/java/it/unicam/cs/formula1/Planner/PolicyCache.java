@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import it.unicam.cs.formula1.Track.Track;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A directory of {@link PolicyTable} files, one for every track, so a table is computed once and then mapped
+ * in memory by every later run on the same track instead of being computed again.
+ * The file of a track is named after the hash of the track. A policy file is little-endian and made of a header,
+ * with the magic number, the format version, the hash of the track, the {@link StateSpace#getRulesHash() rules hash},
+ * the size of the track, the number of states and the sweeps of the table, followed by the moves to the finish
+ * of every state as u16 and by the index of the best successor of every state as a byte.
+ * A file written for another track or under other rules is computed again and replaced.
+ */
+public final class PolicyCache {
+    private static final int MAGIC = 0x50543146;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private final Path directory;
+
+    /**
+     * Constructs a policy cache on a directory, which is created when the first table is stored.
+     *
+     * @param directory the directory of the policy files
+     */
+    public PolicyCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the policy table of a state space, mapping it from its file when the file matches the track
+     * and the rules, or computing it and storing it otherwise. Tables too large to be mapped are computed every time.
+     *
+     * @param stateSpace the state space of the track
+     * @return the policy table of the track
+     * @throws IOException if an I/O error occurs reading or writing the file
+     * @throws IllegalArgumentException if the state space has too many states for a table
+     */
+    public PolicyTable get(StateSpace stateSpace) throws IOException {
+        if (stateSpace.size() * Character.BYTES > Integer.MAX_VALUE)
+            return PolicyTable.compute(stateSpace);
+        Path path = getPath(stateSpace.getTrack());
+        if (Files.exists(path)) {
+            PolicyTable table = map(path, stateSpace);
+            if (table != null)
+                return table;
+        }
+        PolicyTable table = PolicyTable.compute(stateSpace);
+        write(path, stateSpace, table);
+        return table;
+    }
+
+    /**
+     * Returns the path of the policy file of a track.
+     *
+     * @param track the track
+     * @return the path of the policy file
+     */
+    public Path getPath(Track track) {
+        return directory.resolve(String.format("%016x.policy", track.getHash()));
+    }
+
+    /**
+     * Maps a policy file, checking its header against the state space.
+     *
+     * @return the policy table, or null if the file was written for another track or under other rules
+     */
+    private static PolicyTable map(Path path, StateSpace stateSpace) throws IOException {
+        int states = (int) stateSpace.size();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_SIZE + 3L * states)
+                return null;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining())
+                if (channel.read(header) < 0)
+                    return null;
+            header.flip();
+            Track track = stateSpace.getTrack();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != track.getHash()
+                    || header.getLong() != StateSpace.getRulesHash() || header.getInt() != track.getRows()
+                    || header.getInt() != track.getColumns() || header.getInt() != states)
+                return null;
+            int sweeps = header.getInt();
+            long valuesSize = (long) states * Character.BYTES;
+            MappedByteBuffer values = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, valuesSize);
+            MappedByteBuffer moves = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + valuesSize, states);
+            return new PolicyTable(stateSpace, values.order(ByteOrder.LITTLE_ENDIAN).asCharBuffer(), moves, sweeps);
+        }
+    }
+
+    /**
+     * Writes a policy file. The table is written to a new temporary file next to the target and then moved over it,
+     * so a process that dies while writing never leaves a partial file behind and concurrent writers never share a file.
+     */
+    private void write(Path path, StateSpace stateSpace, PolicyTable table) throws IOException {
+        Files.createDirectories(directory);
+        Track track = stateSpace.getTrack();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(track.getHash()).putLong(StateSpace.getRulesHash())
+                .putInt(track.getRows()).putInt(track.getColumns()).putInt((int) stateSpace.size())
+                .putInt(table.getSweeps());
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                CharBuffer values = table.getValues();
+                while (values.hasRemaining()) {
+                    while (buffer.remaining() >= Character.BYTES && values.hasRemaining())
+                        buffer.putChar(values.get());
+                    drain(channel, buffer);
+                }
+                ByteBuffer moves = table.getMoveIndexes();
+                while (moves.hasRemaining()) {
+                    int length = Math.min(buffer.remaining(), moves.remaining());
+                    buffer.put(moves.slice().limit(length));
+                    moves.position(moves.position() + length);
+                    drain(channel, buffer);
+                }
+                drain(channel, buffer);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
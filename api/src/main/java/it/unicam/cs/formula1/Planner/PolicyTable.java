@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The best move from every state of a track, computed once by value iteration over the whole {@link StateSpace}
+ * and then looked up in constant time, so one table can be shared by all the bots racing on the track.
+ * For every state the table keeps the least number of moves to the finish and the index, among the successors
+ * of the state, of the first successor on a shortest way to the finish.
+ * <p>
+ * The table takes three bytes for every state of the space, four more while it is computed, and it counts
+ * the moves in 16 bits, so the states more than 65534 moves away from the finish are taken as unable to reach it.
+ */
+public final class PolicyTable implements Planner {
+    /**
+     * Moves of the states from which the finish cannot be reached.
+     */
+    public static final int UNREACHABLE = -1;
+    private static final char UNREACHED = Character.MAX_VALUE;
+    private static final byte NO_MOVE = -1;
+    private final StateSpace stateSpace;
+    private final CharBuffer values;
+    private final ByteBuffer moves;
+    private final int sweeps;
+
+    /**
+     * Constructs a policy table from its values and moves, one for every state of the space,
+     * which are either computed or mapped from a {@link PolicyCache} file.
+     */
+    PolicyTable(StateSpace stateSpace, CharBuffer values, ByteBuffer moves, int sweeps) {
+        this.stateSpace = stateSpace;
+        this.values = values;
+        this.moves = moves;
+        this.sweeps = sweeps;
+    }
+
+    /**
+     * Computes the policy table of a track.
+     *
+     * @param stateSpace the state space of the track
+     * @return the policy table of the track
+     * @throws IllegalArgumentException if the state space has too many states for a table
+     */
+    public static PolicyTable compute(StateSpace stateSpace) {
+        return compute(stateSpace, MoveField.compute(stateSpace));
+    }
+
+    /**
+     * Computes the policy table of a track by value iteration over the states of the cells from which the
+     * {@link MoveField} reaches the finish. The moves of every state are first kept as {@link MoveCodes}, then
+     * a {@link CellSweep} updates the values in place until they settle. A state is only written by the block
+     * of its cell and the values only decrease, so a block reading a value that another block is updating only
+     * delays the convergence. A last sweep picks the moves from the settled values, so the table does not depend
+     * on the scheduling of the blocks.
+     *
+     * @param stateSpace the state space of the track
+     * @param moveField the move field of the track
+     * @return the policy table of the track
+     * @throws IllegalArgumentException if the state space has too many states for a table
+     */
+    public static PolicyTable compute(StateSpace stateSpace, MoveField moveField) {
+        if (stateSpace.size() > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("The track has too many states for a policy table.");
+        int rows = stateSpace.getTrack().getRows();
+        int columns = stateSpace.getTrack().getColumns();
+        int[] cells = IntStream.range(0, rows * columns)
+                .filter(cell -> moveField.getMoves(cell) != MoveField.UNREACHABLE).toArray();
+        MoveCodes codes = MoveCodes.encode(stateSpace, cells, cell -> moveField.getMoves(cell) == 1);
+        char[] values = new char[(int) stateSpace.size()];
+        byte[] moves = new byte[values.length];
+        Arrays.fill(values, UNREACHED);
+        Arrays.fill(moves, NO_MOVE);
+        int sweeps = CellSweep.untilSettled(rows, columns, cells, cell -> update(codes, values, moves, cell, false));
+        CellSweep.forEach(cells, cell -> update(codes, values, moves, cell, true));
+        return new PolicyTable(stateSpace, CharBuffer.wrap(values), ByteBuffer.wrap(moves), sweeps);
+    }
+
+    /**
+     * Updates every state of a cell with the best of its moves, walking the states in the order
+     * of {@link StateSpace#encode} so the previous move and the speed of every state are known without decoding it.
+     *
+     * @return true if a value has changed, false otherwise
+     */
+    private static boolean update(MoveCodes codes, char[] values, byte[] moves, int cell, boolean pickMoves) {
+        boolean changed = false;
+        int state = cell * StateSpace.STATES_PER_CELL;
+        for (int velocityX = -StateSpace.MAX_VELOCITY; velocityX <= StateSpace.MAX_VELOCITY; velocityX++)
+            for (int velocityY = -StateSpace.MAX_VELOCITY; velocityY <= StateSpace.MAX_VELOCITY; velocityY++)
+                for (int speed = 1; speed <= DefaultMovement.MAX_SPEED; speed++, state++) {
+                    int code = codes.getCode(state);
+                    int best = UNREACHED;
+                    byte move = NO_MOVE;
+                    byte ordinal = 0;
+                    for (int bits = code & MoveCodes.MOVES; bits != 0; bits &= bits - 1, ordinal++) {
+                        int bit = Integer.numberOfTrailingZeros(bits);
+                        int value = MoveCodes.crossesFinish(code, bit)
+                                ? 1 : values[codes.successor(cell, velocityX, velocityY, speed, code, bit)] + 1;
+                        if (value < best) {
+                            best = value;
+                            move = ordinal;
+                        }
+                    }
+                    if (best < values[state]) {
+                        values[state] = (char) best;
+                        changed = true;
+                    }
+                    if (pickMoves)
+                        moves[state] = move;
+                }
+        return changed;
+    }
+
+    @Override
+    public StateSpace getStateSpace() {
+        return stateSpace;
+    }
+
+    /**
+     * Returns the least number of moves from a state to the finish.
+     *
+     * @param state the state
+     * @return the number of moves, or {@link #UNREACHABLE} if the finish cannot be reached from the state
+     */
+    public int getMoves(long state) {
+        char value = values.get((int) state);
+        return value == UNREACHED ? UNREACHABLE : value;
+    }
+
+    /**
+     * Returns the next state on a shortest way from a state to the finish.
+     *
+     * @param state the state
+     * @return the next state, or -1 if the finish cannot be reached from the state
+     */
+    public long next(long state) {
+        byte move = moves.get((int) state);
+        if (move == NO_MOVE || values.get((int) state) == UNREACHED)
+            return -1;
+        return stateSpace.successor(state, move);
+    }
+
+    @Override
+    public long[] plan(long state) {
+        int moves = getMoves(state);
+        if (moves == UNREACHABLE)
+            return new long[0];
+        long[] plan = new long[moves + 1];
+        plan[0] = state;
+        for (int i = 1; i <= moves; i++)
+            plan[i] = next(plan[i - 1]);
+        return plan;
+    }
+
+    /**
+     * Returns the number of sweeps the value iteration took to settle, the one that found nothing to update included.
+     *
+     * @return the number of sweeps
+     */
+    public int getSweeps() {
+        return sweeps;
+    }
+
+    /**
+     * Returns the moves to the finish of every state, as stored in the table.
+     */
+    CharBuffer getValues() {
+        return values.duplicate();
+    }
+
+    /**
+     * Returns the index of the best successor of every state, as stored in the table.
+     */
+    ByteBuffer getMoveIndexes() {
+        return moves.duplicate();
+    }
+}
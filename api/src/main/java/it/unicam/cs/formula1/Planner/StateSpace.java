@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Movement.MovementRules;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.NeighbourMasks;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+import it.unicam.cs.formula1.TrackOperation.TrackOperation;
+
+import java.util.List;
+
+/**
+ * The states of a bot on a track and the moves between them, following the rules of
+ * {@link it.unicam.cs.formula1.Bot.DefaultBot} and {@link DefaultMovement}.
+ * A state is the position, the previous move and the speed of a bot, packed in a long.
+ * Where a default bot has no choice or picks a random nearby move, the state space offers every move
+ * the bot could make: accelerating or decelerating from its main point, or moving to any of the nearby cells.
+ * Only the moves that land on a passable cell along a passable segment are offered, so a bot that only makes
+ * these moves never crashes. The moves follow the {@link MovementRules}, which are taken from a {@link DefaultMovement},
+ * so the {@link #getRulesHash() rules hash} covers the movement rules shared with the bots and the bot pools.
+ * <p>
+ * Starting from a bot at rest, every component of the previous move is never larger than the speed,
+ * so the previous moves are kept in the range from {@code -MAX_VELOCITY} to {@code MAX_VELOCITY}.
+ */
+public final class StateSpace {
+    /**
+     * The largest component of the previous move of a state.
+     */
+    public static final int MAX_VELOCITY = DefaultMovement.MAX_SPEED;
+    /**
+     * The largest number of moves from a state.
+     */
+    public static final int MAX_SUCCESSORS = 8;
+    private static final int VELOCITIES = 2 * MAX_VELOCITY + 1;
+    private static final int SPEEDS = DefaultMovement.MAX_SPEED;
+    /**
+     * The number of states of every cell. The states of a cell are consecutive, starting from the cell index
+     * times this number.
+     */
+    public static final int STATES_PER_CELL = VELOCITIES * VELOCITIES * SPEEDS;
+    private final Track track;
+    private final TrackOperation trackOperation;
+    private final NeighbourMasks masks;
+    private final int columns;
+
+    /**
+     * Constructs the state space of a track.
+     *
+     * @param track the track
+     */
+    public StateSpace(Track track) {
+        this.track = track;
+        this.trackOperation = new DefaultTrackOperation(track);
+        this.masks = track.getNeighbourMasks();
+        this.columns = track.getColumns();
+    }
+
+    /**
+     * Returns the number of states of the track, that is the largest state plus one.
+     *
+     * @return the number of states
+     */
+    public long size() {
+        return (long) track.getRows() * columns * STATES_PER_CELL;
+    }
+
+    /**
+     * Checks if a bot with the specified position, previous move and speed has a state in this space.
+     *
+     * @param x the x coordinate of the bot
+     * @param y the y coordinate of the bot
+     * @param velocityX the x component of the previous move of the bot
+     * @param velocityY the y component of the previous move of the bot
+     * @param speed the speed of the bot
+     * @return true if the bot has a state, false otherwise
+     */
+    public boolean contains(int x, int y, int velocityX, int velocityY, int speed) {
+        return x >= 0 && y >= 0 && x < track.getRows() && y < columns
+                && Math.abs(velocityX) <= MAX_VELOCITY && Math.abs(velocityY) <= MAX_VELOCITY
+                && speed >= 1 && speed <= SPEEDS;
+    }
+
+    /**
+     * Packs a position, a previous move and a speed in a state.
+     *
+     * @param x the x coordinate of the bot
+     * @param y the y coordinate of the bot
+     * @param velocityX the x component of the previous move of the bot
+     * @param velocityY the y component of the previous move of the bot
+     * @param speed the speed of the bot
+     * @return the state
+     */
+    public long encode(int x, int y, int velocityX, int velocityY, int speed) {
+        return ((long) x * columns + y) * STATES_PER_CELL
+                + ((velocityX + MAX_VELOCITY) * VELOCITIES + velocityY + MAX_VELOCITY) * SPEEDS + speed - 1;
+    }
+
+    /**
+     * Returns the index of the cell of a state, row-major.
+     *
+     * @param state the state
+     * @return the index of the cell
+     */
+    public long getCell(long state) {
+        return state / STATES_PER_CELL;
+    }
+
+    /**
+     * Returns the x coordinate of a state.
+     *
+     * @param state the state
+     * @return the x coordinate
+     */
+    public int getX(long state) {
+        return (int) (state / STATES_PER_CELL / columns);
+    }
+
+    /**
+     * Returns the y coordinate of a state.
+     *
+     * @param state the state
+     * @return the y coordinate
+     */
+    public int getY(long state) {
+        return (int) (state / STATES_PER_CELL % columns);
+    }
+
+    /**
+     * Returns the x component of the previous move of a state.
+     *
+     * @param state the state
+     * @return the x component of the previous move
+     */
+    public int getVelocityX(long state) {
+        return (int) (state % STATES_PER_CELL) / (VELOCITIES * SPEEDS) - MAX_VELOCITY;
+    }
+
+    /**
+     * Returns the y component of the previous move of a state.
+     *
+     * @param state the state
+     * @return the y component of the previous move
+     */
+    public int getVelocityY(long state) {
+        return (int) (state % STATES_PER_CELL) / SPEEDS % VELOCITIES - MAX_VELOCITY;
+    }
+
+    /**
+     * Returns the speed of a state.
+     *
+     * @param state the state
+     * @return the speed
+     */
+    public int getSpeed(long state) {
+        return (int) (state % SPEEDS) + 1;
+    }
+
+    /**
+     * Checks if the move from a state is a nearby move, taken when the bot is at rest or its main point
+     * is not a valid position.
+     *
+     * @param state the state
+     * @return true if the move from the state is a nearby move, false otherwise
+     */
+    public boolean isNearbyMove(long state) {
+        int velocityX = getVelocityX(state);
+        int velocityY = getVelocityY(state);
+        return MovementRules.isNearbyMove(trackOperation, getX(state), getY(state), velocityX, velocityY);
+    }
+
+    /**
+     * Writes the states reachable in one move from a state.
+     *
+     * @param state the state
+     * @param successors the array on which the states are written, at least {@link #MAX_SUCCESSORS} long
+     * @return the number of states written
+     */
+    public int successors(long state, long[] successors) {
+        long cell = state / STATES_PER_CELL;
+        int rest = (int) (state - cell * STATES_PER_CELL);
+        int x = (int) (cell / columns);
+        int y = (int) (cell - (long) x * columns);
+        int velocityX = rest / (VELOCITIES * SPEEDS) - MAX_VELOCITY;
+        int velocityY = rest / SPEEDS % VELOCITIES - MAX_VELOCITY;
+        int speed = rest % SPEEDS + 1;
+        int mainX = x + velocityX;
+        int mainY = y + velocityY;
+        int count = 0;
+        if (MovementRules.isNearbyMove(trackOperation, x, y, velocityX, velocityY)) {
+            int nextSpeed = MovementRules.deceleratedSpeed(speed);
+            for (int mask = masks.getCommonMask(mainX, mainY, x, y); mask != 0; mask &= mask - 1) {
+                int bit = Integer.numberOfTrailingZeros(mask);
+                int nextX = mainX + NeighbourMasks.DX[bit];
+                int nextY = mainY + NeighbourMasks.DY[bit];
+                if (contains(nextX, nextY, nextX - x, nextY - y, nextSpeed))
+                    successors[count++] = encode(nextX, nextY, nextX - x, nextY - y, nextSpeed);
+            }
+            return count;
+        }
+        int directionX = Integer.signum(velocityX);
+        int directionY = Integer.signum(velocityY);
+        int accelerate = MovementRules.accelerateStep(speed);
+        long accelerated = move(x, y, mainX + accelerate * directionX, mainY + accelerate * directionY,
+                MovementRules.acceleratedSpeed(speed));
+        if (accelerated >= 0)
+            successors[count++] = accelerated;
+        int decelerate = MovementRules.decelerateStep(speed);
+        long decelerated = move(x, y, mainX - decelerate * directionX, mainY - decelerate * directionY,
+                MovementRules.deceleratedSpeed(speed));
+        if (decelerated >= 0)
+            successors[count++] = decelerated;
+        return count;
+    }
+
+    /**
+     * Returns one of the states reachable in one move from a state, without writing the others,
+     * as the state with the same index in {@link #successors}.
+     *
+     * @param state the state
+     * @param index the index of the successor
+     * @return the successor with the specified index, or -1 if the state has fewer successors
+     */
+    public long successor(long state, int index) {
+        long cell = state / STATES_PER_CELL;
+        int rest = (int) (state - cell * STATES_PER_CELL);
+        int x = (int) (cell / columns);
+        int y = (int) (cell - (long) x * columns);
+        int velocityX = rest / (VELOCITIES * SPEEDS) - MAX_VELOCITY;
+        int velocityY = rest / SPEEDS % VELOCITIES - MAX_VELOCITY;
+        int speed = rest % SPEEDS + 1;
+        int mainX = x + velocityX;
+        int mainY = y + velocityY;
+        if (MovementRules.isNearbyMove(trackOperation, x, y, velocityX, velocityY)) {
+            int nextSpeed = MovementRules.deceleratedSpeed(speed);
+            for (int mask = masks.getCommonMask(mainX, mainY, x, y); mask != 0; mask &= mask - 1) {
+                int bit = Integer.numberOfTrailingZeros(mask);
+                int nextX = mainX + NeighbourMasks.DX[bit];
+                int nextY = mainY + NeighbourMasks.DY[bit];
+                if (contains(nextX, nextY, nextX - x, nextY - y, nextSpeed) && index-- == 0)
+                    return encode(nextX, nextY, nextX - x, nextY - y, nextSpeed);
+            }
+            return -1;
+        }
+        int directionX = Integer.signum(velocityX);
+        int directionY = Integer.signum(velocityY);
+        int accelerate = MovementRules.accelerateStep(speed);
+        long accelerated = move(x, y, mainX + accelerate * directionX, mainY + accelerate * directionY,
+                MovementRules.acceleratedSpeed(speed));
+        if (accelerated >= 0 && index-- == 0)
+            return accelerated;
+        int decelerate = MovementRules.decelerateStep(speed);
+        long decelerated = move(x, y, mainX - decelerate * directionX, mainY - decelerate * directionY,
+                MovementRules.deceleratedSpeed(speed));
+        return index == 0 ? decelerated : -1;
+    }
+
+    /**
+     * Returns the state reached with a move from the main point, or -1 if the move leaves the space or is not passable.
+     */
+    private long move(int x, int y, int nextX, int nextY, int nextSpeed) {
+        if (!contains(nextX, nextY, nextX - x, nextY - y, nextSpeed) || !isPassableMove(x, y, nextX, nextY))
+            return -1;
+        return encode(nextX, nextY, nextX - x, nextY - y, nextSpeed);
+    }
+
+    /**
+     * Checks if the move between two states crosses a finish cell, which wins the race.
+     *
+     * @param from the state before the move
+     * @param to the state after the move
+     * @return true if the move crosses the finish, false otherwise
+     */
+    public boolean crossesFinish(long from, long to) {
+        return crossesFinish(getX(from), getY(from), getX(to), getY(to));
+    }
+
+    /**
+     * Checks if a move lands on a passable cell along a passable segment.
+     */
+    boolean isPassableMove(int x, int y, int nextX, int nextY) {
+        return trackOperation.isValidPosition(nextX, nextY) && trackOperation.checkPassableTrack(x, y, nextX, nextY);
+    }
+
+    /**
+     * Checks if a move crosses a finish cell.
+     */
+    boolean crossesFinish(int x, int y, int nextX, int nextY) {
+        return trackOperation.findFinishCrossing(x, y, nextX, nextY) >= 0;
+    }
+
+    /**
+     * Returns a hash of the rules of the state space, that is of every move, and every crossing of the finish,
+     * from every state of a small probe track with walls, start and finish cells. A change that alters a move,
+     * whether in {@link DefaultMovement}, in the track checks or in the state space itself, also changes the hash,
+     * so data derived from a state space can be checked against the rules it was computed with.
+     *
+     * @return the hash of the rules
+     */
+    public static long getRulesHash() {
+        return RulesHash.HASH;
+    }
+
+    /**
+     * Holder of the rules hash, computed on first use.
+     */
+    private static final class RulesHash {
+        private static final int[][] PROBE = {
+                {2, 1, 1, 1, 0, 1, 1, 1, 1, 3},
+                {2, 1, 0, 1, 1, 1, 0, 1, 1, 3},
+                {1, 1, 1, 1, 0, 1, 1, 1, 1, 3},
+                {0, 1, 1, 0, 1, 1, 1, 0, 1, 1},
+                {1, 1, 1, 1, 1, 0, 1, 1, 1, 1},
+                {1, 0, 1, 1, 1, 1, 1, 1, 0, 1},
+                {1, 1, 1, 0, 1, 1, 1, 1, 1, 1}
+        };
+        private static final long HASH = compute();
+
+        private static long compute() {
+            StateSpace stateSpace = new StateSpace(new DefaultTrack(PROBE, List.of(new Position(0, 0), new Position(1, 0)),
+                    List.of(new Position(0, 9), new Position(1, 9), new Position(2, 9))));
+            long[] successors = new long[MAX_SUCCESSORS];
+            long hash = RaceRandom.derive(STATES_PER_CELL, MAX_SUCCESSORS);
+            for (long state = 0; state < stateSpace.size(); state++) {
+                int count = stateSpace.successors(state, successors);
+                hash = RaceRandom.derive(hash, count);
+                for (int i = 0; i < count; i++) {
+                    boolean finishes = stateSpace.crossesFinish(state, successors[i]);
+                    hash = RaceRandom.derive(hash, successors[i] << 1 | (finishes ? 1 : 0));
+                }
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Returns the track of the state space.
+     *
+     * @return the track
+     */
+    public Track getTrack() {
+        return track;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Planner;
+
+import java.util.Arrays;
+
+/**
+ * Table of the states visited by a search.
+ * Every state gets a node, numbered in order of insertion, holding its cost, its parent node and whether it is closed;
+ * the nodes are found by state through an open-addressing hash table of states and node numbers.
+ */
+final class StateTable {
+    private long[] states;
+    private int[] costs;
+    private int[] parents;
+    private boolean[] closed;
+    private long[] slotStates;
+    private int[] slots;
+    private int size;
+
+    /**
+     * Constructs a new empty StateTable.
+     *
+     * @param capacity the number of nodes the table holds before growing
+     */
+    StateTable(int capacity) {
+        capacity = Math.max(16, capacity);
+        this.states = new long[capacity];
+        this.costs = new int[capacity];
+        this.parents = new int[capacity];
+        this.closed = new boolean[capacity];
+        this.slots = new int[Integer.highestOneBit(capacity) << 2];
+        this.slotStates = new long[slots.length];
+    }
+
+    /**
+     * Inserts a state if it is not in the table yet, with a single probe of the hash table.
+     *
+     * @return the node of the state if it was inserted, or the complement of its node if it was already in the table
+     */
+    int insert(long state, int cost, int parent) {
+        if (size == states.length)
+            grow();
+        int mask = slots.length - 1;
+        int slot = hash(state) & mask;
+        for (; slots[slot] != 0; slot = (slot + 1) & mask)
+            if (slotStates[slot] == state)
+                return ~(slots[slot] - 1);
+        int node = size++;
+        states[node] = state;
+        costs[node] = cost;
+        parents[node] = parent;
+        slots[slot] = node + 1;
+        slotStates[slot] = state;
+        return node;
+    }
+
+    long getState(int node) {
+        return states[node];
+    }
+
+    int getCost(int node) {
+        return costs[node];
+    }
+
+    int getParent(int node) {
+        return parents[node];
+    }
+
+    boolean isClosed(int node) {
+        return closed[node];
+    }
+
+    void close(int node) {
+        closed[node] = true;
+    }
+
+    void update(int node, int cost, int parent) {
+        costs[node] = cost;
+        parents[node] = parent;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(int node) {
+        int mask = slots.length - 1;
+        int slot = hash(states[node]) & mask;
+        while (slots[slot] != 0)
+            slot = (slot + 1) & mask;
+        slots[slot] = node + 1;
+        slotStates[slot] = states[node];
+    }
+
+    private void grow() {
+        int capacity = states.length * 2;
+        states = Arrays.copyOf(states, capacity);
+        costs = Arrays.copyOf(costs, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        closed = Arrays.copyOf(closed, capacity);
+        slots = new int[slots.length * 2];
+        slotStates = new long[slots.length];
+        for (int node = 0; node < size; node++)
+            place(node);
+    }
+
+    private static int hash(long state) {
+        return (int) ((state * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+}
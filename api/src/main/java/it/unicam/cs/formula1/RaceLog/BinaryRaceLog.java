@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.RaceLog;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Implementation of the {@link RaceLog} interface writing the binary format described by {@link RaceLogFormat}.
+ * Records are appended to an in-memory buffer; a full buffer is handed to a background thread that writes it to a
+ * {@link FileChannel} while the race fills the next one, so appending never waits for the disk unless all the
+ * buffers are still being written. An error of the background thread is reported by {@link #close()}.
+ */
+public class BinaryRaceLog implements RaceLog {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int BUFFERS = 4;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+    private final FileChannel channel;
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> full;
+    private final Thread writer;
+    private ByteBuffer buffer;
+    private volatile IOException failure;
+    private boolean closed;
+
+    private BinaryRaceLog(FileChannel channel) {
+        this.channel = channel;
+        this.free = new ArrayBlockingQueue<>(BUFFERS);
+        this.full = new ArrayBlockingQueue<>(BUFFERS + 1);
+        for (int i = 1; i < BUFFERS; i++)
+            free.add(ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.writer = new Thread(this::write, "race-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Creates a new race log at the specified path, replacing any existing file.
+     *
+     * @param path the path of the log
+     * @param names the names of the bots of the race, in participant order
+     * @return the new race log
+     * @throws IOException if an I/O error occurs creating the file
+     */
+    public static BinaryRaceLog create(Path path, List<String> names) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = RaceLogFormat.header(names);
+            while (header.hasRemaining())
+                channel.write(header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new BinaryRaceLog(channel);
+    }
+
+    @Override
+    public void append(RaceEvent event, int turn, int bot, int x, int y, int moveX, int moveY, int speed) {
+        if (closed)
+            throw new IllegalStateException("The race log is closed.");
+        if (buffer.remaining() < RaceLogFormat.RECORD_SIZE)
+            handOff();
+        buffer.putInt(event.getCode()).putInt(turn).putInt(bot).putInt(x).putInt(y).putInt(moveX).putInt(moveY).putInt(speed);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (buffer.position() > 0)
+                handOff();
+            full.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the race log.");
+        } finally {
+            channel.close();
+        }
+        if (failure != null)
+            throw failure;
+    }
+
+    /**
+     * Hands the current buffer to the background thread and takes a free one.
+     */
+    private void handOff() {
+        try {
+            full.put(buffer.flip());
+            buffer = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while appending to the race log."));
+        }
+    }
+
+    /**
+     * Body of the background thread: writes the full buffers in order and gives them back.
+     * After an error the buffers are still given back, so the race is never blocked, but nothing else is written.
+     */
+    private void write() {
+        try {
+            while (true) {
+                ByteBuffer next = full.take();
+                if (next == END)
+                    return;
+                try {
+                    while (failure == null && next.hasRemaining())
+                        channel.write(next);
+                } catch (IOException e) {
+                    failure = e;
+                }
+                free.put(next.clear());
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("The race log writer was interrupted.");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.RaceLog;
+
+/**
+ * The kinds of event recorded in a {@link RaceLog}.
+ */
+public enum RaceEvent {
+    /**
+     * The initial state of a bot, before the first turn.
+     */
+    START(0),
+    /**
+     * A regular move of a bot, accelerating or decelerating along its previous move.
+     */
+    MOVE(1),
+    /**
+     * A nearby move of a bot, the deceleration fallback taken when its main point was not reachable.
+     */
+    NEARBY_MOVE(2),
+    /**
+     * The elimination of a bot.
+     */
+    ELIMINATION(3),
+    /**
+     * The win of a bot, recorded after its move.
+     */
+    WIN(4);
+
+    private static final RaceEvent[] EVENTS = values();
+    private final int code;
+
+    RaceEvent(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Returns the code of the event in the binary log.
+     *
+     * @return the code of the event
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the event with the specified code.
+     *
+     * @param code the code of the event
+     * @return the event with the code
+     * @throws IllegalArgumentException if no event has the code
+     */
+    public static RaceEvent fromCode(int code) {
+        if (code < 0 || code >= EVENTS.length)
+            throw new IllegalArgumentException("Unknown race event code " + code + ".");
+        return EVENTS[code];
+    }
+}
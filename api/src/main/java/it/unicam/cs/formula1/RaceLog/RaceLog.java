@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.RaceLog;
+
+import it.unicam.cs.formula1.Bot.Bot;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Append-only log of the events of a race.
+ * Every event is a fixed-width record holding the turn, the index of the bot among the participants of the race
+ * and the state of the bot after the event. Appends are not thread-safe and must come from a single thread.
+ */
+public interface RaceLog extends Closeable {
+
+    /**
+     * Appends an event to the log.
+     *
+     * @param event the kind of event
+     * @param turn the turn of the event
+     * @param bot the index of the bot among the participants of the race
+     * @param x the x coordinate of the bot
+     * @param y the y coordinate of the bot
+     * @param moveX the x component of the previous move of the bot
+     * @param moveY the y component of the previous move of the bot
+     * @param speed the speed of the bot
+     */
+    void append(RaceEvent event, int turn, int bot, int x, int y, int moveX, int moveY, int speed);
+
+    /**
+     * Appends an event to the log with the current state of a bot.
+     *
+     * @param event the kind of event
+     * @param turn the turn of the event
+     * @param index the index of the bot among the participants of the race
+     * @param bot the bot
+     */
+    default void append(RaceEvent event, int turn, int index, Bot bot) {
+        append(event, turn, index, bot.getCurrentX(), bot.getCurrentY(), bot.getPreviousMoveX(), bot.getPreviousMoveY(),
+                bot.getMovement().getSpeed());
+    }
+
+    /**
+     * Writes the pending events and closes the log.
+     *
+     * @throws IOException if an I/O error occurred writing the log
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.RaceLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout of the binary race log.
+ * The file starts with a header, followed by the records of the events in the order in which they were appended.
+ * All the values are little-endian. The header holds:
+ * <ul>
+ *     <li>the magic number and the version of the format</li>
+ *     <li>the number of bots and the offset of the first record</li>
+ *     <li>the name of every bot, as a 16-bit length followed by its UTF-8 bytes</li>
+ * </ul>
+ * Every record is {@link #RECORD_SIZE} bytes: the event code and three bytes of padding, then the turn, the bot,
+ * its position, its previous move and its speed as 32-bit integers.
+ */
+final class RaceLogFormat {
+    static final int MAGIC = 0x474C3146;
+    static final int VERSION = 1;
+    static final int RECORD_SIZE = 32;
+    static final int EVENT = 0;
+    static final int TURN = 4;
+    static final int BOT = 8;
+    static final int X = 12;
+    static final int Y = 16;
+    static final int MOVE_X = 20;
+    static final int MOVE_Y = 24;
+    static final int SPEED = 28;
+    private static final int FIXED_HEADER_SIZE = 16;
+
+    private RaceLogFormat() {
+    }
+
+    /**
+     * Encodes the header of a log with the specified bots.
+     *
+     * @param names the names of the bots
+     * @return the header, ready to be written
+     */
+    static ByteBuffer header(List<String> names) {
+        List<byte[]> encoded = new ArrayList<>(names.size());
+        int size = FIXED_HEADER_SIZE;
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF)
+                throw new IllegalArgumentException("The name of a bot is too long.");
+            encoded.add(bytes);
+            size += Short.BYTES + bytes.length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(names.size()).putInt(size);
+        for (byte[] bytes : encoded)
+            header.putShort((short) bytes.length).put(bytes);
+        return header.flip();
+    }
+
+    /**
+     * Decodes the names of the bots from the header of a log.
+     *
+     * @param buffer the content of the log, little-endian
+     * @return the names of the bots
+     * @throws IOException if the header is not valid
+     */
+    static List<String> readNames(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt(0) != MAGIC)
+                throw new IOException("The file is not a valid race log.");
+            if (buffer.getInt(4) != VERSION)
+                throw new IOException("Unsupported race log version " + buffer.getInt(4) + ".");
+            int bots = buffer.getInt(8);
+            List<String> names = new ArrayList<>(bots);
+            int offset = FIXED_HEADER_SIZE;
+            for (int i = 0; i < bots; i++) {
+                int length = Short.toUnsignedInt(buffer.getShort(offset));
+                byte[] bytes = new byte[length];
+                buffer.get(offset + Short.BYTES, bytes);
+                names.add(new String(bytes, StandardCharsets.UTF_8));
+                offset += Short.BYTES + length;
+            }
+            if (offset != buffer.getInt(12))
+                throw new IOException("The file is not a valid race log.");
+            return names;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("The file is not a valid race log.", e);
+        }
+    }
+
+    /**
+     * Returns the offset of the first record of a log.
+     *
+     * @param buffer the content of the log, little-endian
+     * @return the offset of the first record
+     */
+    static int recordsOffset(ByteBuffer buffer) {
+        return buffer.getInt(12);
+    }
+}
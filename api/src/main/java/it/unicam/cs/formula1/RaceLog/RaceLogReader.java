@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.RaceLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Read-only access to a race log written by {@link BinaryRaceLog}.
+ * The file is memory-mapped and every record is read by its index, so a log can be scanned or searched
+ * without loading it in the heap. A trailing partial record, left by a race that stopped while writing, is ignored.
+ */
+public class RaceLogReader {
+    private final List<String> names;
+    private final ByteBuffer records;
+    private final int size;
+
+    private RaceLogReader(List<String> names, ByteBuffer records) {
+        this.names = List.copyOf(names);
+        this.records = records;
+        this.size = records.capacity() / RaceLogFormat.RECORD_SIZE;
+    }
+
+    /**
+     * Opens a race log.
+     *
+     * @param path the path of the log
+     * @return the reader of the log
+     * @throws IOException if an I/O error occurs reading the file or the file is not a valid race log
+     */
+    public static RaceLogReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("The race log is larger than 2 GB.");
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            List<String> names = RaceLogFormat.readNames(buffer);
+            ByteBuffer records = buffer.slice(RaceLogFormat.recordsOffset(buffer),
+                    buffer.capacity() - RaceLogFormat.recordsOffset(buffer)).order(ByteOrder.LITTLE_ENDIAN);
+            return new RaceLogReader(names, records);
+        }
+    }
+
+    /**
+     * Returns the names of the bots of the race, in participant order.
+     *
+     * @return the names of the bots
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Returns the number of records in the log.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the event of a record.
+     *
+     * @param record the index of the record
+     * @return the event of the record
+     */
+    public RaceEvent getEvent(int record) {
+        return RaceEvent.fromCode(records.getInt(offset(record) + RaceLogFormat.EVENT));
+    }
+
+    /**
+     * Returns the turn of a record.
+     *
+     * @param record the index of the record
+     * @return the turn of the record
+     */
+    public int getTurn(int record) {
+        return records.getInt(offset(record) + RaceLogFormat.TURN);
+    }
+
+    /**
+     * Returns the index of the bot of a record among the participants of the race.
+     *
+     * @param record the index of the record
+     * @return the index of the bot
+     */
+    public int getBot(int record) {
+        return records.getInt(offset(record) + RaceLogFormat.BOT);
+    }
+
+    /**
+     * Returns the x coordinate of the bot of a record.
+     *
+     * @param record the index of the record
+     * @return the x coordinate of the bot
+     */
+    public int getX(int record) {
+        return records.getInt(offset(record) + RaceLogFormat.X);
+    }
+
+    /**
+     * Returns the y coordinate of the bot of a record.
+     *
+     * @param record the index of the record
+     * @return the y coordinate of the bot
+     */
+    public int getY(int record) {
+        return records.getInt(offset(record) + RaceLogFormat.Y);
+    }
+
+    /**
+     * Returns the x component of the previous move of the bot of a record.
+     *
+     * @param record the index of the record
+     * @return the x component of the previous move
+     */
+    public int getMoveX(int record) {
+        return records.getInt(offset(record) + RaceLogFormat.MOVE_X);
+    }
+
+    /**
+     * Returns the y component of the previous move of the bot of a record.
+     *
+     * @param record the index of the record
+     * @return the y component of the previous move
+     */
+    public int getMoveY(int record) {
+        return records.getInt(offset(record) + RaceLogFormat.MOVE_Y);
+    }
+
+    /**
+     * Returns the speed of the bot of a record.
+     *
+     * @param record the index of the record
+     * @return the speed of the bot
+     */
+    public int getSpeed(int record) {
+        return records.getInt(offset(record) + RaceLogFormat.SPEED);
+    }
+
+    private int offset(int record) {
+        if (record < 0 || record >= size)
+            throw new IndexOutOfBoundsException(record);
+        return record * RaceLogFormat.RECORD_SIZE;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seedable random number generator used for every random choice of a race.
+ * It is a SplitMix64 generator, the same algorithm behind {@link java.util.SplittableRandom}, but its whole state
+ * is a single long that can be read and restored, so that a race can be reproduced from its seed.
+ * Instances are not thread-safe: every bot owns its generator, so that no random state is shared between threads.
+ * Every draw reads and writes the state through {@link #getState()} and {@link #setState(long)}, so a subclass
+ * can keep the state elsewhere, such as in the arrays of a bot pool.
+ */
+public class RaceRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private long state;
+
+    /**
+     * Constructs a new RaceRandom with the specified seed.
+     *
+     * @param seed the seed of the generator
+     */
+    public RaceRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Constructs a new RaceRandom with an unpredictable seed.
+     */
+    public RaceRandom() {
+        this(randomSeed());
+    }
+
+    /**
+     * Returns an unpredictable seed, for races that do not need to be reproduced.
+     *
+     * @return a random seed
+     */
+    public static long randomSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Derives the seed of the element with the specified index from a master seed.
+     * The derived seed depends only on the master seed and the index, so it does not depend on the order
+     * in which the elements are created.
+     *
+     * @param masterSeed the master seed
+     * @param index the index of the element, such as a bot or a race
+     * @return the derived seed
+     */
+    public static long derive(long masterSeed, long index) {
+        return mix(masterSeed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns the next pseudorandom long.
+     *
+     * @return the next long
+     */
+    public long nextLong() {
+        long next = nextState(getState());
+        setState(next);
+        return mix(next);
+    }
+
+    /**
+     * Returns the next pseudorandom int between zero (inclusive) and the bound (exclusive).
+     *
+     * @param bound the upper bound, which must be positive
+     * @return the next int in the range
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("The bound must be positive.");
+        long next = nextState(getState());
+        setState(next);
+        return boundedInt(next, bound);
+    }
+
+    /**
+     * Advances a generator state by one step, for callers that keep the states of many generators in a primitive array.
+     *
+     * @param state the current state
+     * @return the next state
+     */
+    public static long nextState(long state) {
+        return state + GOLDEN_GAMMA;
+    }
+
+    /**
+     * Returns the int between zero (inclusive) and the bound (exclusive) drawn from a state just advanced
+     * with {@link #nextState(long)}, so that {@code boundedInt(nextState(s), bound)} gives the same value
+     * as {@link #nextInt(int)} on a generator with state s.
+     *
+     * @param state the advanced state
+     * @param bound the upper bound, which must be positive
+     * @return the int in the range
+     */
+    public static int boundedInt(long state, int bound) {
+        return (int) (((mix(state) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Returns a new generator seeded from this one, to be used independently of it.
+     *
+     * @return the new generator
+     */
+    public RaceRandom split() {
+        return new RaceRandom(nextLong());
+    }
+
+    /**
+     * Returns the current state of the generator.
+     *
+     * @return the state of the generator
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state previously returned by {@link #getState()}.
+     *
+     * @param state the state to restore
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Replay;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.RaceLog.RaceEvent;
+import it.unicam.cs.formula1.RaceLog.RaceLogReader;
+import it.unicam.cs.formula1.Track.Track;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Default implementation of the {@link RaceReplay} interface.
+ * The state of every bot is kept in a flat array, and a copy of the array is taken every few turns while the log
+ * is indexed. Seeking restores the closest snapshot before the turn and applies the records of the turns in between,
+ * so it never replays more than one snapshot interval, whatever the length of the race.
+ */
+public class DefaultRaceReplay implements RaceReplay {
+    /**
+     * The default number of turns between two snapshots.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+    static final int X = 0;
+    static final int Y = 1;
+    static final int MOVE_X = 2;
+    static final int MOVE_Y = 3;
+    static final int SPEED = 4;
+    static final int FLAGS = 5;
+    static final int STRIDE = 6;
+    static final int ELIMINATED = 1;
+    static final int NEARBY_MOVE = 2;
+    private final Track track;
+    private final RaceLogReader log;
+    private final int snapshotInterval;
+    private final List<Bot> participants;
+    private final List<Bot> bots;
+    private final List<Bot> botsView;
+    private final int[] turnStarts;
+    private final int[][] snapshots;
+    private final int[] snapshotWinners;
+    private final int[] state;
+    private int turn;
+    private int winner;
+
+    /**
+     * Constructs a new DefaultRaceReplay with the default snapshot interval.
+     *
+     * @param track the track on which the race was played
+     * @param log the log of the race
+     * @throws IllegalArgumentException if the log is not a valid log of a race
+     */
+    public DefaultRaceReplay(Track track, RaceLogReader log) {
+        this(track, log, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Constructs a new DefaultRaceReplay, taking a snapshot of the race every {@code snapshotInterval} turns.
+     *
+     * @param track the track on which the race was played
+     * @param log the log of the race
+     * @param snapshotInterval the number of turns between two snapshots
+     * @throws IllegalArgumentException if the interval is not positive or the log is not a valid log of a race
+     */
+    public DefaultRaceReplay(Track track, RaceLogReader log, int snapshotInterval) {
+        if (snapshotInterval <= 0)
+            throw new IllegalArgumentException("The snapshot interval must be positive.");
+        this.track = track;
+        this.log = log;
+        this.snapshotInterval = snapshotInterval;
+        List<Bot> participants = new ArrayList<>(log.getNames().size());
+        for (int i = 0; i < log.getNames().size(); i++)
+            participants.add(new ReplayBot(this, i));
+        this.participants = Collections.unmodifiableList(participants);
+        this.bots = new ArrayList<>(participants.size());
+        this.botsView = Collections.unmodifiableList(bots);
+        this.turnStarts = indexTurns(log);
+        int lastTurn = turnStarts.length - 2;
+        this.snapshots = new int[lastTurn / snapshotInterval + 1][];
+        this.snapshotWinners = new int[snapshots.length];
+        this.state = new int[participants.size() * STRIDE];
+        this.winner = -1;
+        for (turn = 0; turn <= lastTurn; turn++) {
+            applyTurn(turn);
+            if (turn % snapshotInterval == 0) {
+                snapshots[turn / snapshotInterval] = state.clone();
+                snapshotWinners[turn / snapshotInterval] = winner;
+            }
+        }
+        seek(0);
+    }
+
+    /**
+     * Finds the first record of every turn, checking that the records are ordered by turn
+     * and refer to bots of the race.
+     */
+    private static int[] indexTurns(RaceLogReader log) {
+        int size = log.size();
+        int lastTurn = size == 0 ? 0 : log.getTurn(size - 1);
+        int[] turnStarts = new int[lastTurn + 2];
+        int turn = 0;
+        for (int record = 0; record < size; record++) {
+            int recordTurn = log.getTurn(record);
+            if (recordTurn < turn)
+                throw new IllegalArgumentException("The race log is not ordered by turn.");
+            if (log.getBot(record) < 0 || log.getBot(record) >= log.getNames().size())
+                throw new IllegalArgumentException("The race log refers to a bot that is not in the race.");
+            while (turn < recordTurn)
+                turnStarts[++turn] = record;
+        }
+        turnStarts[lastTurn + 1] = size;
+        return turnStarts;
+    }
+
+    @Override
+    public int getTurn() {
+        return turn;
+    }
+
+    @Override
+    public int getLastTurn() {
+        return turnStarts.length - 2;
+    }
+
+    @Override
+    public boolean step() {
+        if (turn == getLastTurn())
+            return false;
+        applyTurn(++turn);
+        updateBots();
+        return true;
+    }
+
+    @Override
+    public void seek(int turn) {
+        if (turn < 0 || turn > getLastTurn())
+            throw new IllegalArgumentException("The turn " + turn + " was not recorded.");
+        int snapshot = turn / snapshotInterval;
+        if (this.turn > turn || this.turn < snapshot * snapshotInterval) {
+            System.arraycopy(snapshots[snapshot], 0, state, 0, state.length);
+            winner = snapshotWinners[snapshot];
+            this.turn = snapshot * snapshotInterval;
+        }
+        while (this.turn < turn)
+            applyTurn(++this.turn);
+        updateBots();
+    }
+
+    /**
+     * Applies the records of a turn to the state of the bots.
+     */
+    private void applyTurn(int turn) {
+        for (int record = turnStarts[turn]; record < turnStarts[turn + 1]; record++) {
+            RaceEvent event = log.getEvent(record);
+            if (event == RaceEvent.WIN) {
+                winner = log.getBot(record);
+                continue;
+            }
+            int offset = log.getBot(record) * STRIDE;
+            state[offset + X] = log.getX(record);
+            state[offset + Y] = log.getY(record);
+            state[offset + MOVE_X] = log.getMoveX(record);
+            state[offset + MOVE_Y] = log.getMoveY(record);
+            state[offset + SPEED] = log.getSpeed(record);
+            state[offset + FLAGS] = event == RaceEvent.ELIMINATION ? ELIMINATED
+                    : event == RaceEvent.NEARBY_MOVE ? NEARBY_MOVE : 0;
+        }
+    }
+
+    /**
+     * Rebuilds the list of the bots still in the race.
+     */
+    private void updateBots() {
+        bots.clear();
+        for (int i = 0; i < participants.size(); i++)
+            if ((state[i * STRIDE + FLAGS] & ELIMINATED) == 0)
+                bots.add(participants.get(i));
+    }
+
+    /**
+     * Returns a value of the state of a bot at the current turn.
+     *
+     * @param bot the index of the bot among the participants
+     * @param field the offset of the value in the state of the bot
+     * @return the value
+     */
+    int get(int bot, int field) {
+        return state[bot * STRIDE + field];
+    }
+
+    /**
+     * Returns the name of a bot.
+     *
+     * @param bot the index of the bot among the participants
+     * @return the name of the bot
+     */
+    String getName(int bot) {
+        return log.getNames().get(bot);
+    }
+
+    @Override
+    public Bot getWinner() {
+        return winner < 0 ? null : participants.get(winner);
+    }
+
+    /**
+     * Returns all the bots of the recorded race, including the eliminated ones.
+     *
+     * @return the bots of the race, in participant order
+     */
+    public List<Bot> getParticipants() {
+        return participants;
+    }
+
+    @Override
+    public Track getTrack() {
+        return track;
+    }
+
+    @Override
+    public List<Bot> getBots() {
+        return botsView;
+    }
+}
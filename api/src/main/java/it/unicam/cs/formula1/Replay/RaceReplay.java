@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Replay;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.GameEngine.RaceView;
+
+/**
+ * Represents the replay of a recorded race.
+ * The bots returned by {@link #getBots()} are the bots still in the race at the current turn,
+ * in the same order as in the recorded race, so a replay can be rendered like a live race.
+ */
+public interface RaceReplay extends RaceView {
+
+    /**
+     * Returns the current turn of the replay. Turn 0 is the start of the race.
+     *
+     * @return the current turn
+     */
+    int getTurn();
+
+    /**
+     * Returns the last recorded turn of the race.
+     *
+     * @return the last turn
+     */
+    int getLastTurn();
+
+    /**
+     * Moves the replay to the next turn.
+     *
+     * @return true if the replay moved, false if it was already at the last turn
+     */
+    boolean step();
+
+    /**
+     * Moves the replay to the specified turn, forwards or backwards.
+     *
+     * @param turn the turn to move to
+     * @throws IllegalArgumentException if the turn was not recorded
+     */
+    void seek(int turn);
+
+    /**
+     * Returns the winner of the race, if it has already won at the current turn.
+     *
+     * @return the winning bot, or null if no bot has won yet
+     */
+    Bot getWinner();
+}
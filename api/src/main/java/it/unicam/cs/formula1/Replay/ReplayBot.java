@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Replay;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotState;
+import it.unicam.cs.formula1.Movement.Movement;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+
+/**
+ * A read-only {@link Bot} view of a bot of a {@link DefaultRaceReplay} at the current turn of the replay.
+ * The methods that would change the state of the bot throw {@link UnsupportedOperationException},
+ * since a replay can only move by {@link RaceReplay#step()} and {@link RaceReplay#seek(int)}.
+ *
+ * @param replay The replay holding the state of the bot.
+ * @param index The index of the bot among the participants of the race.
+ */
+record ReplayBot(DefaultRaceReplay replay, int index) implements Bot {
+
+    @Override
+    public void updatePosition(Position direction) {
+        throw new UnsupportedOperationException("A replayed bot cannot be moved.");
+    }
+
+    @Override
+    public void updatePosition(int x, int y) {
+        throw new UnsupportedOperationException("A replayed bot cannot be moved.");
+    }
+
+    @Override
+    public void calculateNextMoves() {
+        throw new UnsupportedOperationException("A replayed bot cannot be moved.");
+    }
+
+    @Override
+    public Position getCurrentPosition() {
+        return new Position(getCurrentX(), getCurrentY());
+    }
+
+    @Override
+    public int getCurrentX() {
+        return replay.get(index, DefaultRaceReplay.X);
+    }
+
+    @Override
+    public int getCurrentY() {
+        return replay.get(index, DefaultRaceReplay.Y);
+    }
+
+    @Override
+    public Position getPreviousMove() {
+        return new Position(getPreviousMoveX(), getPreviousMoveY());
+    }
+
+    @Override
+    public int getPreviousMoveX() {
+        return replay.get(index, DefaultRaceReplay.MOVE_X);
+    }
+
+    @Override
+    public int getPreviousMoveY() {
+        return replay.get(index, DefaultRaceReplay.MOVE_Y);
+    }
+
+    @Override
+    public boolean isNearbyMove() {
+        return (replay.get(index, DefaultRaceReplay.FLAGS) & DefaultRaceReplay.NEARBY_MOVE) != 0;
+    }
+
+    @Override
+    public String getName() {
+        return replay.getName(index);
+    }
+
+    @Override
+    public Movement getMovement() {
+        return new ReplayMovement();
+    }
+
+    /**
+     * The race log does not record the random number generators of the bots, so a replayed bot has none.
+     */
+    @Override
+    public RaceRandom getRandom() {
+        throw new UnsupportedOperationException("The race log does not record the random number generators.");
+    }
+
+    @Override
+    public void isEliminated(boolean eliminated) {
+        throw new UnsupportedOperationException("A replayed bot cannot be eliminated.");
+    }
+
+    @Override
+    public boolean getEliminated() {
+        return (replay.get(index, DefaultRaceReplay.FLAGS) & DefaultRaceReplay.ELIMINATED) != 0;
+    }
+
+    /**
+     * The race log does not record the random number generators of the bots, so the state of a replayed bot is not complete.
+     */
+    @Override
+    public BotState getState() {
+        throw new UnsupportedOperationException("The race log does not record the random number generators.");
+    }
+
+    @Override
+    public void setState(BotState state) {
+        throw new UnsupportedOperationException("A replayed bot cannot be moved.");
+    }
+
+    /**
+     * Read-only {@link Movement} view of the speed of the bot.
+     */
+    private class ReplayMovement implements Movement {
+
+        @Override
+        public Position accelerate(Position mainPoint, Position previousMove) {
+            throw new UnsupportedOperationException("A replayed bot cannot change speed.");
+        }
+
+        @Override
+        public Position decelerate(Position mainPoint, Position previousMove) {
+            throw new UnsupportedOperationException("A replayed bot cannot change speed.");
+        }
+
+        @Override
+        public int accelerate() {
+            throw new UnsupportedOperationException("A replayed bot cannot change speed.");
+        }
+
+        @Override
+        public int decelerate() {
+            throw new UnsupportedOperationException("A replayed bot cannot change speed.");
+        }
+
+        @Override
+        public Position calculateMainPoint(Position actualPosition, Position previousMove) {
+            return new Position(actualPosition.getX() + previousMove.getX(), actualPosition.getY() + previousMove.getY());
+        }
+
+        @Override
+        public int getSpeed() {
+            return replay.get(index, DefaultRaceReplay.SPEED);
+        }
+
+        @Override
+        public void increaseSpeed() {
+            throw new UnsupportedOperationException("A replayed bot cannot change speed.");
+        }
+
+        @Override
+        public void decreaseSpeed() {
+            throw new UnsupportedOperationException("A replayed bot cannot change speed.");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Track;
+
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+
+import java.util.List;
+
+/**
+ * Base class of the {@link Track} implementations.
+ * Holds the start and end positions and the data derived from the cells of the track,
+ * which is computed on first use and then cached with the track.
+ */
+public abstract class AbstractTrack implements Track {
+    private final List<Position> start;
+    private final List<Position> end;
+    private volatile DistanceField distanceField;
+    private volatile NeighbourMasks neighbourMasks;
+    private volatile CellBitmap passableCells;
+    private volatile CellBitmap finishCells;
+    private volatile long hash;
+    private volatile boolean hashed;
+
+    /**
+     * Constructor of AbstractTrack
+     *
+     * @param startPositions the list of starting positions
+     * @param endPositions the list of ending positions
+     */
+    protected AbstractTrack(List<Position> startPositions, List<Position> endPositions) {
+        this.start = List.copyOf(startPositions);
+        this.end = List.copyOf(endPositions);
+    }
+
+    @Override
+    public boolean isPassable(int x, int y) {
+        return getCell(x, y) != WALL;
+    }
+
+    @Override
+    public List<Position> getStartPositions() {
+        return this.start;
+    }
+
+    @Override
+    public List<Position> getEndPositions() {
+        return this.end;
+    }
+
+    @Override
+    public DistanceField getDistanceField() {
+        DistanceField field = distanceField;
+        if (field == null)
+            synchronized (this) {
+                if (distanceField == null)
+                    distanceField = DistanceField.compute(this);
+                field = distanceField;
+            }
+        return field;
+    }
+
+    @Override
+    public NeighbourMasks getNeighbourMasks() {
+        NeighbourMasks masks = neighbourMasks;
+        if (masks == null)
+            synchronized (this) {
+                if (neighbourMasks == null)
+                    neighbourMasks = NeighbourMasks.compute(this);
+                masks = neighbourMasks;
+            }
+        return masks;
+    }
+
+    @Override
+    public CellBitmap getPassableCells() {
+        CellBitmap cells = passableCells;
+        if (cells == null)
+            synchronized (this) {
+                if (passableCells == null)
+                    passableCells = CellBitmap.compute(this, cell -> cell != WALL);
+                cells = passableCells;
+            }
+        return cells;
+    }
+
+    @Override
+    public CellBitmap getFinishCells() {
+        CellBitmap cells = finishCells;
+        if (cells == null)
+            synchronized (this) {
+                if (finishCells == null)
+                    finishCells = CellBitmap.compute(this, cell -> cell == FINISH);
+                cells = finishCells;
+            }
+        return cells;
+    }
+
+    @Override
+    public long getHash() {
+        if (!hashed) {
+            hash = computeHash();
+            hashed = true;
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes the size of the track, its cells packed 32 to a word, and its start and finish positions.
+     * Computing the hash twice on concurrent calls is harmless, since the result is always the same.
+     */
+    private long computeHash() {
+        long hash = RaceRandom.derive(getRows(), getColumns());
+        for (int x = 0; x < getRows(); x++) {
+            long word = 0;
+            for (int y = 0; y < getColumns(); y++) {
+                word = word << 2 | getCell(x, y);
+                if ((y & 31) == 31) {
+                    hash = RaceRandom.derive(hash, word);
+                    word = 0;
+                }
+            }
+            hash = RaceRandom.derive(hash, word);
+        }
+        hash = RaceRandom.derive(hash, start.size());
+        for (Position position : start)
+            hash = RaceRandom.derive(hash, (long) position.getX() << 32 | position.getY() & 0xFFFFFFFFL);
+        hash = RaceRandom.derive(hash, end.size());
+        for (Position position : end)
+            hash = RaceRandom.derive(hash, (long) position.getX() << 32 | position.getY() & 0xFFFFFFFFL);
+        return hash;
+    }
+}
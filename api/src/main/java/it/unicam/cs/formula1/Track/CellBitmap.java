@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Track;
+
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * One bit per cell of a {@link Track}, set for the cells whose value satisfies a filter.
+ * Every row starts on a new word, so a run of cells on the same row is tested with a few word masks.
+ * Cells outside the track are never set.
+ */
+public final class CellBitmap {
+    private static final int PARALLEL_CELLS = 1 << 16;
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    private CellBitmap(int rows, int columns, int wordsPerRow, long[] words) {
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = wordsPerRow;
+        this.words = words;
+    }
+
+    /**
+     * Computes the bitmap of the cells of a track whose value satisfies a filter,
+     * splitting large tracks by rows across cores.
+     *
+     * @param track the track
+     * @param filter the filter on the cell values, such as {@code cell -> cell != Track.WALL}
+     * @return the bitmap of the matching cells
+     */
+    public static CellBitmap compute(Track track, IntPredicate filter) {
+        int rows = track.getRows();
+        int columns = track.getColumns();
+        int wordsPerRow = (columns + Long.SIZE - 1) / Long.SIZE;
+        if ((long) rows * wordsPerRow > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("The track is too large for a cell bitmap.");
+        long[] words = new long[rows * wordsPerRow];
+        IntStream indexes = IntStream.range(0, rows);
+        if ((long) rows * columns >= PARALLEL_CELLS)
+            indexes = indexes.parallel();
+        indexes.forEach(x -> {
+            for (int y = 0; y < columns; y++)
+                if (filter.test(track.getCell(x, y)))
+                    words[x * wordsPerRow + (y >>> 6)] |= 1L << y;
+        });
+        return new CellBitmap(rows, columns, wordsPerRow, words);
+    }
+
+    /**
+     * Checks if the bit of a cell is set.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return true if the cell is inside the track and its bit is set, false otherwise
+     */
+    public boolean get(int x, int y) {
+        if (x < 0 || y < 0 || x >= rows || y >= columns)
+            return false;
+        return (words[x * wordsPerRow + (y >>> 6)] & 1L << y) != 0;
+    }
+
+    /**
+     * Checks if the bits of all the cells of a row between two columns are set.
+     *
+     * @param x the row of the cells
+     * @param fromY the first column, inclusive
+     * @param toY the last column, inclusive, not lower than the first one
+     * @return true if all the cells are inside the track and their bits are set, false otherwise
+     */
+    public boolean allSet(int x, int fromY, int toY) {
+        if (x < 0 || fromY < 0 || x >= rows || toY >= columns)
+            return false;
+        int base = x * wordsPerRow;
+        int fromWord = fromY >>> 6;
+        int toWord = toY >>> 6;
+        long first = -1L << fromY;
+        long last = -1L >>> (63 - (toY & 63));
+        if (fromWord == toWord)
+            return (words[base + fromWord] & first & last) == (first & last);
+        if ((words[base + fromWord] & first) != first || (words[base + toWord] & last) != last)
+            return false;
+        for (int word = fromWord + 1; word < toWord; word++)
+            if (words[base + word] != -1L)
+                return false;
+        return true;
+    }
+
+    /**
+     * Checks if the bit of any cell of a row between two columns is set.
+     *
+     * @param x the row of the cells
+     * @param fromY the first column, inclusive
+     * @param toY the last column, inclusive, not lower than the first one
+     * @return true if at least one of the cells is inside the track and has its bit set, false otherwise
+     */
+    public boolean anySet(int x, int fromY, int toY) {
+        if (x < 0 || x >= rows || toY < 0 || fromY >= columns)
+            return false;
+        fromY = Math.max(fromY, 0);
+        toY = Math.min(toY, columns - 1);
+        int base = x * wordsPerRow;
+        int fromWord = fromY >>> 6;
+        int toWord = toY >>> 6;
+        long first = -1L << fromY;
+        long last = -1L >>> (63 - (toY & 63));
+        if (fromWord == toWord)
+            return (words[base + fromWord] & first & last) != 0;
+        if ((words[base + fromWord] & first) != 0 || (words[base + toWord] & last) != 0)
+            return true;
+        for (int word = fromWord + 1; word < toWord; word++)
+            if (words[base + word] != 0)
+                return true;
+        return false;
+    }
+}
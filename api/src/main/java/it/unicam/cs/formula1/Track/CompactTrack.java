@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Track;
+
+import it.unicam.cs.formula1.Position.Position;
+
+import java.util.List;
+
+/**
+ * Compact implementation of the {@link Track} interface.
+ * Stores every cell in 2 bits, in a flat row-major array of words where each row starts on a new word,
+ * so that large tracks take a sixteenth of the memory of a 2D int array and are scanned sequentially.
+ */
+public class CompactTrack extends PackedTrack {
+    private final long[] cells;
+
+    /**
+     * Constructor of CompactTrack
+     *
+     * @param rows the number of rows of the track
+     * @param columns the number of columns of the track
+     * @param cells the packed cells, as built by {@link #setCell(long[], int, int, int, int)}
+     * @param startPositions the list of starting positions
+     * @param endPositions the list of ending positions
+     */
+    public CompactTrack(int rows, int columns, long[] cells, List<Position> startPositions, List<Position> endPositions) {
+        super(rows, columns, startPositions, endPositions);
+        if (cells.length != (long) rows * wordsPerRow(columns))
+            throw new IllegalArgumentException("The packed cells do not match the size of the track.");
+        this.cells = cells;
+    }
+
+    @Override
+    public long getWord(int index) {
+        return cells[index];
+    }
+}
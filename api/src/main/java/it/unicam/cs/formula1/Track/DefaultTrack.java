@@ -27,16 +27,16 @@ package it.unicam.cs.formula1.Track;
 
 import it.unicam.cs.formula1.Position.Position;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Default implementation of the {@link Track} interface.
  * Represents an immutable track in the game.
  */
-public class DefaultTrack implements Track {
+public class DefaultTrack extends AbstractTrack {
     private final int[][] track;
-    private final List<Position> start;
-    private final List<Position> end;
+    private final int columns;
 
     /**
      * Constructor of DefaultTrack
@@ -46,9 +46,9 @@ public class DefaultTrack implements Track {
      * @param endPositions the list of ending positions
      */
     public DefaultTrack(int[][] trackLayout, List<Position> startPositions, List<Position> endPositions) {
+        super(startPositions, endPositions);
         this.track = trackLayout;
-        this.start = List.copyOf(startPositions);
-        this.end = List.copyOf(endPositions);
+        this.columns = Arrays.stream(trackLayout).mapToInt(row -> row.length).max().orElse(0);
     }
 
     @Override
@@ -57,14 +57,17 @@ public class DefaultTrack implements Track {
     }
 
     @Override
-    public List<Position> getStartPositions() {
-        return this.start;
+    public int getRows() {
+        return track.length;
     }
 
     @Override
-    public List<Position> getEndPositions() {
-        return this.end;
+    public int getColumns() {
+        return columns;
     }
-}
-
 
+    @Override
+    public int getCell(int x, int y) {
+        return x >= 0 && y >= 0 && x < track.length && y < track[x].length ? track[x][y] : WALL;
+    }
+}
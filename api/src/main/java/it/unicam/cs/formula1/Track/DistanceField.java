@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Track;
+
+import it.unicam.cs.formula1.Position.Position;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Distance of every cell of a {@link Track} from the nearest finish position.
+ * The distance is the minimum number of steps between neighbouring passable cells, diagonals included,
+ * so it never exceeds the number of cells a bot has to cross to reach the finish.
+ */
+public final class DistanceField {
+    /**
+     * Distance of the cells from which the finish cannot be reached, walls included.
+     */
+    public static final int UNREACHABLE = -1;
+    private static final int PARALLEL_FRONTIER = 4096;
+    private static final int CHUNK_SIZE = 1024;
+    private static final VarHandle DISTANCES = MethodHandles.arrayElementVarHandle(int[].class);
+    private final int rows;
+    private final int columns;
+    private final IntBuffer distances;
+
+    /**
+     * Constructs a new DistanceField over the specified distances.
+     *
+     * @param rows the number of rows of the track
+     * @param columns the number of columns of the track
+     * @param distances the distance of every cell, row-major
+     */
+    public DistanceField(int rows, int columns, IntBuffer distances) {
+        if (distances.capacity() != (long) rows * columns)
+            throw new IllegalArgumentException("The distances do not match the size of the track.");
+        this.rows = rows;
+        this.columns = columns;
+        this.distances = distances;
+    }
+
+    /**
+     * Computes the distance field of a track with a breadth-first search starting from all the finish positions.
+     * Every level of the search is expanded in parallel when its frontier is large.
+     *
+     * @param track the track
+     * @return the distance field of the track
+     */
+    public static DistanceField compute(Track track) {
+        int rows = track.getRows();
+        int columns = track.getColumns();
+        if ((long) rows * columns > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("The track is too large for a distance field.");
+        int[] distances = new int[rows * columns];
+        Arrays.fill(distances, UNREACHABLE);
+        int[] frontier = new int[track.getEndPositions().size()];
+        int size = 0;
+        for (Position position : track.getEndPositions())
+            if (track.isPassable(position.getX(), position.getY()) && distances[position.getX() * columns + position.getY()] == UNREACHABLE) {
+                distances[position.getX() * columns + position.getY()] = 0;
+                frontier[size++] = position.getX() * columns + position.getY();
+            }
+        frontier = Arrays.copyOf(frontier, size);
+        for (int level = 1; frontier.length > 0; level++)
+            frontier = frontier.length < PARALLEL_FRONTIER
+                    ? expand(track, distances, frontier, 0, frontier.length, level)
+                    : expandParallel(track, distances, frontier, level);
+        return new DistanceField(rows, columns, IntBuffer.wrap(distances));
+    }
+
+    /**
+     * Returns the distance of a cell from the nearest finish position.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return the distance, or {@link #UNREACHABLE} if the finish cannot be reached from the cell
+     */
+    public int getDistance(int x, int y) {
+        if (x < 0 || y < 0 || x >= rows || y >= columns)
+            return UNREACHABLE;
+        return distances.get(x * columns + y);
+    }
+
+    /**
+     * Returns the number of rows of the field.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of the field.
+     *
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the distances of the field, row-major.
+     *
+     * @return a read-only view of the distances
+     */
+    public IntBuffer getDistances() {
+        return distances.asReadOnlyBuffer();
+    }
+
+    /**
+     * Expands a frontier by splitting it in chunks expanded in parallel,
+     * then concatenating the next frontier of every chunk.
+     */
+    private static int[] expandParallel(Track track, int[] distances, int[] frontier, int level) {
+        int chunks = (frontier.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int[][] next = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> next[chunk] = expand(track, distances, frontier,
+                chunk * CHUNK_SIZE, Math.min(frontier.length, (chunk + 1) * CHUNK_SIZE), level));
+        return Arrays.stream(next).flatMapToInt(Arrays::stream).toArray();
+    }
+
+    /**
+     * Expands a range of the frontier, claiming every unvisited passable neighbour for the given level.
+     * Cells are claimed with a compare-and-set, so concurrent expansions never add a cell twice;
+     * a stale plain read only costs a failed compare-and-set.
+     *
+     * @return the cells claimed for the level
+     */
+    private static int[] expand(Track track, int[] distances, int[] frontier, int from, int to, int level) {
+        int columns = track.getColumns();
+        int[] next = new int[Math.max(8, (to - from) * 2)];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int x = frontier[i] / columns;
+            int y = frontier[i] % columns;
+            for (int dx = -1; dx <= 1; dx++)
+                for (int dy = -1; dy <= 1; dy++) {
+                    int nx = x + dx;
+                    int ny = y + dy;
+                    if ((dx == 0 && dy == 0) || !track.isPassable(nx, ny))
+                        continue;
+                    int cell = nx * columns + ny;
+                    if (distances[cell] == UNREACHABLE
+                            && DISTANCES.compareAndSet(distances, cell, UNREACHABLE, level)) {
+                        if (size == next.length)
+                            next = Arrays.copyOf(next, size * 2);
+                        next[size++] = cell;
+                    }
+                }
+        }
+        return Arrays.copyOf(next, size);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Track;
+
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed passable neighbours of every cell of a {@link Track}.
+ * Each cell has an 8-bit mask with a bit set for every passable neighbour, so that the valid moves
+ * around a cell, and the ones shared by two cells, are found with bit operations instead of grid lookups.
+ * Bit i of a mask stands for the neighbour at offset ({@link #DX}[i], {@link #DY}[i]);
+ * the bits follow the order in which the neighbours are scanned by rows and then by columns.
+ */
+public final class NeighbourMasks {
+    /**
+     * Row offset of the neighbour of every bit.
+     */
+    public static final int[] DX = {-1, -1, -1, 0, 0, 1, 1, 1};
+    /**
+     * Column offset of the neighbour of every bit.
+     */
+    public static final int[] DY = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int PARALLEL_CELLS = 1 << 16;
+    private static final int[] ADJACENT = adjacentMasks();
+    private final Track track;
+    private final int rows;
+    private final int columns;
+    private final byte[] masks;
+
+    private NeighbourMasks(Track track, byte[] masks) {
+        this.track = track;
+        this.rows = track.getRows();
+        this.columns = track.getColumns();
+        this.masks = masks;
+    }
+
+    /**
+     * Computes the neighbour masks of every cell of a track, walls included, splitting large tracks by rows across cores.
+     *
+     * @param track the track
+     * @return the neighbour masks of the track
+     */
+    public static NeighbourMasks compute(Track track) {
+        int rows = track.getRows();
+        int columns = track.getColumns();
+        if ((long) rows * columns > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("The track is too large for neighbour masks.");
+        byte[] masks = new byte[rows * columns];
+        IntStream indexes = IntStream.range(0, rows);
+        if ((long) rows * columns >= PARALLEL_CELLS)
+            indexes = indexes.parallel();
+        indexes.forEach(x -> {
+            for (int y = 0; y < columns; y++)
+                masks[x * columns + y] = (byte) scan(track, x, y);
+        });
+        return new NeighbourMasks(track, masks);
+    }
+
+    /**
+     * Returns the mask of the passable neighbours of a cell.
+     * Cells outside the track are scanned on the fly, since they can still have passable neighbours on its border.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return the mask of the passable neighbours
+     */
+    public int getMask(int x, int y) {
+        if (x < 0 || y < 0 || x >= rows || y >= columns)
+            return scan(track, x, y);
+        return masks[x * columns + y] & 0xFF;
+    }
+
+    /**
+     * Returns the mask, relative to the first cell, of the passable cells that are neighbours of both cells,
+     * the two cells themselves excluded.
+     *
+     * @param x1 the row of the first cell
+     * @param y1 the column of the first cell
+     * @param x2 the row of the second cell
+     * @param y2 the column of the second cell
+     * @return the mask of the common neighbours, relative to the first cell
+     */
+    public int getCommonMask(int x1, int y1, int x2, int y2) {
+        int dx = x2 - x1;
+        int dy = y2 - y1;
+        if (dx < -2 || dx > 2 || dy < -2 || dy > 2)
+            return 0;
+        return getMask(x1, y1) & ADJACENT[(dx + 2) * 5 + dy + 2];
+    }
+
+    /**
+     * Returns the index of the n-th set bit of a mask, counting from the lowest bit.
+     *
+     * @param mask the mask
+     * @param n the index of the set bit, lower than the number of set bits
+     * @return the index of the bit, which identifies a neighbour
+     */
+    public static int nthBit(int mask, int n) {
+        for (int i = 0; i < n; i++)
+            mask &= mask - 1;
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Scans the neighbours of a cell on the track.
+     */
+    private static int scan(Track track, int x, int y) {
+        int mask = 0;
+        for (int bit = 0; bit < 8; bit++)
+            if (track.isPassable(x + DX[bit], y + DY[bit]))
+                mask |= 1 << bit;
+        return mask;
+    }
+
+    /**
+     * Builds, for every offset of a second cell within two cells of the first one, the mask of the neighbours
+     * of the first cell that are also neighbours of the second one and are not the second one.
+     */
+    private static int[] adjacentMasks() {
+        int[] adjacent = new int[25];
+        for (int dx = -2; dx <= 2; dx++)
+            for (int dy = -2; dy <= 2; dy++)
+                for (int bit = 0; bit < 8; bit++) {
+                    int distanceX = Math.abs(DX[bit] - dx);
+                    int distanceY = Math.abs(DY[bit] - dy);
+                    if (distanceX <= 1 && distanceY <= 1 && (distanceX != 0 || distanceY != 0))
+                        adjacent[(dx + 2) * 5 + dy + 2] |= 1 << bit;
+                }
+        return adjacent;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Track;
+
+import it.unicam.cs.formula1.Position.Position;
+
+import java.util.List;
+
+/**
+ * Base class of the {@link Track} implementations that store every cell in 2 bits.
+ * The cells are kept row-major in words of 64 bits, each row starting on a new word,
+ * and subclasses only define where the words are stored.
+ */
+public abstract class PackedTrack extends AbstractTrack {
+    /**
+     * Number of cells stored in a word.
+     */
+    public static final int CELLS_PER_WORD = 32;
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+
+    /**
+     * Constructor of PackedTrack
+     *
+     * @param rows the number of rows of the track
+     * @param columns the number of columns of the track
+     * @param startPositions the list of starting positions
+     * @param endPositions the list of ending positions
+     */
+    protected PackedTrack(int rows, int columns, List<Position> startPositions, List<Position> endPositions) {
+        super(startPositions, endPositions);
+        this.rows = rows;
+        this.columns = columns;
+        this.wordsPerRow = wordsPerRow(columns);
+    }
+
+    /**
+     * Returns the number of words used to store a row with the specified number of columns.
+     *
+     * @param columns the number of columns of the row
+     * @return the number of words of the row
+     */
+    public static int wordsPerRow(int columns) {
+        return (columns + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+    }
+
+    /**
+     * Writes the type of a cell into an array of packed cells whose cells are all walls.
+     *
+     * @param cells the packed cells
+     * @param wordsPerRow the number of words of each row
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @param value the type of the cell, between {@link #WALL} and {@link #FINISH}
+     */
+    public static void setCell(long[] cells, int wordsPerRow, int x, int y, int value) {
+        cells[x * wordsPerRow + y / CELLS_PER_WORD] |= (long) value << ((y % CELLS_PER_WORD) << 1);
+    }
+
+    /**
+     * Returns the word of packed cells at the specified index.
+     *
+     * @param index the index of the word, row-major
+     * @return the word of packed cells
+     */
+    public abstract long getWord(int index);
+
+    /**
+     * Returns the number of words used to store each row of the track.
+     *
+     * @return the number of words of each row
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    @Override
+    public int[][] getTrackLayout() {
+        int[][] layout = new int[rows][columns];
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < columns; j++)
+                layout[i][j] = getCell(i, j);
+        return layout;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public int getCell(int x, int y) {
+        if (x < 0 || y < 0 || x >= rows || y >= columns)
+            return WALL;
+        long word = getWord(x * wordsPerRow + y / CELLS_PER_WORD);
+        return (int) (word >>> ((y % CELLS_PER_WORD) << 1)) & 3;
+    }
+}
@@ -32,16 +32,71 @@ import java.util.List;
 /**
  * Represents a track in the game.
  * Provides methods to retrieve the track layout, get start and end positions.
+ * The x coordinate of a position is the row of the track and the y coordinate is the column.
  */
 public interface Track {
 
+    /**
+     * Cell type of a wall, which cannot be crossed.
+     */
+    int WALL = 0;
+
+    /**
+     * Cell type of the road.
+     */
+    int ROAD = 1;
+
+    /**
+     * Cell type of a start position.
+     */
+    int START = 2;
+
+    /**
+     * Cell type of a finish position.
+     */
+    int FINISH = 3;
+
     /**
      * Returns the layout of the track as a 2D array.
+     * Implementations that do not store the track as a 2D array build a new one on every call,
+     * so the cell accessors should be preferred.
      *
      * @return a 2D array representing the track layout
      */
     int[][] getTrackLayout();
 
+    /**
+     * Returns the number of rows of the track.
+     *
+     * @return the number of rows
+     */
+    int getRows();
+
+    /**
+     * Returns the number of columns of the widest row of the track.
+     *
+     * @return the number of columns
+     */
+    int getColumns();
+
+    /**
+     * Returns the type of the cell at the specified coordinates.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return the type of the cell, or {@link #WALL} if the coordinates are outside the track
+     */
+    int getCell(int x, int y);
+
+    /**
+     * Checks if the cell at the specified coordinates can be crossed.
+     *
+     * @param x the row of the cell
+     * @param y the column of the cell
+     * @return true if the coordinates are inside the track and the cell is not a wall, false otherwise
+     */
+    boolean isPassable(int x, int y);
+
     /**
      * Returns the list of start positions on the track.
      *
@@ -55,4 +110,46 @@ public interface Track {
      * @return list of end positions
      */
     List<Position> getEndPositions();
+
+    /**
+     * Returns the distance of every cell of the track from the nearest finish position.
+     * The field is computed on first use and then cached with the track.
+     *
+     * @return the distance field of the track
+     */
+    DistanceField getDistanceField();
+
+    /**
+     * Returns the passable neighbours of every cell of the track.
+     * The masks are computed on first use and then cached with the track.
+     *
+     * @return the neighbour masks of the track
+     */
+    NeighbourMasks getNeighbourMasks();
+
+    /**
+     * Returns the bitmap of the passable cells of the track.
+     * The bitmap is computed on first use and then cached with the track.
+     *
+     * @return the bitmap of the passable cells
+     */
+    CellBitmap getPassableCells();
+
+    /**
+     * Returns the bitmap of the finish cells of the track.
+     * The bitmap is computed on first use and then cached with the track.
+     *
+     * @return the bitmap of the finish cells
+     */
+    CellBitmap getFinishCells();
+
+    /**
+     * Returns a 64-bit hash of the cells and of the start and finish positions of the track.
+     * Tracks with the same layout have the same hash, whatever their implementation,
+     * so the hash can identify a track in the files that depend on it.
+     * The hash is computed on first use and then cached with the track.
+     *
+     * @return the hash of the track
+     */
+    long getHash();
 }
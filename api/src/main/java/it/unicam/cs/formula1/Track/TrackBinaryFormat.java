@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Track;
+
+import it.unicam.cs.formula1.Position.Position;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader and writer of binary track files.
+ * A binary track file is little-endian and made of a header, with the magic number, the format version,
+ * the number of rows and columns and the number of start and finish positions, followed by the start and
+ * finish positions as pairs of ints, and the packed cells of a {@link PackedTrack}.
+ * Since the header and every position take a multiple of 8 bytes, the cells are always aligned to whole words.
+ */
+final class TrackBinaryFormat {
+    private static final int MAGIC = 0x46315452;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+
+    private TrackBinaryFormat() {
+    }
+
+    /**
+     * Writes a track to a binary track file.
+     *
+     * @param track the track to write
+     * @param path the path of the binary file
+     * @throws IOException if an I/O error occurs writing to the file
+     */
+    static void write(PackedTrack track, Path path) throws IOException {
+        List<Position> start = track.getStartPositions();
+        List<Position> end = track.getEndPositions();
+        long words = (long) track.getRows() * track.getWordsPerRow();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(track.getRows()).putInt(track.getColumns())
+                    .putInt(start.size()).putInt(end.size());
+            for (Position position : start)
+                buffer = putPosition(channel, buffer, position);
+            for (Position position : end)
+                buffer = putPosition(channel, buffer, position);
+            for (long i = 0; i < words; i++) {
+                if (buffer.remaining() < Long.BYTES)
+                    flush(channel, buffer);
+                buffer.putLong(track.getWord((int) i));
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Maps a binary track file in memory.
+     *
+     * @param path the path of the binary file
+     * @return the mapped track
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the file is not a valid binary track file
+     */
+    static MappedTrack map(Path path) throws IOException, TrackException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new TrackException("The binary track is larger than 2 GB.");
+            if (size < HEADER_SIZE)
+                throw invalidFile();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC)
+                throw invalidFile();
+            if (buffer.getInt(4) != VERSION)
+                throw new TrackException("Unsupported binary track version " + buffer.getInt(4) + ".");
+            int rows = buffer.getInt(8);
+            int columns = buffer.getInt(12);
+            int startCount = buffer.getInt(16);
+            int endCount = buffer.getInt(20);
+            if (rows < 0 || columns < 0 || startCount < 0 || endCount < 0)
+                throw invalidFile();
+            long cellsOffset = HEADER_SIZE + 8L * (startCount + (long) endCount);
+            long words = (long) rows * PackedTrack.wordsPerRow(columns);
+            if (cellsOffset + words * Long.BYTES != size)
+                throw invalidFile();
+            List<Position> start = readPositions(buffer, HEADER_SIZE, startCount);
+            List<Position> end = readPositions(buffer, HEADER_SIZE + 8 * startCount, endCount);
+            buffer.position((int) cellsOffset);
+            ByteBuffer cells = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+            return new MappedTrack(rows, columns, cells.asLongBuffer(), start, end);
+        }
+    }
+
+    private static ByteBuffer putPosition(FileChannel channel, ByteBuffer buffer, Position position) throws IOException {
+        if (buffer.remaining() < 2 * Integer.BYTES)
+            flush(channel, buffer);
+        return buffer.putInt(position.getX()).putInt(position.getY());
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    private static List<Position> readPositions(ByteBuffer buffer, int offset, int count) {
+        List<Position> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            positions.add(new Position(buffer.getInt(offset + 8 * i), buffer.getInt(offset + 8 * i + 4)));
+        return positions;
+    }
+
+    private static TrackException invalidFile() {
+        return new TrackException("The file is not a valid binary track.");
+    }
+}
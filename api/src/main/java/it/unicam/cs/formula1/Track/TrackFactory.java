@@ -26,14 +26,11 @@
 package it.unicam.cs.formula1.Track;
 
 import it.unicam.cs.formula1.Position.Position;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -43,6 +40,7 @@ public class TrackFactory {
 
     /**
      * Loads a track configuration from a specified file and creates a DefaultTrack object.
+     * The file is streamed row by row instead of being parsed into a JSON tree.
      *
      * @param filePath the path to the track configuration file
      * @return a new DefaultTrack instance representing the loaded track
@@ -50,60 +48,144 @@ public class TrackFactory {
      * @throws IOException if an I/O error occurs reading from the file
      */
     public static DefaultTrack loadTrackFromConfig(String filePath) throws TrackException, IOException {
-        String content = readFileContent(filePath);
-        JSONObject jsonObject = new JSONObject(content);
-        validateJSONContent(jsonObject);
-        Track track = parseTrackLayout(jsonObject.getJSONArray("track"));
+        return loadTrackFromConfig(filePath, false);
+    }
+
+    /**
+     * Loads a track configuration from a specified file and creates a DefaultTrack object,
+     * streaming the file row by row and optionally decoding blocks of rows in parallel.
+     *
+     * @param filePath the path to the track configuration file
+     * @param parallel true to decode blocks of rows on the common fork-join pool while the file is read
+     * @return a new DefaultTrack instance representing the loaded track
+     * @throws TrackException if there is an error with the track configuration
+     * @throws IOException if an I/O error occurs reading from the file
+     */
+    public static DefaultTrack loadTrackFromConfig(String filePath, boolean parallel) throws TrackException, IOException {
+        Path path = Path.of(filePath);
+        if (!Files.exists(path))
+            throw new NoSuchFileException("File not found: " + filePath);
+        DefaultTrack track;
+        try (TrackStreamReader reader = new TrackStreamReader(path)) {
+            track = reader.readLayout(parallel);
+        }
         validatePositions(track.getStartPositions(), track.getEndPositions());
-        return new DefaultTrack(track.getTrackLayout(), track.getStartPositions(), track.getEndPositions());
+        return track;
     }
 
     /**
-     * Parses the JSON array representing a track layout into a DefaultTrack object.
-     * Extracts the track layout, start positions, and end positions from the JSON array.
+     * Loads a track configuration from a specified file and creates a CompactTrack object,
+     * which stores every cell in 2 bits instead of an int.
+     * The file is streamed row by row instead of being parsed into a JSON tree.
      *
-     * @param jsonArray the JSON array containing the track layout data
-     * @return a DefaultTrack instance with initialized layout and positions
+     * @param filePath the path to the track configuration file
+     * @return a new CompactTrack instance representing the loaded track
+     * @throws TrackException if there is an error with the track configuration
+     * @throws IOException if an I/O error occurs reading from the file
      */
-    private static DefaultTrack parseTrackLayout(JSONArray jsonArray) {
-        int[][] trackLayout = new int[jsonArray.length()][];
-        List<Position> startPositions = new ArrayList<>();
-        List<Position> endPositions = new ArrayList<>();
-        for (int i = 0; i < jsonArray.length(); i++) {
-            String row = jsonArray.getString(i);
-            trackLayout[i] = new int[row.length()];
-            for (int j = 0; j < row.length(); j++) {
-                trackLayout[i][j] = Character.getNumericValue(row.charAt(j));
-                if (trackLayout[i][j] == 2) startPositions.add(new Position(i, j));
-                else if (trackLayout[i][j] == 3) endPositions.add(new Position(i, j));
-            }
+    public static CompactTrack loadCompactTrackFromConfig(String filePath) throws TrackException, IOException {
+        return loadCompactTrackFromConfig(filePath, false);
+    }
+
+    /**
+     * Loads a track configuration from a specified file and creates a CompactTrack object,
+     * streaming the file row by row and optionally decoding blocks of rows in parallel.
+     *
+     * @param filePath the path to the track configuration file
+     * @param parallel true to decode blocks of rows on the common fork-join pool while the file is read
+     * @return a new CompactTrack instance representing the loaded track
+     * @throws TrackException if there is an error with the track configuration
+     * @throws IOException if an I/O error occurs reading from the file
+     */
+    public static CompactTrack loadCompactTrackFromConfig(String filePath, boolean parallel) throws TrackException, IOException {
+        Path path = Path.of(filePath);
+        if (!Files.exists(path))
+            throw new NoSuchFileException("File not found: " + filePath);
+        CompactTrack track;
+        try (TrackStreamReader reader = new TrackStreamReader(path)) {
+            track = reader.readTrack(parallel);
         }
-        return new DefaultTrack(trackLayout, startPositions, endPositions);
+        validatePositions(track.getStartPositions(), track.getEndPositions());
+        return track;
     }
 
     /**
-     * Reads the entire content of a file specified by the file path.
+     * Opens a binary track file by mapping it in memory, without parsing its cells.
      *
-     * @param filePath the path to the file to be read
-     * @return the content of the file as a String
-     * @throws IOException if the file does not exist or cannot be read
+     * @param filePath the path to the binary track file
+     * @return a new MappedTrack instance reading the cells from the file
+     * @throws TrackException if the file is not a valid binary track or has no start or finish positions
+     * @throws IOException if an I/O error occurs reading from the file
      */
-    private static String readFileContent(String filePath) throws IOException {
+    public static MappedTrack loadMappedTrack(String filePath) throws TrackException, IOException {
         Path path = Path.of(filePath);
         if (!Files.exists(path))
             throw new NoSuchFileException("File not found: " + filePath);
-        return new String(Files.readAllBytes(path));
+        MappedTrack track = TrackBinaryFormat.map(path);
+        validatePositions(track.getStartPositions(), track.getEndPositions());
+        return track;
+    }
+
+    /**
+     * Writes a track to a binary track file that can be opened with {@link #loadMappedTrack(String)}.
+     *
+     * @param track the track to write
+     * @param filePath the path to the binary track file
+     * @throws TrackException if the track contains cells that are not a wall, road, start or finish
+     * @throws IOException if an I/O error occurs writing to the file
+     */
+    public static void writeBinaryTrack(Track track, String filePath) throws TrackException, IOException {
+        PackedTrack packedTrack = track instanceof PackedTrack packed ? packed : toCompactTrack(track);
+        TrackBinaryFormat.write(packedTrack, Path.of(filePath));
+    }
+
+    /**
+     * Converts a track configuration file into a binary track file.
+     *
+     * @param configPath the path to the track configuration file
+     * @param binaryPath the path to the binary track file
+     * @throws TrackException if there is an error with the track configuration
+     * @throws IOException if an I/O error occurs reading or writing the files
+     */
+    public static void convertConfigToBinary(String configPath, String binaryPath) throws TrackException, IOException {
+        writeBinaryTrack(loadCompactTrackFromConfig(configPath, true), binaryPath);
+    }
+
+    /**
+     * Converts a track into a CompactTrack with the same cells, start positions and end positions.
+     *
+     * @param track the track to convert
+     * @return a new CompactTrack instance equivalent to the given track
+     * @throws TrackException if the track contains cells that are not a wall, road, start or finish
+     */
+    public static CompactTrack toCompactTrack(Track track) throws TrackException {
+        int rows = track.getRows();
+        int columns = track.getColumns();
+        int wordsPerRow = PackedTrack.wordsPerRow(columns);
+        long[] cells = allocateCells(rows, wordsPerRow);
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < columns; j++) {
+                int cell = track.getCell(i, j);
+                if (cell < Track.WALL || cell > Track.FINISH)
+                    throw new TrackException("Invalid cell value " + cell + " at position (" + i + ", " + j + ").");
+                PackedTrack.setCell(cells, wordsPerRow, i, j, cell);
+            }
+        return new CompactTrack(rows, columns, cells, track.getStartPositions(), track.getEndPositions());
     }
 
     /**
-     * Validates that the provided JSON object contains the necessary 'track' key.
+     * Allocates the packed cells of a compact track.
      *
-     * @param jsonObject the JSON object to validate
-     * @throws TrackException if the required key is missing
+     * @param rows the number of rows of the track
+     * @param wordsPerRow the number of words of each row
+     * @return the packed cells, all set to walls
+     * @throws TrackException if the track is too large to be stored in a single array
      */
-    private static void validateJSONContent(JSONObject jsonObject) throws TrackException {
-        if (!jsonObject.has("track"))
-            throw new TrackException("The configuration file does not contain the key 'track'.");
+    static long[] allocateCells(int rows, int wordsPerRow) throws TrackException {
+        long size = (long) rows * wordsPerRow;
+        if (size > Integer.MAX_VALUE - 8)
+            throw new TrackException("The track is too large.");
+        return new long[(int) size];
     }
 
     /**
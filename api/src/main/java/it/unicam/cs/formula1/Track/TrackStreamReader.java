@@ -0,0 +1,565 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.Track;
+
+import it.unicam.cs.formula1.Position.Position;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Streaming reader of track configuration files.
+ * Reads the 'track' array of the configuration row by row without building the JSON tree,
+ * decoding the cells directly from the bytes of the file into a {@link CompactTrack} or a {@link DefaultTrack}.
+ * Rows are decoded in blocks, which can be handed to the common fork-join pool while the file is still being read.
+ */
+final class TrackStreamReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int BLOCK_ROWS = 256;
+    private final Path path;
+    private final byte[] buffer;
+    private InputStream input;
+    private int position;
+    private int limit;
+    private byte[] scratch;
+
+    /**
+     * Opens a reader on the specified file.
+     *
+     * @param path the path to the track configuration file
+     * @throws IOException if the file cannot be opened
+     */
+    TrackStreamReader(Path path) throws IOException {
+        this.path = path;
+        this.input = Files.newInputStream(path);
+        this.buffer = new byte[BUFFER_SIZE];
+        this.scratch = new byte[256];
+    }
+
+    /**
+     * Reads the track contained in the configuration file into a {@link CompactTrack}.
+     * The file is read twice: a first pass finds the number of rows and the widest row without keeping them,
+     * so the packed cells can be allocated once, and a second pass decodes every block of rows straight into them.
+     * Errors in the cells are reported only after the whole array has been read, in row order,
+     * so that the reported error does not depend on whether the rows are decoded in parallel.
+     *
+     * @param parallel true to decode the blocks of rows in parallel, false to decode them on the calling thread
+     * @return the track, not yet validated for the presence of start and finish positions
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the file is not valid or does not contain a valid track
+     */
+    CompactTrack readTrack(boolean parallel) throws IOException, TrackException {
+        seekTrackArray();
+        int rows = 0;
+        int columns = 0;
+        for (int length = readRowLength(); length >= 0; length = readRowLength()) {
+            rows++;
+            columns = Math.max(columns, length);
+        }
+        int rowCount = rows;
+        int width = columns;
+        int wordsPerRow = PackedTrack.wordsPerRow(columns);
+        long[] cells = TrackFactory.allocateCells(rows, wordsPerRow);
+        reopen();
+        seekTrackArray();
+        List<Block> blocks = readBlocks(parallel, (firstRow, block) -> decodePacked(firstRow, block, cells,
+                wordsPerRow, rowCount, width));
+        if (blocks.stream().mapToInt(block -> block.rows()).sum() != rows)
+            throw changed();
+        return new CompactTrack(rows, columns, cells, collect(blocks, Block::startPositions), collect(blocks, Block::endPositions));
+    }
+
+    /**
+     * Reads the track contained in the configuration file into a {@link DefaultTrack}, decoding every row
+     * straight into its own array of cells, so rows keep their own length as in the file.
+     * Cells that are not a wall, road, start or finish are kept as they are, as the JSON tree parser did.
+     *
+     * @param parallel true to decode the blocks of rows in parallel, false to decode them on the calling thread
+     * @return the track, not yet validated for the presence of start and finish positions
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the file is not valid or does not contain a valid track
+     */
+    DefaultTrack readLayout(boolean parallel) throws IOException, TrackException {
+        seekTrackArray();
+        List<int[][]> layouts = new ArrayList<>();
+        List<Block> blocks = readBlocks(parallel, (firstRow, block) -> {
+            int[][] layout = new int[block.size()][];
+            synchronized (layouts) {
+                while (layouts.size() <= firstRow / BLOCK_ROWS)
+                    layouts.add(null);
+                layouts.set(firstRow / BLOCK_ROWS, layout);
+            }
+            return decodeLayout(firstRow, block, layout);
+        });
+        int[][] trackLayout = new int[blocks.stream().mapToInt(Block::rows).sum()][];
+        int x = 0;
+        for (int[][] layout : layouts)
+            for (int[] row : layout)
+                trackLayout[x++] = row;
+        return new DefaultTrack(trackLayout, collect(blocks, Block::startPositions), collect(blocks, Block::endPositions));
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * Reads the rows of the 'track' array, whose value the reader has reached, handing every block of rows
+     * to a decoder on the calling thread or on the common fork-join pool.
+     *
+     * @param parallel true to decode the blocks on the common fork-join pool
+     * @param decoder the decoder of a block of rows
+     * @return the decoded blocks, in row order
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the file is not valid or a block contains an invalid cell
+     */
+    private List<Block> readBlocks(boolean parallel, BlockDecoder decoder) throws IOException, TrackException {
+        List<CompletableFuture<Block>> futures = new ArrayList<>();
+        List<byte[]> rows = new ArrayList<>(BLOCK_ROWS);
+        int rowCount = 0;
+        if (next() != '[')
+            throw new TrackException("The key 'track' is not an array of strings.");
+        boolean empty = peek() == ']';
+        if (empty)
+            next();
+        while (!empty) {
+            if (next() != '"')
+                throw new TrackException("The key 'track' is not an array of strings.");
+            rows.add(readString());
+            rowCount++;
+            if (rows.size() == BLOCK_ROWS) {
+                futures.add(decode(rowCount - BLOCK_ROWS, rows, decoder, parallel));
+                rows = new ArrayList<>(BLOCK_ROWS);
+            }
+            int separator = next();
+            if (separator == ']')
+                break;
+            if (separator != ',')
+                throw malformed();
+        }
+        if (!rows.isEmpty())
+            futures.add(decode(rowCount - rows.size(), rows, decoder, parallel));
+        List<Block> blocks = new ArrayList<>(futures.size());
+        for (CompletableFuture<Block> future : futures) {
+            Block block = future.join();
+            if (block.error() != null)
+                throw block.error();
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    /**
+     * Reads the next row of the 'track' array, whose value the reader has reached, without keeping it.
+     *
+     * @return the number of cells of the row, or -1 after the last row
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the file is not valid
+     */
+    private int readRowLength() throws IOException, TrackException {
+        int character = next();
+        if (character == '[') {
+            if (peek() == ']') {
+                next();
+                return -1;
+            }
+            character = next();
+        } else if (character == ',')
+            character = next();
+        else if (character == ']')
+            return -1;
+        else
+            throw new TrackException("The key 'track' is not an array of strings.");
+        if (character != '"')
+            throw new TrackException("The key 'track' is not an array of strings.");
+        int length = 0;
+        while (true) {
+            if (position == limit && !fill())
+                throw malformed();
+            int next = buffer[position++] & 0xFF;
+            if (next == '"')
+                break;
+            length += next == '\\' ? utf8Length(readEscape()) : 1;
+        }
+        int separator = peek();
+        if (separator != ',' && separator != ']')
+            throw malformed();
+        return length;
+    }
+
+    /**
+     * Reopens the file from its beginning.
+     */
+    private void reopen() throws IOException {
+        input.close();
+        input = Files.newInputStream(path);
+        position = 0;
+        limit = 0;
+    }
+
+    /**
+     * Advances the reader to the value of the top-level 'track' key, skipping every other value.
+     *
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the file is not valid or has no 'track' key
+     */
+    private void seekTrackArray() throws IOException, TrackException {
+        if (next() != '{')
+            throw malformed();
+        if (peek() == '}')
+            throw missingTrack();
+        while (true) {
+            if (next() != '"')
+                throw malformed();
+            String key = new String(readString(), StandardCharsets.UTF_8);
+            if (next() != ':')
+                throw malformed();
+            if (key.equals("track"))
+                return;
+            skipValue();
+            int separator = next();
+            if (separator == '}')
+                throw missingTrack();
+            if (separator != ',')
+                throw malformed();
+        }
+    }
+
+    /**
+     * Skips a JSON value of any type, including nested objects and arrays.
+     *
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the value is not valid
+     */
+    private void skipValue() throws IOException, TrackException {
+        int depth = 0;
+        do {
+            int character = next();
+            switch (character) {
+                case '{', '[' -> depth++;
+                case '}', ']' -> depth--;
+                case '"' -> readString();
+                case ',', ':' -> {
+                    if (depth == 0)
+                        throw malformed();
+                }
+                case -1 -> throw malformed();
+                default -> skipLiteral();
+            }
+        } while (depth > 0);
+        if (depth < 0)
+            throw malformed();
+    }
+
+    /**
+     * Skips the rest of a number or of a true, false or null literal.
+     */
+    private void skipLiteral() throws IOException {
+        while (true) {
+            int character = peekRaw();
+            if (character == -1 || character == ',' || character == '}' || character == ']'
+                    || character == ':' || isWhitespace(character))
+                return;
+            position++;
+        }
+    }
+
+    /**
+     * Reads the rest of a JSON string whose opening quote has already been read, decoding escape sequences.
+     * The bytes of the file are kept as they are and escaped characters are stored in UTF-8, so the string
+     * is the UTF-8 encoding of the JSON string; an escaped lone surrogate is stored as '?'.
+     *
+     * @return the bytes of the string
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the string is not terminated or contains an invalid escape sequence
+     */
+    private byte[] readString() throws IOException, TrackException {
+        int length = 0;
+        while (true) {
+            if (position == limit && !fill())
+                throw malformed();
+            int character = buffer[position++] & 0xFF;
+            if (character == '"')
+                return Arrays.copyOf(scratch, length);
+            if (length + 3 > scratch.length)
+                scratch = Arrays.copyOf(scratch, scratch.length * 2);
+            if (character != '\\') {
+                scratch[length++] = (byte) character;
+                continue;
+            }
+            character = readEscape();
+            switch (utf8Length(character)) {
+                case 1 -> scratch[length++] = (byte) (Character.isSurrogate((char) character) ? '?' : character);
+                case 2 -> {
+                    scratch[length++] = (byte) (0xC0 | character >> 6);
+                    scratch[length++] = (byte) (0x80 | character & 0x3F);
+                }
+                default -> {
+                    scratch[length++] = (byte) (0xE0 | character >> 12);
+                    scratch[length++] = (byte) (0x80 | character >> 6 & 0x3F);
+                    scratch[length++] = (byte) (0x80 | character & 0x3F);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes of an escaped character in a string read by {@link #readString()}.
+     */
+    private static int utf8Length(int character) {
+        if (character < 0x80 || Character.isSurrogate((char) character))
+            return 1;
+        return character < 0x800 ? 2 : 3;
+    }
+
+    /**
+     * Reads the escape sequence following a backslash inside a string.
+     *
+     * @return the escaped character
+     * @throws IOException if an I/O error occurs reading from the file
+     * @throws TrackException if the escape sequence is not valid
+     */
+    private int readEscape() throws IOException, TrackException {
+        int character = nextRaw();
+        return switch (character) {
+            case '"', '\\', '/' -> character;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextRaw(), 16);
+                    if (digit < 0)
+                        throw malformed();
+                    value = value * 16 + digit;
+                }
+                yield value;
+            }
+            default -> throw malformed();
+        };
+    }
+
+    /**
+     * Decodes a block of rows, on the calling thread or on the common fork-join pool.
+     *
+     * @param firstRow the index of the first row of the block
+     * @param rows the raw bytes of the rows
+     * @param decoder the decoder of the block
+     * @param parallel true to decode the block on the common fork-join pool
+     * @return the future result of the decoding
+     */
+    private static CompletableFuture<Block> decode(int firstRow, List<byte[]> rows, BlockDecoder decoder, boolean parallel) {
+        if (parallel)
+            return CompletableFuture.supplyAsync(() -> decoder.decode(firstRow, rows), ForkJoinPool.commonPool());
+        return CompletableFuture.completedFuture(decoder.decode(firstRow, rows));
+    }
+
+    /**
+     * Decodes a block of rows into the packed cells of the whole track, collecting its start and finish positions.
+     * Every row fills its own words, so blocks decoded in parallel never write the same word.
+     * Stops at the first invalid cell, which is recorded in the returned block.
+     *
+     * @param firstRow the index of the first row of the block
+     * @param rows the raw bytes of the rows
+     * @param cells the packed cells of the track
+     * @param wordsPerRow the number of words of each row
+     * @param rowCount the number of rows of the track, as found by the first pass
+     * @param columns the number of columns of the track, as found by the first pass
+     * @return the decoded block
+     */
+    private static Block decodePacked(int firstRow, List<byte[]> rows, long[] cells, int wordsPerRow, int rowCount, int columns) {
+        List<Position> startPositions = new ArrayList<>();
+        List<Position> endPositions = new ArrayList<>();
+        for (int r = 0; r < rows.size(); r++) {
+            byte[] row = rows.get(r);
+            int x = firstRow + r;
+            if (x >= rowCount || row.length > columns)
+                return new Block(0, null, null, changed());
+            for (int y = 0; y < row.length; y++) {
+                int cell = (row[y] & 0xFF) - '0';
+                if (cell < Track.WALL || cell > Track.FINISH)
+                    return new Block(0, null, null, invalidCell(row[y], x, y));
+                PackedTrack.setCell(cells, wordsPerRow, x, y, cell);
+                if (cell == Track.START) startPositions.add(new Position(x, y));
+                else if (cell == Track.FINISH) endPositions.add(new Position(x, y));
+            }
+        }
+        return new Block(rows.size(), startPositions, endPositions, null);
+    }
+
+    /**
+     * Decodes a block of rows into arrays of cells, collecting its start and finish positions.
+     * Every character of a row is decoded with {@link Character#getNumericValue(char)}, so the cells are
+     * the same as those of the JSON tree parser that this loader replaces, and no cell is rejected.
+     *
+     * @param firstRow the index of the first row of the block
+     * @param rows the raw bytes of the rows
+     * @param layout the arrays on which the rows of the block are decoded
+     * @return the decoded block
+     */
+    private static Block decodeLayout(int firstRow, List<byte[]> rows, int[][] layout) {
+        List<Position> startPositions = new ArrayList<>();
+        List<Position> endPositions = new ArrayList<>();
+        for (int r = 0; r < rows.size(); r++) {
+            String row = new String(rows.get(r), StandardCharsets.UTF_8);
+            int x = firstRow + r;
+            layout[r] = new int[row.length()];
+            for (int y = 0; y < row.length(); y++) {
+                int cell = Character.getNumericValue(row.charAt(y));
+                layout[r][y] = cell;
+                if (cell == Track.START) startPositions.add(new Position(x, y));
+                else if (cell == Track.FINISH) endPositions.add(new Position(x, y));
+            }
+        }
+        return new Block(rows.size(), startPositions, endPositions, null);
+    }
+
+    /**
+     * Joins the positions of the blocks, in row order.
+     */
+    private static List<Position> collect(List<Block> blocks, Function<Block, List<Position>> positions) {
+        List<Position> collected = new ArrayList<>();
+        for (Block block : blocks)
+            collected.addAll(positions.apply(block));
+        return collected;
+    }
+
+    /**
+     * Returns the next character that is not whitespace, without consuming it.
+     *
+     * @return the character, or -1 at the end of the file
+     */
+    private int peek() throws IOException {
+        while (true) {
+            int character = peekRaw();
+            if (!isWhitespace(character))
+                return character;
+            position++;
+        }
+    }
+
+    /**
+     * Consumes and returns the next character that is not whitespace.
+     *
+     * @return the character, or -1 at the end of the file
+     */
+    private int next() throws IOException {
+        int character = peek();
+        if (character != -1)
+            position++;
+        return character;
+    }
+
+    /**
+     * Returns the next character, without consuming it.
+     *
+     * @return the character, or -1 at the end of the file
+     */
+    private int peekRaw() throws IOException {
+        if (position == limit && !fill())
+            return -1;
+        return buffer[position] & 0xFF;
+    }
+
+    /**
+     * Consumes and returns the next character.
+     *
+     * @return the character, or -1 at the end of the file
+     */
+    private int nextRaw() throws IOException {
+        int character = peekRaw();
+        if (character != -1)
+            position++;
+        return character;
+    }
+
+    /**
+     * Refills the buffer from the file.
+     *
+     * @return true if new bytes were read, false at the end of the file
+     */
+    private boolean fill() throws IOException {
+        int read = input.read(buffer, 0, buffer.length);
+        if (read <= 0)
+            return false;
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private static boolean isWhitespace(int character) {
+        return character == ' ' || character == '\n' || character == '\r' || character == '\t';
+    }
+
+    private static TrackException missingTrack() {
+        return new TrackException("The configuration file does not contain the key 'track'.");
+    }
+
+    private static TrackException invalidCell(byte character, int x, int y) {
+        return new TrackException("Invalid cell value '" + (char) (character & 0xFF) + "' at position (" + x + ", " + y + ").");
+    }
+
+    private static TrackException changed() {
+        return new TrackException("The configuration file changed while it was being read.");
+    }
+
+    private static TrackException malformed() {
+        return new TrackException("The configuration file is not valid JSON.");
+    }
+
+    /**
+     * Decoder of a block of rows of the 'track' array.
+     */
+    @FunctionalInterface
+    private interface BlockDecoder {
+        Block decode(int firstRow, List<byte[]> rows);
+    }
+
+    /**
+     * Record holding the outcome of a decoded block, or the first error found in it.
+     *
+     * @param rows the number of rows of the block
+     * @param startPositions the start positions found in the block
+     * @param endPositions the finish positions found in the block
+     * @param error the first invalid cell of the block, or null if the block is valid
+     */
+    private record Block(int rows, List<Position> startPositions, List<Position> endPositions, TrackException error) {
+    }
+}
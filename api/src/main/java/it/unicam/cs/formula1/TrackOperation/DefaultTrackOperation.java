@@ -27,52 +27,105 @@ package it.unicam.cs.formula1.TrackOperation;
 
 import it.unicam.cs.formula1.Bot.Bot;
 import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.CellBitmap;
+import it.unicam.cs.formula1.Track.NeighbourMasks;
 import it.unicam.cs.formula1.Track.Track;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Represents a record-based implementation of the {@link TrackOperation} interface.
  * Provide concrete details on how to check and manipulate positions on a {@link Track}.
+ * Holds no state other than the immutable track, so instances on different tracks can be used concurrently.
+ * Short segments are checked against precomputed {@link SegmentStencil}s and the passability bitmap of the track.
  *
  * @param track The track on which operations are performed.
  */
 public record DefaultTrackOperation(Track track) implements TrackOperation {
-    private static int[][] trackLayout;
-
-    /**
-     * Constructs a new DefaultTrackOperation with the specified track.
-     * Initializes the track layout from the provided track.
-     *
-     * @param track the track on which operations are performed
-     */
-    public DefaultTrackOperation(Track track) {
-        this.track = track;
-        trackLayout = track.getTrackLayout();
+    @Override
+    public boolean isValidAndPassable(Position mainPoint, Position mainPoint1, Position mainPoint2) {
+        return isValidAndPassable(mainPoint.getX(), mainPoint.getY(), mainPoint1.getX(), mainPoint1.getY(),
+                mainPoint2.getX(), mainPoint2.getY());
     }
 
     @Override
-    public boolean isValidAndPassable(Position mainPoint, Position mainPoint1, Position mainPoint2) {
-        return isValidPosition(mainPoint) && isValidPosition(mainPoint1) &&
-                checkPassableTrack(mainPoint, mainPoint1) &&
-                checkPassableTrack(mainPoint1, mainPoint2);
+    public boolean isValidAndPassable(int mainX, int mainY, int mainX1, int mainY1, int mainX2, int mainY2) {
+        return isValidPosition(mainX, mainY) && isValidPosition(mainX1, mainY1) &&
+                checkPassableTrack(mainX, mainY, mainX1, mainY1) &&
+                checkPassableTrack(mainX1, mainY1, mainX2, mainY2);
     }
 
     @Override
     public boolean checkPassableTrack(Position start, Position arrive) {
-        int dx = Math.abs(arrive.getX() - start.getX());
-        int dy = -Math.abs(arrive.getY() - start.getY());
-        int sx = Integer.signum(arrive.getX() - start.getX());
-        int sy = Integer.signum(arrive.getY() - start.getY());
+        return checkPassableTrack(start.getX(), start.getY(), arrive.getX(), arrive.getY());
+    }
+
+    @Override
+    public boolean checkPassableTrack(int startX, int startY, int arriveX, int arriveY) {
+        SegmentStencil stencil = SegmentStencil.of(arriveX - startX, arriveY - startY);
+        if (stencil != null)
+            return stencil.allSet(track.getPassableCells(), startX, startY);
+        return traceSegment(startX, startY, arriveX, arriveY);
+    }
+
+    @Override
+    public void checkPassableTracks(int[] startX, int[] startY, int[] arriveX, int[] arriveY, int count, long[] passable) {
+        if (count < 0 || startX.length < count || startY.length < count || arriveX.length < count || arriveY.length < count
+                || passable.length < (count + 63) >>> 6)
+            throw new IllegalArgumentException("The arrays are shorter than the number of segments.");
+        Arrays.fill(passable, 0, (count + 63) >>> 6, 0L);
+        for (int i = 0; i < count; i++)
+            if (checkPassableTrack(startX[i], startY[i], arriveX[i], arriveY[i]))
+                passable[i >>> 6] |= 1L << i;
+    }
+
+    @Override
+    public int findFinishCrossing(int startX, int startY, int arriveX, int arriveY) {
+        SegmentStencil stencil = SegmentStencil.of(arriveX - startX, arriveY - startY);
+        if (stencil != null)
+            return stencil.firstSet(track.getFinishCells(), startX, startY);
+        CellBitmap finishCells = track.getFinishCells();
+        int dx = Math.abs(arriveX - startX);
+        int dy = -Math.abs(arriveY - startY);
+        int sx = Integer.signum(arriveX - startX);
+        int sy = Integer.signum(arriveY - startY);
+        int err = dx + dy;
+        int x = startX;
+        int y = startY;
+        for (int step = 1; x != arriveX || y != arriveY; step++) {
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y += sy;
+            }
+            if (finishCells.get(x, y))
+                return step;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks the segment between two positions cell by cell with Bresenham's algorithm,
+     * for the segments longer than the precomputed stencils.
+     */
+    private boolean traceSegment(int startX, int startY, int arriveX, int arriveY) {
+        int dx = Math.abs(arriveX - startX);
+        int dy = -Math.abs(arriveY - startY);
+        int sx = Integer.signum(arriveX - startX);
+        int sy = Integer.signum(arriveY - startY);
         int err = dx + dy;
-        int x = start.getX();
-        int y = start.getY();
+        int x = startX;
+        int y = startY;
         while (true) {
-            if (!isValidPosition(new Position(x, y)))
+            if (!isValidPosition(x, y))
                 return false;
-            if (x == arrive.getX() && y == arrive.getY())
+            if (x == arriveX && y == arriveY)
                 return true;
             int e2 = 2 * err;
             if (e2 >= dy) {
@@ -88,36 +141,38 @@ public record DefaultTrackOperation(Track track) implements TrackOperation {
 
     @Override
     public List<Position> calculateNearbyMoves(Position position) {
-        List<Position> nearbyMoves = new ArrayList<>(8);
-        for (int dx = -1; dx <= 1; dx++)
-            for (int dy = -1; dy <= 1; dy++){
-                    Position newPoint = new Position(position.getX() + dx, position.getY() + dy);
-                    if (isValidPosition(newPoint))
-                        nearbyMoves.add(newPoint);
-                }
-        nearbyMoves.remove(position);
+        int mask = track.getNeighbourMasks().getMask(position.getX(), position.getY());
+        List<Position> nearbyMoves = new ArrayList<>(Integer.bitCount(mask));
+        for (; mask != 0; mask &= mask - 1) {
+            int bit = Integer.numberOfTrailingZeros(mask);
+            nearbyMoves.add(new Position(position.getX() + NeighbourMasks.DX[bit], position.getY() + NeighbourMasks.DY[bit]));
+        }
         return nearbyMoves;
     }
 
     @Override
     public boolean isValidPosition(Position position) {
-        int x = position.getX();
-        int y = position.getY();
-        return x >= 0 && y >= 0 && x < trackLayout.length && y < trackLayout[x].length && trackLayout[x][y] != 0;
+        return isValidPosition(position.getX(), position.getY());
+    }
+
+    @Override
+    public boolean isValidPosition(int x, int y) {
+        return track.isPassable(x, y);
     }
 
     @Override
     public void executeNearbyMove(Bot bot) {
-        Position currentPosition = bot.getCurrentPosition();
-        Position mainPoint = bot.getMovement().calculateMainPoint(currentPosition, bot.getPreviousMove());
-        List<Position> validMoves = calculateNearbyMoves(mainPoint).stream()
-                .filter(move -> !move.equals(currentPosition) && calculateNearbyMoves(currentPosition).contains(move))
-                .toList();
-        if (validMoves.isEmpty())
+        int currentX = bot.getCurrentX();
+        int currentY = bot.getCurrentY();
+        int mainX = currentX + bot.getPreviousMoveX();
+        int mainY = currentY + bot.getPreviousMoveY();
+        int nearbyMoves = track.getNeighbourMasks().getCommonMask(mainX, mainY, currentX, currentY);
+        if (nearbyMoves == 0)
             bot.isEliminated(true);
         else {
-            bot.getMovement().decelerate(mainPoint, bot.getPreviousMove());
-            bot.updatePosition(validMoves.get(new Random().nextInt(validMoves.size())));
+            bot.getMovement().decelerate();
+            int bit = NeighbourMasks.nthBit(nearbyMoves, bot.getRandom().nextInt(Integer.bitCount(nearbyMoves)));
+            bot.updatePosition(mainX + NeighbourMasks.DX[bit], mainY + NeighbourMasks.DY[bit]);
         }
     }
 }
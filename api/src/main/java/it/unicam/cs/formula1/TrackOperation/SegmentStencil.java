@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1.TrackOperation;
+
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Track.CellBitmap;
+
+import java.util.Arrays;
+
+/**
+ * The cells crossed by a segment with a given offset, as traced by Bresenham's algorithm from the origin.
+ * Since the traced cells depend only on the offset of the segment, the stencils of the short offsets are computed once
+ * and a segment is checked by testing its stencil, grouped in runs of cells on the same row, against a {@link CellBitmap}.
+ */
+final class SegmentStencil {
+    /**
+     * The largest offset, on each axis, with a precomputed stencil.
+     * It covers the moves of a bot at {@link DefaultMovement#MAX_SPEED} and the step that follows them;
+     * longer segments are traced on the fly.
+     */
+    static final int RADIUS = 2 * DefaultMovement.MAX_SPEED;
+    private static final int SIZE = 2 * RADIUS + 1;
+    private static final SegmentStencil[] STENCILS = createStencils();
+    private final int[] rows;
+    private final int[] fromColumns;
+    private final int[] toColumns;
+    private final int[] cellRows;
+    private final int[] cellColumns;
+
+    private SegmentStencil(int[] rows, int[] fromColumns, int[] toColumns, int[] cellRows, int[] cellColumns) {
+        this.rows = rows;
+        this.fromColumns = fromColumns;
+        this.toColumns = toColumns;
+        this.cellRows = cellRows;
+        this.cellColumns = cellColumns;
+    }
+
+    /**
+     * Returns the precomputed stencil of an offset.
+     *
+     * @param dx the row offset of the segment
+     * @param dy the column offset of the segment
+     * @return the stencil of the offset, or null if the offset is longer than {@link #RADIUS}
+     */
+    static SegmentStencil of(int dx, int dy) {
+        if (dx < -RADIUS || dx > RADIUS || dy < -RADIUS || dy > RADIUS)
+            return null;
+        return STENCILS[(dx + RADIUS) * SIZE + dy + RADIUS];
+    }
+
+    /**
+     * Checks if all the cells of the stencil, placed at the start of a segment, are set in a bitmap.
+     *
+     * @param cells the bitmap of the cells
+     * @param startX the row of the start of the segment
+     * @param startY the column of the start of the segment
+     * @return true if all the cells crossed by the segment are set, false otherwise
+     */
+    boolean allSet(CellBitmap cells, int startX, int startY) {
+        for (int i = 0; i < rows.length; i++)
+            if (!cells.allSet(startX + rows[i], startY + fromColumns[i], startY + toColumns[i]))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the first cell of the stencil after the start, in the order in which the segment crosses them,
+     * that is set in a bitmap. The runs are tested first, so segments crossing no set cell are rejected with word masks.
+     *
+     * @param cells the bitmap of the cells
+     * @param startX the row of the start of the segment
+     * @param startY the column of the start of the segment
+     * @return the step of the segment at which it enters the first set cell, from 1 to the length of the segment, or -1 if none is set
+     */
+    int firstSet(CellBitmap cells, int startX, int startY) {
+        boolean any = false;
+        for (int i = 0; i < rows.length && !any; i++)
+            any = cells.anySet(startX + rows[i], startY + fromColumns[i], startY + toColumns[i]);
+        if (!any)
+            return -1;
+        for (int step = 1; step < cellRows.length; step++)
+            if (cells.get(startX + cellRows[step], startY + cellColumns[step]))
+                return step;
+        return -1;
+    }
+
+    private static SegmentStencil[] createStencils() {
+        SegmentStencil[] stencils = new SegmentStencil[SIZE * SIZE];
+        for (int dx = -RADIUS; dx <= RADIUS; dx++)
+            for (int dy = -RADIUS; dy <= RADIUS; dy++)
+                stencils[(dx + RADIUS) * SIZE + dy + RADIUS] = trace(dx, dy);
+        return stencils;
+    }
+
+    /**
+     * Traces the segment from the origin to an offset, merging the consecutive cells on the same row in a single run.
+     * A Bresenham line moves by at most one row and one column per step, so the cells of a row are always contiguous,
+     * and it enters a new cell at every step, so the segment crosses one more cell than its length.
+     */
+    private static SegmentStencil trace(int arriveX, int arriveY) {
+        int length = Math.max(Math.abs(arriveX), Math.abs(arriveY)) + 1;
+        int[] cellRows = new int[length];
+        int[] cellColumns = new int[length];
+        int cell = 0;
+        int[] rows = new int[length];
+        int[] fromColumns = new int[length];
+        int[] toColumns = new int[length];
+        int runs = 0;
+        int dx = Math.abs(arriveX);
+        int dy = -Math.abs(arriveY);
+        int sx = Integer.signum(arriveX);
+        int sy = Integer.signum(arriveY);
+        int err = dx + dy;
+        int x = 0;
+        int y = 0;
+        while (true) {
+            cellRows[cell] = x;
+            cellColumns[cell++] = y;
+            if (runs > 0 && rows[runs - 1] == x) {
+                fromColumns[runs - 1] = Math.min(fromColumns[runs - 1], y);
+                toColumns[runs - 1] = Math.max(toColumns[runs - 1], y);
+            } else {
+                rows[runs] = x;
+                fromColumns[runs] = y;
+                toColumns[runs] = y;
+                runs++;
+            }
+            if (x == arriveX && y == arriveY)
+                break;
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y += sy;
+            }
+        }
+        return new SegmentStencil(Arrays.copyOf(rows, runs), Arrays.copyOf(fromColumns, runs),
+                Arrays.copyOf(toColumns, runs), cellRows, cellColumns);
+    }
+}
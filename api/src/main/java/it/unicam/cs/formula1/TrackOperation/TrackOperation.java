@@ -46,6 +46,20 @@ public interface TrackOperation {
      */
     boolean isValidAndPassable(Position mainPoint, Position mainPoint1, Position mainPoint2);
 
+    /**
+     * Checks if the specified positions are valid and if the tracks between them are passable.
+     * Allocation-free variant of {@link #isValidAndPassable(Position, Position, Position)}.
+     *
+     * @param mainX  the x coordinate of the main position
+     * @param mainY  the y coordinate of the main position
+     * @param mainX1 the x coordinate of the first subsequent position
+     * @param mainY1 the y coordinate of the first subsequent position
+     * @param mainX2 the x coordinate of the second subsequent position
+     * @param mainY2 the y coordinate of the second subsequent position
+     * @return true if all positions are valid and the tracks between them are passable, false otherwise
+     */
+    boolean isValidAndPassable(int mainX, int mainY, int mainX1, int mainY1, int mainX2, int mainY2);
+
     /**
      * Checks if a track between two positions is passable.
      * This method uses Bresenham's line algorithm to determine the passability of the track.
@@ -56,6 +70,46 @@ public interface TrackOperation {
      */
     boolean checkPassableTrack(Position start, Position arrive);
 
+    /**
+     * Checks if a track between two positions is passable.
+     * Allocation-free variant of {@link #checkPassableTrack(Position, Position)}.
+     *
+     * @param startX  the x coordinate of the starting position
+     * @param startY  the y coordinate of the starting position
+     * @param arriveX the x coordinate of the ending position
+     * @param arriveY the y coordinate of the ending position
+     * @return true if the track between start and arrive is passable, false otherwise
+     */
+    boolean checkPassableTrack(int startX, int startY, int arriveX, int arriveY);
+
+    /**
+     * Checks many tracks between pairs of positions at once, with the same result as
+     * {@link #checkPassableTrack(int, int, int, int)} for every pair.
+     * The result is a bit mask: the bit of pair i is bit {@code i % 64} of {@code passable[i / 64]}.
+     *
+     * @param startX   the x coordinates of the starting positions
+     * @param startY   the y coordinates of the starting positions
+     * @param arriveX  the x coordinates of the ending positions
+     * @param arriveY  the y coordinates of the ending positions
+     * @param count    the number of pairs to check
+     * @param passable the mask to fill, with at least {@code (count + 63) / 64} words
+     */
+    void checkPassableTracks(int[] startX, int[] startY, int[] arriveX, int[] arriveY, int count, long[] passable);
+
+    /**
+     * Finds the first finish cell crossed by the track between two positions, the starting position excluded.
+     * The track is traced with the same cells as {@link #checkPassableTrack(int, int, int, int)}, and it enters a new
+     * cell at every step, so the step divided by the length of the track, the larger of its offsets, is the fraction
+     * of the move at which the finish is crossed.
+     *
+     * @param startX  the x coordinate of the starting position
+     * @param startY  the y coordinate of the starting position
+     * @param arriveX the x coordinate of the ending position
+     * @param arriveY the y coordinate of the ending position
+     * @return the step at which the track enters the first finish cell, from 1 to the length of the track, or -1 if it crosses none
+     */
+    int findFinishCrossing(int startX, int startY, int arriveX, int arriveY);
+
     /**
      * Calculates and returns a list of valid nearby positions to the specified position.
      *
@@ -72,6 +126,16 @@ public interface TrackOperation {
      */
     boolean isValidPosition(Position position);
 
+    /**
+     * Checks if the specified coordinates are a valid position within the track.
+     * Allocation-free variant of {@link #isValidPosition(Position)}.
+     *
+     * @param x the x coordinate to check
+     * @param y the y coordinate to check
+     * @return true if the position is within the track limits and not marked as invalid, false otherwise
+     */
+    boolean isValidPosition(int x, int y);
+
     /**
      * Executes a nearby move for the specified bot if the main point is not valid or if the bot is
      * unable to move directly to a valid position
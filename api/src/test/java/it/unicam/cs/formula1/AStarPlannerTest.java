@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.Bot.BotState;
+import it.unicam.cs.formula1.Bot.PlannerBot;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Planner.AStarPlanner;
+import it.unicam.cs.formula1.Planner.Planner;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AStarPlannerTest {
+
+    @Test
+    void testPlanIsShortest() {
+        for (long seed = 0; seed < 10; seed++) {
+            Track track = StateSpaceTest.randomTrack(25, 25, 0.25, seed);
+            StateSpace stateSpace = new StateSpace(track);
+            long start = stateSpace.encode(0, 0, 0, 0, 1);
+            long[] plan = new AStarPlanner(stateSpace).plan(start);
+            int shortest = breadthFirstMoves(stateSpace, start);
+            assertEquals(shortest, plan.length - 1);
+            if (plan.length > 0)
+                StateSpaceTest.assertValidPlan(stateSpace, plan);
+        }
+    }
+
+    @Test
+    void testPlanLargeTrack() {
+        Track track = StateSpaceTest.randomTrack(200, 200, 0.2, 7);
+        StateSpace stateSpace = new StateSpace(track);
+        track.getDistanceField();
+        long[] plan = new AStarPlanner(stateSpace).plan(stateSpace.encode(0, 0, 0, 0, 1));
+        assertTrue(plan.length > 1);
+        StateSpaceTest.assertValidPlan(stateSpace, plan);
+    }
+
+    @Test
+    void testPlannerBotWins() throws BotException {
+        Track track = StateSpaceTest.randomTrack(40, 40, 0.2, 5);
+        List<Bot> bots = BotFactory.createPlannerBots(List.of("Bot1"), track, 1);
+        PlannerBot bot = (PlannerBot) bots.get(0);
+        RaceResult result = new DefaultGameEngine(track, bots).runToCompletion(1000);
+        assertSame(bot, result.winner());
+        assertEquals(bot.getPlan().length - 1, result.turns());
+        assertTrue(result.eliminatedBots().isEmpty());
+    }
+
+    @Test
+    void testPlannerBotDoesNotRepeatFailedSearch() {
+        Track track = StateSpaceTest.randomTrack(25, 25, 0.25, 3);
+        StateSpace stateSpace = new StateSpace(track);
+        int[] searches = new int[1];
+        Planner planner = new Planner() {
+            @Override
+            public StateSpace getStateSpace() {
+                return stateSpace;
+            }
+
+            @Override
+            public long[] plan(long state) {
+                searches[0]++;
+                return new long[0];
+            }
+        };
+        PlannerBot bot = new PlannerBot("Bot1", track.getStartPositions().get(0), new DefaultMovement(),
+                new DefaultTrackOperation(track), new RaceRandom(1), planner);
+        BotState start = bot.getState();
+        bot.calculateNextMoves();
+        bot.setState(start);
+        bot.calculateNextMoves();
+        assertEquals(1, searches[0]);
+        bot.setState(new BotState(start.x(), start.y(), start.previousMoveX(), start.previousMoveY(), start.speed() + 1,
+                start.nearbyMove(), false, start.randomState()));
+        bot.calculateNextMoves();
+        assertEquals(2, searches[0]);
+    }
+
+    /**
+     * Returns the least number of moves from a state to the finish, or -1 if it cannot be reached.
+     */
+    private static int breadthFirstMoves(StateSpace stateSpace, long start) {
+        Map<Long, Integer> moves = new HashMap<>();
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+        moves.put(start, 0);
+        queue.add(start);
+        long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+        while (!queue.isEmpty()) {
+            long state = queue.poll();
+            int count = stateSpace.successors(state, successors);
+            for (int i = 0; i < count; i++) {
+                if (stateSpace.crossesFinish(state, successors[i]))
+                    return moves.get(state) + 1;
+                if (moves.putIfAbsent(successors[i], moves.get(state) + 1) == null)
+                    queue.add(successors[i]);
+            }
+        }
+        return -1;
+    }
+}
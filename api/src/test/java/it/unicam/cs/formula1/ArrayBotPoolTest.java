@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.BotPool.ArrayBotPool;
+import it.unicam.cs.formula1.BotPool.BotPool;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayBotPoolTest {
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        int[][] trackLayout = {
+                {2, 1, 1, 1, 1, 1, 1, 1},
+                {1, 1, 0, 1, 1, 0, 1, 1},
+                {2, 1, 1, 1, 0, 1, 1, 1},
+                {1, 0, 1, 1, 1, 1, 1, 3}
+        };
+        track = new DefaultTrack(trackLayout, List.of(new Position(0, 0), new Position(2, 0)), List.of(new Position(3, 7)));
+    }
+
+    @Test
+    void testInitialState() throws BotException {
+        BotPool pool = new ArrayBotPool(track, BotPool.numberedNames(5), 1);
+        assertEquals(5, pool.size());
+        assertEquals("Bot3", pool.getName(2));
+        assertEquals(2, pool.getX(3));
+        assertEquals(0, pool.getY(3));
+        assertEquals(0, pool.getX(4));
+        assertEquals(1, pool.getSpeed(0));
+        assertFalse(pool.isEliminated(0));
+        assertEquals(new Position(2, 0), pool.getBot(1).getCurrentPosition());
+        assertEquals(pool.getBot(1), pool.getBot(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> pool.getBot(5));
+    }
+
+    @Test
+    void testMovesLikeDefaultBots() throws BotException {
+        List<String> names = List.of("Bot1", "Bot2");
+        for (long seed = 0; seed < 50; seed++) {
+            BotPool pool = new ArrayBotPool(track, names, seed);
+            List<Bot> bots = BotFactory.createBots(names, track, seed);
+            for (int turn = 0; turn < 30; turn++)
+                for (int i = 0; i < bots.size(); i++) {
+                    Bot bot = bots.get(i);
+                    if (bot.getEliminated())
+                        continue;
+                    bot.calculateNextMoves();
+                    pool.calculateNextMove(i);
+                    assertEquals(bot.getCurrentX(), pool.getX(i));
+                    assertEquals(bot.getCurrentY(), pool.getY(i));
+                    assertEquals(bot.getPreviousMoveX(), pool.getPreviousMoveX(i));
+                    assertEquals(bot.getPreviousMoveY(), pool.getPreviousMoveY(i));
+                    assertEquals(bot.getEliminated(), pool.isEliminated(i));
+                }
+        }
+    }
+
+    @Test
+    void testBotView() throws BotException {
+        BotPool pool = new ArrayBotPool(track, List.of("Bot1"), 3);
+        Bot bot = pool.getBot(0);
+        bot.updatePosition(new Position(1, 1));
+        assertEquals(1, pool.getX(0));
+        assertEquals(1, pool.getPreviousMoveY(0));
+        assertEquals(1, bot.getMovement().accelerate());
+        assertEquals(2, pool.getSpeed(0));
+        bot.isEliminated(true);
+        assertTrue(pool.isEliminated(0));
+    }
+
+    @Test
+    void testBotViewNearbyMoveAdvancesRandom() throws BotException {
+        BotPool pool = new ArrayBotPool(track, List.of("Bot1"), 3);
+        Bot expected = BotFactory.createBots(List.of("Bot1"), track, 3).get(0);
+        Bot bot = pool.getBot(0);
+        long randomState = pool.getRandomState(0);
+        new DefaultTrackOperation(track).executeNearbyMove(bot);
+        new DefaultTrackOperation(track).executeNearbyMove(expected);
+        assertNotEquals(randomState, pool.getRandomState(0));
+        assertEquals(expected.getRandom().getState(), pool.getRandomState(0));
+        assertEquals(expected.getCurrentPosition(), bot.getCurrentPosition());
+    }
+
+    @Test
+    void testNoStartPositions() {
+        Track empty = new DefaultTrack(new int[][]{{1, 3}}, List.of(), List.of(new Position(0, 1)));
+        assertThrows(BotException.class, () -> new ArrayBotPool(empty, List.of("Bot1"), 0));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.RaceLog.BinaryRaceLog;
+import it.unicam.cs.formula1.RaceLog.RaceEvent;
+import it.unicam.cs.formula1.RaceLog.RaceLogReader;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryRaceLogTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Path path = Files.createTempFile("race", ".log");
+        try {
+            try (BinaryRaceLog log = BinaryRaceLog.create(path, List.of("Bot1", "B\u00f2t2"))) {
+                log.append(RaceEvent.START, 0, 0, 1, 2, 0, 0, 0);
+                log.append(RaceEvent.NEARBY_MOVE, 1, 1, 3, -4, 1, -1, 1);
+                log.append(RaceEvent.WIN, 2, 1, 5, 6, 2, 2, 3);
+            }
+            RaceLogReader reader = RaceLogReader.open(path);
+            assertEquals(List.of("Bot1", "B\u00f2t2"), reader.getNames());
+            assertEquals(3, reader.size());
+            assertEquals(RaceEvent.NEARBY_MOVE, reader.getEvent(1));
+            assertEquals(1, reader.getTurn(1));
+            assertEquals(1, reader.getBot(1));
+            assertEquals(3, reader.getX(1));
+            assertEquals(-4, reader.getY(1));
+            assertEquals(1, reader.getMoveX(1));
+            assertEquals(-1, reader.getMoveY(1));
+            assertEquals(1, reader.getSpeed(1));
+            assertEquals(RaceEvent.WIN, reader.getEvent(2));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.getEvent(3));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testManyRecords() throws IOException {
+        Path path = Files.createTempFile("race", ".log");
+        int records = 100_000;
+        try {
+            try (BinaryRaceLog log = BinaryRaceLog.create(path, List.of("Bot1"))) {
+                for (int i = 0; i < records; i++)
+                    log.append(RaceEvent.MOVE, i, 0, i, -i, 1, 1, i % 4);
+            }
+            RaceLogReader reader = RaceLogReader.open(path);
+            assertEquals(records, reader.size());
+            for (int i = 0; i < records; i++) {
+                assertEquals(i, reader.getTurn(i));
+                assertEquals(-i, reader.getY(i));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testAppendAfterClose() throws IOException {
+        Path path = Files.createTempFile("race", ".log");
+        try {
+            BinaryRaceLog log = BinaryRaceLog.create(path, List.of("Bot1"));
+            log.close();
+            assertThrows(IllegalStateException.class, () -> log.append(RaceEvent.MOVE, 1, 0, 0, 0, 0, 0, 0));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testInvalidFile() throws IOException {
+        Path path = Files.createTempFile("race", ".log");
+        try {
+            Files.write(path, new byte[32]);
+            assertThrows(IOException.class, () -> RaceLogReader.open(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testGameEngineLog() throws IOException, BotException {
+        int[][] trackLayout = {
+                {2, 1, 1, 1, 1, 1, 1, 3},
+                {2, 1, 1, 0, 1, 1, 1, 3}
+        };
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0), new Position(1, 0)),
+                List.of(new Position(0, 7), new Position(1, 7)));
+        List<Bot> bots = BotFactory.createBots(List.of("Bot1", "Bot2"), track, 5);
+        DefaultGameEngine engine = new DefaultGameEngine(track, bots);
+        Path path = Files.createTempFile("race", ".log");
+        try {
+            RaceResult result;
+            try (BinaryRaceLog log = BinaryRaceLog.create(path, List.of("Bot1", "Bot2"))) {
+                engine.setRaceLog(log);
+                result = engine.runToCompletion(100);
+            }
+            RaceLogReader reader = RaceLogReader.open(path);
+            assertEquals(RaceEvent.START, reader.getEvent(0));
+            assertEquals(RaceEvent.START, reader.getEvent(1));
+            int last = reader.size() - 1;
+            assertEquals(result.turns(), reader.getTurn(last));
+            for (int i = 0; i < bots.size(); i++) {
+                Bot bot = bots.get(i);
+                int record = last;
+                while (reader.getBot(record) != i || reader.getEvent(record) == RaceEvent.WIN)
+                    record--;
+                assertEquals(bot.getCurrentX(), reader.getX(record));
+                assertEquals(bot.getCurrentY(), reader.getY(record));
+                assertEquals(bot.getEliminated(), reader.getEvent(record) == RaceEvent.ELIMINATION);
+            }
+            if (result.hasWinner()) {
+                assertEquals(RaceEvent.WIN, reader.getEvent(last));
+                assertEquals(result.winner().getName(), reader.getNames().get(reader.getBot(last)));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -127,4 +127,20 @@ class BotFactoryTest {
         assertTrue(message.contains(expectedMessage));
         Files.delete(Paths.get(jsonFilePath));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReadBotNamesFromConfig() throws IOException, BotException {
+        String jsonFilePath = "jsonTest.json";
+        Files.writeString(Paths.get(jsonFilePath), """
+                {
+                   "track": ["23"],
+                   "bots": [
+                      {"color": {"r": 1, "g": [2, 3]}, "name": "Bot\\"1\\""},
+                      {"name": "Bot\\u00e9\\u4e2d", "speed": 1.5e2}
+                   ]
+                }
+                """);
+        assertEquals(List.of("Bot\"1\"", "Bot\u00e9\u4e2d"), BotFactory.readBotNamesFromConfig(jsonFilePath));
+        Files.delete(Paths.get(jsonFilePath));
+    }
+}
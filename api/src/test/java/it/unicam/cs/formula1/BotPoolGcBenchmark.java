@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.DefaultBot;
+import it.unicam.cs.formula1.BotPool.ArrayBotPool;
+import it.unicam.cs.formula1.BotPool.BotPool;
+import it.unicam.cs.formula1.BotPool.OffHeapBotPool;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.GameEngine;
+import it.unicam.cs.formula1.GameEngine.PooledGameEngine;
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares the garbage collection pauses of a race held as {@link DefaultBot} objects, as an {@link ArrayBotPool}
+ * and as an {@link OffHeapBotPool}, for growing fleet sizes.
+ * For every fleet it runs a few turns and then times a few full collections, whose pause grows with the live objects.
+ * Run it with {@code ./gradlew :api:gcBenchmark}, or pass the fleet sizes as arguments.
+ */
+public class BotPoolGcBenchmark {
+    private static final int SIZE = 1000;
+    private static final int TURNS = 10;
+    private static final int COLLECTIONS = 5;
+    private static final long SEED = 1;
+
+    public static void main(String[] args) throws BotException {
+        int[] fleets = args.length == 0 ? new int[]{100_000, 1_000_000, 10_000_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        Track track = createTrack();
+        System.out.printf("%-10s %12s %12s %14s %14s%n", "store", "bots", "turn (ms)", "full gc (ms)", "gc total (ms)");
+        for (int bots : fleets) {
+            run("objects", bots, new DefaultGameEngine(track, createBots(track, bots)));
+            run("arrays", bots, new PooledGameEngine(new ArrayBotPool(track, BotPool.numberedNames(bots), SEED)));
+            run("off-heap", bots, new PooledGameEngine(new OffHeapBotPool(track, BotPool.numberedNames(bots), SEED)));
+        }
+    }
+
+    private static void run(String store, int bots, GameEngine gameEngine) {
+        long collectionTime = totalCollectionTime();
+        long start = System.nanoTime();
+        for (int turn = 0; turn < TURNS; turn++)
+            gameEngine.updateRace();
+        double turnMillis = (System.nanoTime() - start) / 1e6 / TURNS;
+        double pauseMillis = 0;
+        for (int i = 0; i < COLLECTIONS; i++) {
+            long pauseStart = System.nanoTime();
+            System.gc();
+            pauseMillis += (System.nanoTime() - pauseStart) / 1e6;
+        }
+        System.out.printf("%-10s %12d %12.1f %14.1f %14d%n", store, bots, turnMillis, pauseMillis / COLLECTIONS,
+                totalCollectionTime() - collectionTime);
+    }
+
+    /**
+     * Creates an open square track with a starting position on every cell of the first column.
+     */
+    private static Track createTrack() {
+        int[][] trackLayout = new int[SIZE][SIZE];
+        List<Position> startPositions = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            Arrays.fill(trackLayout[i], 1);
+            trackLayout[i][0] = 2;
+            trackLayout[i][SIZE - 1] = 3;
+            startPositions.add(new Position(i, 0));
+        }
+        return new DefaultTrack(trackLayout, startPositions, List.of(new Position(0, SIZE - 1)));
+    }
+
+    /**
+     * Creates the bots as objects, placed and seeded as in the bot pools.
+     */
+    private static List<Bot> createBots(Track track, int count) {
+        DefaultTrackOperation trackOperation = new DefaultTrackOperation(track);
+        List<Position> startPositions = track.getStartPositions();
+        List<Bot> bots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            bots.add(new DefaultBot("Bot" + (i + 1), startPositions.get(i % startPositions.size()), new DefaultMovement(),
+                    trackOperation, new RaceRandom(RaceRandom.derive(SEED, i))));
+        return bots;
+    }
+
+    private static long totalCollectionTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            total += Math.max(0, collector.getCollectionTime());
+        return total;
+    }
+}
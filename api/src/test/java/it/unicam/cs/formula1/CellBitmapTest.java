@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.CellBitmap;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CellBitmapTest {
+
+    @Test
+    void testGet() {
+        int[][] trackLayout = {
+                {2, 0, 1},
+                {0, 3, 1}
+        };
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0)), List.of(new Position(1, 1)));
+        CellBitmap cells = track.getPassableCells();
+        assertTrue(cells.get(0, 0));
+        assertFalse(cells.get(0, 1));
+        assertTrue(cells.get(1, 1));
+        assertFalse(cells.get(-1, 0));
+        assertFalse(cells.get(0, 3));
+        assertSame(cells, track.getPassableCells());
+        CellBitmap finish = CellBitmap.compute(track, cell -> cell == Track.FINISH);
+        assertTrue(finish.get(1, 1));
+        assertFalse(finish.get(0, 0));
+    }
+
+    @Test
+    void testAllSetAcrossWords() {
+        int columns = 200;
+        int[][] trackLayout = new int[2][columns];
+        Arrays.fill(trackLayout[0], 1);
+        Arrays.fill(trackLayout[1], 1);
+        trackLayout[1][130] = 0;
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0)), List.of(new Position(0, 1)));
+        CellBitmap cells = track.getPassableCells();
+        assertTrue(cells.allSet(0, 0, columns - 1));
+        assertTrue(cells.allSet(0, 60, 70));
+        assertTrue(cells.allSet(1, 0, 129));
+        assertTrue(cells.allSet(1, 131, columns - 1));
+        assertFalse(cells.allSet(1, 0, columns - 1));
+        assertFalse(cells.allSet(1, 128, 192));
+        assertFalse(cells.allSet(1, 130, 130));
+        assertFalse(cells.allSet(0, -1, 5));
+        assertFalse(cells.allSet(0, 190, columns));
+        assertFalse(cells.allSet(2, 0, 5));
+        CellBitmap walls = CellBitmap.compute(track, cell -> cell == Track.WALL);
+        assertTrue(walls.anySet(1, 0, columns - 1));
+        assertTrue(walls.anySet(1, 100, 130));
+        assertTrue(walls.anySet(1, -5, columns + 5));
+        assertFalse(walls.anySet(1, 131, columns - 1));
+        assertFalse(walls.anySet(0, 0, columns - 1));
+        assertFalse(walls.anySet(1, columns, columns + 5));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.CompactTrack;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.Track.TrackException;
+import it.unicam.cs.formula1.Track.TrackFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactTrackTest {
+
+    private DefaultTrack defaultTrack;
+    private CompactTrack track;
+
+    @BeforeEach
+    public void setUp() throws TrackException {
+        int[][] trackLayout = new int[3][40];
+        trackLayout[0][0] = 2;
+        trackLayout[0][39] = 2;
+        trackLayout[2][0] = 3;
+        trackLayout[2][39] = 3;
+        for (int j = 1; j < 39; j++) {
+            trackLayout[0][j] = 1;
+            trackLayout[2][j] = 1;
+        }
+        trackLayout[1][0] = 1;
+        trackLayout[1][33] = 1;
+        List<Position> startPositions = List.of(new Position(0, 0), new Position(0, 39));
+        List<Position> endPositions = List.of(new Position(2, 0), new Position(2, 39));
+        defaultTrack = new DefaultTrack(trackLayout, startPositions, endPositions);
+        track = TrackFactory.toCompactTrack(defaultTrack);
+    }
+
+    @Test
+    public void testGetCell() {
+        assertEquals(3, track.getRows());
+        assertEquals(40, track.getColumns());
+        for (int i = -1; i <= 3; i++)
+            for (int j = -1; j <= 40; j++) {
+                assertEquals(defaultTrack.getCell(i, j), track.getCell(i, j));
+                assertEquals(defaultTrack.isPassable(i, j), track.isPassable(i, j));
+            }
+        assertEquals(Track.START, track.getCell(0, 39));
+        assertEquals(Track.ROAD, track.getCell(1, 33));
+        assertEquals(Track.WALL, track.getCell(1, 32));
+    }
+
+    @Test
+    public void testGetHash() {
+        assertEquals(defaultTrack.getHash(), track.getHash());
+        int[][] trackLayout = defaultTrack.getTrackLayout();
+        trackLayout[1][32] = 1;
+        Track changed = new DefaultTrack(trackLayout, defaultTrack.getStartPositions(), defaultTrack.getEndPositions());
+        assertNotEquals(defaultTrack.getHash(), changed.getHash());
+    }
+
+    @Test
+    public void testGetTrackLayout() {
+        assertArrayEquals(defaultTrack.getTrackLayout(), track.getTrackLayout());
+    }
+
+    @Test
+    public void testGetStartAndEndPositions() {
+        assertEquals(defaultTrack.getStartPositions(), track.getStartPositions());
+        assertEquals(defaultTrack.getEndPositions(), track.getEndPositions());
+    }
+
+    @Test
+    public void testInvalidCellValue() {
+        Track invalidTrack = new DefaultTrack(new int[][]{{2, 5, 3}}, List.of(new Position(0, 0)), List.of(new Position(0, 2)));
+        Exception exception = assertThrows(TrackException.class, () -> TrackFactory.toCompactTrack(invalidTrack));
+        assertTrue(exception.getMessage().contains("Invalid cell value 5 at position (0, 1)."));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.BatchRunner.BatchStatistics;
+import it.unicam.cs.formula1.BatchRunner.DefaultBatchRunner;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultBatchRunnerTest {
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        int[][] trackLayout = {
+                {2, 1, 2, 0, 0, 0},
+                {1, 0, 1, 1, 0, 1},
+                {3, 1, 3, 0, 0, 0}
+        };
+        List<Position> startPositions = List.of(new Position(0, 0), new Position(0, 2));
+        List<Position> endPositions = List.of(new Position(2, 0), new Position(2, 2));
+        track = new DefaultTrack(trackLayout, startPositions, endPositions);
+    }
+
+    @Test
+    void testRunRaces() throws BotException {
+        DefaultBatchRunner batchRunner = new DefaultBatchRunner(track, List.of("Bot1", "Bot2"), 100);
+        AtomicInteger completed = new AtomicInteger();
+        BatchStatistics statistics = batchRunner.runRaces(200, result -> completed.incrementAndGet());
+        assertEquals(200, statistics.getRaces());
+        assertEquals(200, completed.get());
+        double totalWinRate = statistics.getWinRate("Bot1") + statistics.getWinRate("Bot2");
+        assertEquals((double) statistics.getFinishedRaces() / 200, totalWinRate, 1e-9);
+        assertTrue(statistics.getTurnsToFinishPercentile(50) <= statistics.getTurnsToFinishPercentile(99));
+        assertTrue(statistics.getEliminationRate() >= 0 && statistics.getEliminationRate() <= 1);
+    }
+
+    @Test
+    void testSameSeedGivesSameBatch() throws BotException {
+        List<String> names = List.of("Bot1", "Bot2");
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            BatchStatistics first = new DefaultBatchRunner(track, names, 100, single, 7).runRaces(300);
+            BatchStatistics second = new DefaultBatchRunner(track, names, 100, parallel, 7).runRaces(300);
+            assertEquals(first.getFinishedRaces(), second.getFinishedRaces());
+            assertEquals(first.getWinRates(), second.getWinRates());
+            assertEquals(first.getMeanTurnsToFinish(), second.getMeanTurnsToFinish(), 1e-9);
+            assertEquals(first.getEliminationRate(), second.getEliminationRate(), 1e-9);
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void testTooManyBots() {
+        Exception exception = assertThrows(BotException.class,
+                () -> new DefaultBatchRunner(track, List.of("Bot1", "Bot2", "Bot3"), 100));
+        assertTrue(exception.getMessage().contains("The number of bots exceeds the available starting positions."));
+    }
+
+    @Test
+    void testEmptyStatistics() {
+        BatchStatistics statistics = new BatchStatistics();
+        assertEquals(0, statistics.getRaces());
+        assertEquals(0, statistics.getMeanTurnsToFinish());
+        assertEquals(0, statistics.getTurnsToFinishPercentile(99));
+        assertEquals(0, statistics.getEliminationRate());
+    }
+}
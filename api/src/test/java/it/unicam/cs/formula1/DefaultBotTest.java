@@ -37,9 +37,12 @@ import it.unicam.cs.formula1.TrackOperation.TrackOperation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultBotTest {
     private Movement movement;
@@ -89,4 +92,28 @@ class DefaultBotTest {
         bot.calculateNextMoves();
         assertEquals(new Position(4,0), bot.getCurrentPosition());
     }
+
+    @Test
+    void testCalculateNextMovesDoesNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean)
+                || !threadBean.isThreadAllocatedMemoryEnabled())
+            return;
+        int[][] trackLayout = new int[3][2000];
+        for (int[] row : trackLayout)
+            Arrays.fill(row, 1);
+        trackLayout[1][0] = 2;
+        trackLayout[1][1999] = 3;
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(1, 0)), List.of(new Position(1, 1999)));
+        Bot bot = new DefaultBot("TestBot", new Position(1, 0), new DefaultMovement(), new DefaultTrackOperation(track));
+        bot.updatePosition(1, 1);
+        for (int i = 0; i < 100; i++)
+            bot.calculateNextMoves();
+        threadBean.getCurrentThreadAllocatedBytes();
+        long allocated = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 500; i++)
+            bot.calculateNextMoves();
+        allocated = threadBean.getCurrentThreadAllocatedBytes() - allocated;
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes");
+        assertEquals(new Position(1, 1800), bot.getCurrentPosition());
+    }
 }
@@ -27,8 +27,12 @@ package it.unicam.cs.formula1;
 
 import it.unicam.cs.formula1.Bot.Bot;
 import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
 import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
 import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
 import it.unicam.cs.formula1.Track.TrackException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,6 +41,9 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -77,6 +84,99 @@ class DefaultGameEngineTest {
         gameEngine.startRace();
     }
 
+    @Test
+    void testRunToCompletion() {
+        RaceResult result = gameEngine.runToCompletion(100);
+        assertTrue(result.turns() > 0 && result.turns() <= 100);
+        assertEquals(2, result.bots().size());
+        if (result.hasWinner())
+            assertTrue(gameEngine.getTrack().getEndPositions().contains(result.winner().getCurrentPosition()));
+        else
+            assertTrue(result.turns() == 100 || result.eliminatedBots().size() == 2);
+        assertEquals(result.eliminatedBots().size(), 2 - gameEngine.getBots().size());
+    }
+
+    @Test
+    void testSameSeedGivesSameRace() throws BotException {
+        List<String> names = List.of("Bot1", "Bot2");
+        DefaultGameEngine first = new DefaultGameEngine(gameEngine.getTrack(), BotFactory.createBots(names, gameEngine.getTrack(), 42));
+        DefaultGameEngine second = new DefaultGameEngine(gameEngine.getTrack(), BotFactory.createBots(names, gameEngine.getTrack(), 42));
+        for (int turn = 0; turn < 50 && !first.isRaceOver() && !first.allBotsEliminated(); turn++) {
+            first.updateRace();
+            second.updateRace();
+            assertEquals(first.getBots().size(), second.getBots().size());
+            for (int i = 0; i < first.getBots().size(); i++)
+                assertEquals(first.getBots().get(i).getCurrentPosition(), second.getBots().get(i).getCurrentPosition());
+        }
+    }
+
+    @Test
+    void testParallelUpdateRaceMatchesSequential() throws BotException {
+        int rows = 5000;
+        int[][] trackLayout = new int[rows][];
+        List<Position> startPositions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            trackLayout[i] = new int[]{2, 1, 1, 0, 1, 1, 1, 3};
+            trackLayout[i][3] = i % 3 == 0 ? 0 : 1;
+            startPositions.add(new Position(i, 0));
+        }
+        Track track = new DefaultTrack(trackLayout, startPositions, List.of(new Position(0, 7)));
+        List<String> names = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++)
+            names.add("Bot" + i);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            DefaultGameEngine sequential = new DefaultGameEngine(track, BotFactory.createBots(names, track, 3));
+            DefaultGameEngine parallel = new DefaultGameEngine(track, BotFactory.createBots(names, track, 3), forkJoinPool);
+            RaceResult expected = sequential.runToCompletion(30);
+            RaceResult actual = parallel.runToCompletion(30);
+            assertEquals(expected.turns(), actual.turns());
+            assertEquals(expected.hasWinner(), actual.hasWinner());
+            assertEquals(expected.eliminatedBots().size(), actual.eliminatedBots().size());
+            for (int i = 0; i < expected.eliminatedBots().size(); i++)
+                assertEquals(expected.eliminatedBots().get(i).getName(), actual.eliminatedBots().get(i).getName());
+            for (int i = 0; i < rows; i++)
+                assertEquals(expected.bots().get(i).getCurrentPosition(), actual.bots().get(i).getCurrentPosition());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    void testCheckpointAndRestore() throws BotException, IOException {
+        int[][] trackLayout = {
+                {2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 3},
+                {2, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 3},
+                {2, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 3}
+        };
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0), new Position(1, 0), new Position(2, 0)),
+                List.of(new Position(0, 15), new Position(1, 15), new Position(2, 15)));
+        List<String> names = List.of("Bot1", "Bot2", "Bot3");
+        Path path = Files.createTempFile("engine", ".checkpoint");
+        try {
+            for (long seed = 0; seed < 20; seed++) {
+                DefaultGameEngine original = new DefaultGameEngine(track, BotFactory.createBots(names, track, seed));
+                for (int turn = 0; turn < 3; turn++)
+                    original.updateRace();
+                original.checkpoint(path);
+                RaceResult expected = original.runToCompletion(100);
+                DefaultGameEngine resumed = new DefaultGameEngine(track, BotFactory.createBots(names, track, seed + 100));
+                resumed.restore(path);
+                RaceResult actual = resumed.runToCompletion(100);
+                assertEquals(expected.turns(), actual.turns());
+                assertEquals(expected.hasWinner() ? expected.winner().getName() : null,
+                        actual.hasWinner() ? actual.winner().getName() : null);
+                assertEquals(expected.eliminatedBots().stream().map(Bot::getName).toList(),
+                        actual.eliminatedBots().stream().map(Bot::getName).toList());
+                for (int i = 0; i < names.size(); i++)
+                    assertEquals(expected.bots().get(i).getState(), actual.bots().get(i).getState());
+            }
+            assertThrows(IOException.class, () -> gameEngine.restore(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
     @Test
     void testIsRaceOver() {
         Bot bot = gameEngine.getBots().get(0);
@@ -102,6 +202,52 @@ class DefaultGameEngineTest {
 
     }
 
+    @Test
+    void testUpdateRaceDetectsWinner() {
+        Bot bot = gameEngine.getBots().get(0);
+        bot.updatePosition(new Position(1, 0));
+        gameEngine.updateRace();
+        assertEquals(new Position(2, 0), bot.getCurrentPosition());
+        assertSame(bot, gameEngine.getWinner());
+        RaceResult result = gameEngine.runToCompletion(100);
+        assertSame(bot, result.winner());
+        assertEquals(1, result.turns());
+    }
+
+    @Test
+    void testBotStartingOnFinishWins() throws BotException {
+        int[][] trackLayout = {
+                {2, 1, 1, 3},
+                {3, 1, 1, 1}
+        };
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0), new Position(1, 0)), List.of(new Position(0, 3), new Position(1, 0)));
+        DefaultGameEngine engine = new DefaultGameEngine(track, BotFactory.createBots(List.of("Bot1", "Bot2"), track, 1));
+        RaceResult result = engine.runToCompletion(100);
+        assertSame(engine.getBots().get(1), result.winner());
+        assertEquals(0, result.turns());
+    }
+
+    @Test
+    void testUpdateRaceDetectsFinishCrossing() throws BotException {
+        int[][] trackLayout = {
+                {2, 1, 1, 1, 1, 3, 1, 1, 1, 1, 1, 1},
+                {2, 1, 1, 1, 3, 1, 1, 1, 1, 1, 1, 1}
+        };
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0), new Position(1, 0)),
+                List.of(new Position(0, 5), new Position(1, 4)));
+        DefaultGameEngine engine = new DefaultGameEngine(track, BotFactory.createBots(List.of("Bot1", "Bot2"), track, 1));
+        Bot first = engine.getBots().get(0);
+        Bot second = engine.getBots().get(1);
+        first.updatePosition(new Position(0, 3));
+        second.updatePosition(new Position(1, 3));
+        assertFalse(engine.isRaceOver());
+        engine.updateRace();
+        assertEquals(new Position(0, 6), first.getCurrentPosition());
+        assertEquals(new Position(1, 6), second.getCurrentPosition());
+        assertTrue(engine.isRaceOver());
+        assertSame(second, engine.getWinner());
+    }
+
     @Test
     void testDisplayStatus(){
         Bot bot = gameEngine.getBots().get(0);
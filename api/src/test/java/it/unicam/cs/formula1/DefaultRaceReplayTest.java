@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.RaceLog.BinaryRaceLog;
+import it.unicam.cs.formula1.RaceLog.RaceEvent;
+import it.unicam.cs.formula1.RaceLog.RaceLogReader;
+import it.unicam.cs.formula1.Replay.DefaultRaceReplay;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultRaceReplayTest {
+
+    private static final Track TRACK = new DefaultTrack(new int[][]{
+            {2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 3},
+            {2, 1, 1, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 3},
+            {2, 1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1, 1, 1, 3}
+    }, List.of(new Position(0, 0), new Position(1, 0), new Position(2, 0)),
+            List.of(new Position(0, 15), new Position(1, 15), new Position(2, 15)));
+
+    @Test
+    void testReplayMatchesRace() throws IOException, BotException {
+        List<String> names = List.of("Bot1", "Bot2", "Bot3");
+        DefaultGameEngine engine = new DefaultGameEngine(TRACK, BotFactory.createBots(names, TRACK, 11));
+        List<List<String>> expected = new ArrayList<>();
+        Path path = Files.createTempFile("race", ".log");
+        try {
+            try (BinaryRaceLog log = BinaryRaceLog.create(path, names)) {
+                engine.setRaceLog(log);
+                expected.add(describe(engine.getBots()));
+                while (!engine.isRaceOver() && !engine.getBots().isEmpty() && expected.size() < 100) {
+                    engine.updateRace();
+                    expected.add(describe(engine.getBots()));
+                }
+            }
+            DefaultRaceReplay replay = new DefaultRaceReplay(TRACK, RaceLogReader.open(path), 2);
+            assertEquals(expected.size() - 1, replay.getLastTurn());
+            assertEquals(expected.get(0), describe(replay.getBots()));
+            for (int turn = 1; turn < expected.size(); turn++) {
+                assertTrue(replay.step());
+                assertEquals(expected.get(turn), describe(replay.getBots()));
+            }
+            assertFalse(replay.step());
+            Random random = new Random(3);
+            for (int i = 0; i < 50; i++) {
+                int turn = random.nextInt(expected.size());
+                replay.seek(turn);
+                assertEquals(turn, replay.getTurn());
+                assertEquals(expected.get(turn), describe(replay.getBots()));
+            }
+            if (engine.isRaceOver()) {
+                replay.seek(replay.getLastTurn());
+                assertEquals(engine.getWinner().getName(), replay.getWinner().getName());
+                replay.seek(0);
+                assertNull(replay.getWinner());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testSeekLongRace() throws IOException {
+        int turns = 100_000;
+        Path path = Files.createTempFile("race", ".log");
+        try {
+            try (BinaryRaceLog log = BinaryRaceLog.create(path, List.of("Bot1", "Bot2"))) {
+                log.append(RaceEvent.START, 0, 0, 0, 0, 0, 0, 1);
+                log.append(RaceEvent.START, 0, 1, 1, 0, 0, 0, 1);
+                for (int turn = 1; turn <= turns; turn++) {
+                    log.append(RaceEvent.MOVE, turn, 0, turn, turn, 1, 1, 1);
+                    if (turn < turns / 2)
+                        log.append(RaceEvent.MOVE, turn, 1, turn, -turn, 1, -1, 2);
+                    else if (turn == turns / 2)
+                        log.append(RaceEvent.ELIMINATION, turn, 1, turn, -turn, 1, -1, 2);
+                }
+                log.append(RaceEvent.WIN, turns, 0, turns, turns, 1, 1, 1);
+            }
+            DefaultRaceReplay replay = new DefaultRaceReplay(TRACK, RaceLogReader.open(path));
+            assertEquals(turns, replay.getLastTurn());
+            Random random = new Random(7);
+            for (int i = 0; i < 1000; i++) {
+                int turn = random.nextInt(turns + 1);
+                replay.seek(turn);
+                Bot first = replay.getBots().get(0);
+                assertEquals(new Position(turn, turn), first.getCurrentPosition());
+                assertEquals(turn < turns / 2 ? 2 : 1, replay.getBots().size());
+                assertEquals(turn == turns, replay.getWinner() != null);
+            }
+            replay.seek(turns / 2);
+            Bot second = replay.getParticipants().get(1);
+            assertTrue(second.getEliminated());
+            assertEquals(2, second.getMovement().getSpeed());
+            assertThrows(UnsupportedOperationException.class, () -> second.updatePosition(0, 0));
+            assertThrows(IllegalArgumentException.class, () -> replay.seek(turns + 1));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static List<String> describe(List<Bot> bots) {
+        List<String> description = new ArrayList<>();
+        for (Bot bot : bots)
+            description.add(bot.getName() + bot.getCurrentPosition() + bot.getPreviousMove()
+                    + bot.getMovement().getSpeed() + bot.isNearbyMove());
+        return description;
+    }
+}
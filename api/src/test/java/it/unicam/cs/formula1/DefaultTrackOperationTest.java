@@ -25,6 +25,11 @@
 
 package it.unicam.cs.formula1;
 
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
 import it.unicam.cs.formula1.Position.Position;
 import it.unicam.cs.formula1.Track.DefaultTrack;
 import it.unicam.cs.formula1.Track.Track;
@@ -32,9 +37,19 @@ import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultTrackOperationTest {
@@ -94,4 +109,264 @@ class DefaultTrackOperationTest {
         assertTrue(trackOperation.isValidPosition(validPosition));
         assertFalse(trackOperation.isValidPosition(invalidPosition));
     }
+
+    @Test
+    void testCheckPassableTrackMatchesBresenham() {
+        int rows = 70;
+        int columns = 150;
+        int[][] trackLayout = new int[rows][columns];
+        Random random = new Random(13);
+        for (int[] row : trackLayout)
+            for (int j = 0; j < columns; j++)
+                row[j] = random.nextInt(8) == 0 ? 0 : 1;
+        trackLayout[0][0] = 2;
+        trackLayout[rows - 1][columns - 1] = 3;
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0)), List.of(new Position(rows - 1, columns - 1)));
+        DefaultTrackOperation operation = new DefaultTrackOperation(track);
+        for (int i = 0; i < 20_000; i++) {
+            int startX = random.nextInt(rows + 4) - 2;
+            int startY = random.nextInt(columns + 4) - 2;
+            int arriveX = startX + random.nextInt(19) - 9;
+            int arriveY = startY + random.nextInt(19) - 9;
+            assertEquals(bresenham(track, startX, startY, arriveX, arriveY),
+                    operation.checkPassableTrack(startX, startY, arriveX, arriveY));
+        }
+    }
+
+    @Test
+    void testCheckPassableTracksMatchesSingleChecks() {
+        int rows = 90;
+        int columns = 130;
+        int[][] trackLayout = new int[rows][columns];
+        Random random = new Random(17);
+        for (int[] row : trackLayout)
+            for (int j = 0; j < columns; j++)
+                row[j] = random.nextInt(12) == 0 ? 0 : 1;
+        trackLayout[0][0] = 2;
+        trackLayout[rows - 1][columns - 1] = 3;
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0)), List.of(new Position(rows - 1, columns - 1)));
+        DefaultTrackOperation operation = new DefaultTrackOperation(track);
+        int count = 10_003;
+        int[] startX = new int[count];
+        int[] startY = new int[count];
+        int[] arriveX = new int[count];
+        int[] arriveY = new int[count];
+        for (int i = 0; i < count; i++) {
+            int length = i % 10 == 0 ? 40 : 4;
+            startX[i] = random.nextInt(rows + 4) - 2;
+            startY[i] = random.nextInt(columns + 4) - 2;
+            arriveX[i] = startX[i] + random.nextInt(2 * length + 1) - length;
+            arriveY[i] = startY[i] + random.nextInt(2 * length + 1) - length;
+        }
+        long[] passable = new long[(count + 63) / 64];
+        Arrays.fill(passable, -1L);
+        operation.checkPassableTracks(startX, startY, arriveX, arriveY, count, passable);
+        for (int i = 0; i < count; i++)
+            assertEquals(operation.checkPassableTrack(startX[i], startY[i], arriveX[i], arriveY[i]),
+                    (passable[i / 64] & 1L << i) != 0);
+        assertThrows(IllegalArgumentException.class,
+                () -> operation.checkPassableTracks(startX, startY, arriveX, arriveY, count, new long[1]));
+    }
+
+    @Test
+    void testFindFinishCrossingMatchesTrace() {
+        int rows = 60;
+        int columns = 80;
+        int[][] trackLayout = new int[rows][columns];
+        Random random = new Random(19);
+        for (int[] row : trackLayout)
+            for (int j = 0; j < columns; j++)
+                row[j] = random.nextInt(15) == 0 ? 3 : 1;
+        trackLayout[0][0] = 2;
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0)), List.of(new Position(rows - 1, columns - 1)));
+        DefaultTrackOperation operation = new DefaultTrackOperation(track);
+        for (int i = 0; i < 20_000; i++) {
+            int startX = random.nextInt(rows + 4) - 2;
+            int startY = random.nextInt(columns + 4) - 2;
+            int arriveX = startX + random.nextInt(21) - 10;
+            int arriveY = startY + random.nextInt(21) - 10;
+            assertEquals(firstFinishStep(track, startX, startY, arriveX, arriveY),
+                    operation.findFinishCrossing(startX, startY, arriveX, arriveY));
+        }
+    }
+
+    /**
+     * Reference search of the first finish cell after the start along a Bresenham trace.
+     */
+    private int firstFinishStep(Track track, int startX, int startY, int arriveX, int arriveY) {
+        int dx = Math.abs(arriveX - startX);
+        int dy = -Math.abs(arriveY - startY);
+        int sx = Integer.signum(arriveX - startX);
+        int sy = Integer.signum(arriveY - startY);
+        int err = dx + dy;
+        int x = startX;
+        int y = startY;
+        for (int step = 0; ; step++) {
+            if (step > 0 && track.getCell(x, y) == Track.FINISH)
+                return step;
+            if (x == arriveX && y == arriveY)
+                return -1;
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y += sy;
+            }
+        }
+    }
+
+    /**
+     * Reference cell-by-cell Bresenham check.
+     */
+    private boolean bresenham(Track track, int startX, int startY, int arriveX, int arriveY) {
+        int dx = Math.abs(arriveX - startX);
+        int dy = -Math.abs(arriveY - startY);
+        int sx = Integer.signum(arriveX - startX);
+        int sy = Integer.signum(arriveY - startY);
+        int err = dx + dy;
+        int x = startX;
+        int y = startY;
+        while (true) {
+            if (!track.isPassable(x, y))
+                return false;
+            if (x == arriveX && y == arriveY)
+                return true;
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y += sy;
+            }
+        }
+    }
+
+    @Test
+    void testPrimitiveOverloads() {
+        for (int x = -1; x <= 3; x++)
+            for (int y = -1; y <= 3; y++) {
+                assertEquals(trackOperation.isValidPosition(new Position(x, y)), trackOperation.isValidPosition(x, y));
+                for (int i = -1; i <= 3; i++)
+                    for (int j = -1; j <= 3; j++)
+                        assertEquals(trackOperation.checkPassableTrack(new Position(x, y), new Position(i, j)),
+                                trackOperation.checkPassableTrack(x, y, i, j));
+            }
+        assertTrue(trackOperation.isValidAndPassable(0, 0, 1, 0, 2, 0));
+        assertFalse(trackOperation.isValidAndPassable(0, 0, 1, 1, 2, 2));
+    }
+
+    @Test
+    void testPrimitiveChecksDoNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean)
+                || !threadBean.isThreadAllocatedMemoryEnabled())
+            return;
+        boolean passable = false;
+        for (int i = 0; i < 10_000; i++)
+            passable ^= trackOperation.isValidAndPassable(0, 0, 1, 0, 2, 0);
+        threadBean.getCurrentThreadAllocatedBytes();
+        long allocated = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++)
+            passable ^= trackOperation.isValidAndPassable(0, 0, 1, 0, 2, 0) && trackOperation.checkPassableTrack(0, 2, 2, 2);
+        allocated = threadBean.getCurrentThreadAllocatedBytes() - allocated;
+        assertTrue(allocated < 1024, "Allocated " + allocated + " bytes");
+        assertFalse(passable);
+    }
+
+    @Test
+    void testConcurrentOperationsOnDifferentTracks() throws InterruptedException, ExecutionException {
+        Track firstTrack = new DefaultTrack(new int[][]{
+                {2, 1, 1, 1},
+                {0, 0, 0, 1},
+                {3, 1, 1, 1}
+        }, List.of(new Position(0, 0)), List.of(new Position(2, 0)));
+        Track secondTrack = new DefaultTrack(new int[][]{
+                {2, 0, 0},
+                {1, 1, 0},
+                {1, 0, 1},
+                {3, 1, 1}
+        }, List.of(new Position(0, 0)), List.of(new Position(3, 0)));
+        List<Boolean> firstExpected = sweep(new DefaultTrackOperation(firstTrack));
+        List<Boolean> secondExpected = sweep(new DefaultTrackOperation(secondTrack));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Boolean>>> firstResults = new ArrayList<>();
+            List<Future<List<Boolean>>> secondResults = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                firstResults.add(executor.submit(() -> sweep(new DefaultTrackOperation(firstTrack))));
+                secondResults.add(executor.submit(() -> sweep(new DefaultTrackOperation(secondTrack))));
+            }
+            for (Future<List<Boolean>> result : firstResults)
+                assertEquals(firstExpected, result.get());
+            for (Future<List<Boolean>> result : secondResults)
+                assertEquals(secondExpected, result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentRacesOnDifferentTracks() throws BotException, InterruptedException, ExecutionException {
+        List<Track> tracks = List.of(StateSpaceTest.randomTrack(20, 30, 0.1, 1), StateSpaceTest.randomTrack(25, 25, 0.2, 2),
+                StateSpaceTest.randomTrack(15, 40, 0.15, 3));
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++)
+            expected.add(race(tracks.get(i % tracks.size()), i));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Track track = tracks.get(i % tracks.size());
+                long seed = i;
+                results.add(executor.submit(() -> race(track, seed)));
+            }
+            for (int i = 0; i < 40; i++)
+                assertEquals(expected.get(i), results.get(i).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs a seeded race to completion and describes its result: the turns, the winner,
+     * the eliminated bots and the final state of every bot.
+     *
+     * @param track the track of the race
+     * @param seed the master seed of the race
+     * @return the description of the result
+     * @throws BotException if the bots cannot be placed on the track
+     */
+    private String race(Track track, long seed) throws BotException {
+        List<Bot> bots = BotFactory.createBots(List.of("Bot1", "Bot2"), track, seed);
+        RaceResult result = new DefaultGameEngine(track, bots).runToCompletion(500);
+        StringBuilder description = new StringBuilder(result.turns() + " " + (result.hasWinner() ? result.winner().getName() : "-"));
+        for (Bot bot : result.eliminatedBots())
+            description.append(" x").append(bot.getName());
+        for (Bot bot : result.bots())
+            description.append(' ').append(bot.getName()).append(bot.getCurrentPosition()).append(bot.getPreviousMove());
+        return description.toString();
+    }
+
+    /**
+     * Evaluates the validity of every position and the passability between every pair of positions in a 5x5 area.
+     *
+     * @param operation the track operation to evaluate
+     * @return the results of all the checks, in a fixed order
+     */
+    private List<Boolean> sweep(DefaultTrackOperation operation) {
+        List<Boolean> results = new ArrayList<>();
+        for (int x = 0; x < 5; x++)
+            for (int y = 0; y < 5; y++) {
+                Position start = new Position(x, y);
+                results.add(operation.isValidPosition(start));
+                for (int i = 0; i < 5; i++)
+                    for (int j = 0; j < 5; j++)
+                        results.add(operation.checkPassableTrack(start, new Position(i, j)));
+            }
+        return results;
+    }
 }
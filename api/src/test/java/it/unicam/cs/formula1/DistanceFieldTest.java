@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.DistanceField;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.Track.TrackException;
+import it.unicam.cs.formula1.Track.TrackFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceFieldTest {
+
+    @Test
+    public void testGetDistance() {
+        int[][] trackLayout = {
+                {2, 1, 1, 0, 1},
+                {0, 0, 1, 0, 1},
+                {3, 1, 1, 0, 1}
+        };
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0)), List.of(new Position(2, 0)));
+        DistanceField field = track.getDistanceField();
+        assertEquals(0, field.getDistance(2, 0));
+        assertEquals(2, field.getDistance(1, 2));
+        assertEquals(3, field.getDistance(0, 1));
+        assertEquals(4, field.getDistance(0, 0));
+        assertEquals(DistanceField.UNREACHABLE, field.getDistance(1, 0));
+        assertEquals(DistanceField.UNREACHABLE, field.getDistance(0, 4));
+        assertEquals(DistanceField.UNREACHABLE, field.getDistance(-1, 0));
+        assertSame(field, track.getDistanceField());
+    }
+
+    @Test
+    public void testLargeTrackMatchesSequentialSearch() throws TrackException {
+        int size = 1200;
+        int[][] trackLayout = new int[size][size];
+        Random random = new Random(7);
+        for (int[] row : trackLayout)
+            for (int j = 0; j < size; j++)
+                row[j] = random.nextInt(10) == 0 ? 0 : 1;
+        trackLayout[0][0] = 2;
+        trackLayout[size / 2][size / 2] = 3;
+        Track track = TrackFactory.toCompactTrack(new DefaultTrack(trackLayout,
+                List.of(new Position(0, 0)), List.of(new Position(size / 2, size / 2))));
+        DistanceField field = track.getDistanceField();
+        int[] expected = breadthFirstSearch(trackLayout, size / 2, size / 2);
+        for (int i = 0; i < size; i++)
+            for (int j = 0; j < size; j++)
+                assertEquals(expected[i * size + j], field.getDistance(i, j));
+    }
+
+    /**
+     * Reference single-threaded breadth-first search from a single finish cell.
+     */
+    private int[] breadthFirstSearch(int[][] trackLayout, int x, int y) {
+        int size = trackLayout.length;
+        int[] distances = new int[size * size];
+        Arrays.fill(distances, DistanceField.UNREACHABLE);
+        Queue<Integer> queue = new ArrayDeque<>();
+        distances[x * size + y] = 0;
+        queue.add(x * size + y);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (int dx = -1; dx <= 1; dx++)
+                for (int dy = -1; dy <= 1; dy++) {
+                    int nx = cell / size + dx;
+                    int ny = cell % size + dy;
+                    if (nx >= 0 && ny >= 0 && nx < size && ny < size && trackLayout[nx][ny] != 0
+                            && distances[nx * size + ny] == DistanceField.UNREACHABLE) {
+                        distances[nx * size + ny] = distances[cell] + 1;
+                        queue.add(nx * size + ny);
+                    }
+                }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+import it.unicam.cs.formula1.Planner.DoomedStateTable;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoomedStateTableTest {
+
+    @Test
+    void testMatchesNaiveInduction() {
+        for (long seed = 0; seed < 4; seed++) {
+            Track track = StateSpaceTest.randomTrack(20, 20, 0.3, seed);
+            StateSpace stateSpace = new StateSpace(track);
+            DoomedStateTable table = DoomedStateTable.compute(stateSpace);
+            boolean[] expected = naiveDoomed(stateSpace);
+            int doomed = 0;
+            for (int state = 0; state < expected.length; state++) {
+                assertEquals(expected[state], table.isDoomed(state));
+                if (expected[state])
+                    doomed++;
+            }
+            assertTrue(doomed > 0);
+        }
+    }
+
+    @Test
+    void testCautiousBotsAreNeverEliminated() throws BotException {
+        for (long seed = 0; seed < 5; seed++) {
+            Track track = StateSpaceTest.randomTrack(30, 30, 0.3, seed);
+            StateSpace stateSpace = new StateSpace(track);
+            DoomedStateTable table = DoomedStateTable.compute(stateSpace);
+            if (table.isDoomed(stateSpace.encode(0, 0, 0, 0, 1)))
+                continue;
+            for (long raceSeed = 0; raceSeed < 10; raceSeed++) {
+                List<Bot> bots = BotFactory.createCautiousBots(List.of("Bot1"), table, raceSeed);
+                RaceResult result = new DefaultGameEngine(track, bots).runToCompletion(200);
+                assertTrue(result.eliminatedBots().isEmpty());
+            }
+        }
+    }
+
+    /**
+     * Marks the doomed states by sweeping over all the states until no more are marked.
+     */
+    private static boolean[] naiveDoomed(StateSpace stateSpace) {
+        Track track = stateSpace.getTrack();
+        boolean[] doomed = new boolean[(int) stateSpace.size()];
+        long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int state = 0; state < doomed.length; state++) {
+                if (doomed[state] || !track.isPassable(stateSpace.getX(state), stateSpace.getY(state)))
+                    continue;
+                int count = stateSpace.successors(state, successors);
+                boolean all = true;
+                for (int i = 0; i < count && all; i++)
+                    all = !stateSpace.crossesFinish(state, successors[i]) && doomed[(int) successors[i]];
+                if (all) {
+                    doomed[state] = true;
+                    changed = true;
+                }
+            }
+        }
+        return doomed;
+    }
+}
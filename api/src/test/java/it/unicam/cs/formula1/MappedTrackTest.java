@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.MappedTrack;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.Track.TrackException;
+import it.unicam.cs.formula1.Track.TrackFactory;
+import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedTrackTest {
+
+    private DefaultTrack defaultTrack;
+
+    @BeforeEach
+    public void setUp() {
+        int[][] trackLayout = new int[4][70];
+        for (int j = 0; j < 70; j++) {
+            trackLayout[0][j] = j % 7 == 0 ? 2 : 1;
+            trackLayout[3][j] = j % 5 == 0 ? 3 : 1;
+        }
+        trackLayout[1][0] = 1;
+        trackLayout[2][0] = 1;
+        trackLayout[1][69] = 1;
+        trackLayout[2][65] = 1;
+        List<Position> startPositions = List.of(new Position(0, 0), new Position(0, 7));
+        List<Position> endPositions = List.of(new Position(3, 0), new Position(3, 5));
+        defaultTrack = new DefaultTrack(trackLayout, startPositions, endPositions);
+    }
+
+    @Test
+    public void testWriteAndMap() throws IOException, TrackException {
+        String binaryFilePath = "trackTest.bin";
+        TrackFactory.writeBinaryTrack(defaultTrack, binaryFilePath);
+        MappedTrack track = TrackFactory.loadMappedTrack(binaryFilePath);
+        assertEquals(4, track.getRows());
+        assertEquals(70, track.getColumns());
+        assertArrayEquals(defaultTrack.getTrackLayout(), track.getTrackLayout());
+        assertEquals(defaultTrack.getStartPositions(), track.getStartPositions());
+        assertEquals(defaultTrack.getEndPositions(), track.getEndPositions());
+        DefaultTrackOperation operation = new DefaultTrackOperation(track);
+        assertTrue(operation.checkPassableTrack(new Position(0, 0), new Position(3, 0)));
+        assertFalse(operation.checkPassableTrack(new Position(0, 1), new Position(3, 1)));
+        Files.delete(Paths.get(binaryFilePath));
+    }
+
+    @Test
+    public void testConvertConfigToBinary() throws IOException, TrackException {
+        String jsonFilePath = "jsonTest.json";
+        String binaryFilePath = "trackTest.bin";
+        Files.writeString(Paths.get(jsonFilePath), """
+                {
+                   "track":[
+                   "212",
+                   "10",
+                   "313"
+                   ]
+                }
+                """);
+        TrackFactory.convertConfigToBinary(jsonFilePath, binaryFilePath);
+        Track expected = TrackFactory.loadTrackFromConfig(jsonFilePath);
+        Track track = TrackFactory.loadMappedTrack(binaryFilePath);
+        for (int i = 0; i < 3; i++)
+            for (int j = 0; j < 3; j++)
+                assertEquals(expected.getCell(i, j), track.getCell(i, j));
+        assertEquals(expected.getStartPositions(), track.getStartPositions());
+        assertEquals(expected.getEndPositions(), track.getEndPositions());
+        Files.delete(Paths.get(jsonFilePath));
+        Files.delete(Paths.get(binaryFilePath));
+    }
+
+    @Test
+    public void testLoadInvalidFile() throws IOException {
+        String binaryFilePath = "trackTest.bin";
+        Files.writeString(Paths.get(binaryFilePath), "this is not a binary track file");
+        Exception exception = assertThrows(TrackException.class, () -> TrackFactory.loadMappedTrack(binaryFilePath));
+        assertTrue(exception.getMessage().contains("The file is not a valid binary track."));
+        Files.delete(Paths.get(binaryFilePath));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.NeighbourMasks;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.Track.TrackException;
+import it.unicam.cs.formula1.Track.TrackFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NeighbourMasksTest {
+
+    @Test
+    public void testGetMask() {
+        int[][] trackLayout = {
+                {2, 1, 0},
+                {0, 1, 1},
+                {3, 0, 1}
+        };
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0)), List.of(new Position(2, 0)));
+        NeighbourMasks masks = track.getNeighbourMasks();
+        assertEquals(0b1011_0011, masks.getMask(1, 1));
+        assertEquals(0b1001_0000, masks.getMask(0, 0));
+        assertEquals(0b0000_0100, masks.getMask(3, -1));
+        assertEquals(0, masks.getMask(5, 5));
+        assertSame(masks, track.getNeighbourMasks());
+    }
+
+    @Test
+    public void testGetCommonMask() {
+        int[][] trackLayout = {
+                {1, 1, 1, 1},
+                {1, 1, 1, 1},
+                {1, 1, 1, 1},
+                {1, 1, 1, 1}
+        };
+        Track track = new DefaultTrack(trackLayout, List.of(new Position(0, 0)), List.of(new Position(3, 3)));
+        NeighbourMasks masks = track.getNeighbourMasks();
+        assertEquals(0b0101_0000, masks.getCommonMask(1, 1, 2, 2));
+        assertEquals(0b1000_0000, masks.getCommonMask(1, 1, 3, 3));
+        assertEquals(0, masks.getCommonMask(0, 0, 3, 3));
+        assertEquals(4, NeighbourMasks.nthBit(0b0101_0000, 0));
+        assertEquals(6, NeighbourMasks.nthBit(0b0101_0000, 1));
+    }
+
+    @Test
+    public void testMasksMatchGridScan() throws TrackException {
+        int rows = 300;
+        int columns = 400;
+        int[][] trackLayout = new int[rows][columns];
+        Random random = new Random(11);
+        for (int[] row : trackLayout)
+            for (int j = 0; j < columns; j++)
+                row[j] = random.nextInt(3) == 0 ? 0 : 1;
+        trackLayout[0][0] = 2;
+        trackLayout[rows - 1][columns - 1] = 3;
+        Track track = TrackFactory.toCompactTrack(new DefaultTrack(trackLayout,
+                List.of(new Position(0, 0)), List.of(new Position(rows - 1, columns - 1))));
+        NeighbourMasks masks = track.getNeighbourMasks();
+        for (int i = -1; i <= rows; i++)
+            for (int j = -1; j <= columns; j++) {
+                int mask = masks.getMask(i, j);
+                int bit = 0;
+                for (int dx = -1; dx <= 1; dx++)
+                    for (int dy = -1; dy <= 1; dy++) {
+                        if (dx == 0 && dy == 0)
+                            continue;
+                        assertEquals(track.isPassable(i + dx, j + dy), (mask & 1 << bit) != 0);
+                        bit++;
+                    }
+            }
+    }
+}
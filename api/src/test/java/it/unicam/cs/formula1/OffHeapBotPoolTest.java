@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.BotPool.ArrayBotPool;
+import it.unicam.cs.formula1.BotPool.BotPool;
+import it.unicam.cs.formula1.BotPool.OffHeapBotPool;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapBotPoolTest {
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        int[][] trackLayout = {
+                {2, 1, 1, 1, 1, 1, 1, 1},
+                {1, 1, 0, 1, 1, 0, 1, 1},
+                {2, 1, 1, 1, 0, 1, 1, 1},
+                {1, 0, 1, 1, 1, 1, 1, 3}
+        };
+        track = new DefaultTrack(trackLayout, List.of(new Position(0, 0), new Position(2, 0)), List.of(new Position(3, 7)));
+    }
+
+    @Test
+    void testMovesLikeArrayBotPool() throws BotException {
+        List<String> names = BotPool.numberedNames(200);
+        BotPool expected = new ArrayBotPool(track, names, 4);
+        BotPool actual = new OffHeapBotPool(track, names, 4);
+        for (int turn = 0; turn < 30; turn++)
+            for (int bot = 0; bot < names.size(); bot++) {
+                if (expected.isEliminated(bot))
+                    continue;
+                expected.calculateNextMove(bot);
+                actual.calculateNextMove(bot);
+                assertEquals(expected.getX(bot), actual.getX(bot));
+                assertEquals(expected.getY(bot), actual.getY(bot));
+                assertEquals(expected.getPreviousMoveX(bot), actual.getPreviousMoveX(bot));
+                assertEquals(expected.getPreviousMoveY(bot), actual.getPreviousMoveY(bot));
+                assertEquals(expected.getSpeed(bot), actual.getSpeed(bot));
+                assertEquals(expected.getRandomState(bot), actual.getRandomState(bot));
+                assertEquals(expected.isEliminated(bot), actual.isEliminated(bot));
+            }
+    }
+
+    @Test
+    void testSnapshotAndRestore() throws BotException {
+        OffHeapBotPool pool = new OffHeapBotPool(track, BotPool.numberedNames(10), 2);
+        for (int bot = 0; bot < pool.size(); bot++)
+            pool.calculateNextMove(bot);
+        ByteBuffer snapshot = pool.snapshot();
+        int x = pool.getX(3);
+        int y = pool.getY(3);
+        long randomState = pool.getRandomState(3);
+        pool.updatePosition(3, 0, 7);
+        pool.setEliminated(3, true);
+        pool.restore(snapshot);
+        assertEquals(x, pool.getX(3));
+        assertEquals(y, pool.getY(3));
+        assertEquals(randomState, pool.getRandomState(3));
+        assertFalse(pool.isEliminated(3));
+        assertThrows(IllegalArgumentException.class, () -> pool.restore(ByteBuffer.allocate(8)));
+    }
+}
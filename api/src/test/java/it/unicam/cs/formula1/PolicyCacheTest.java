@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Planner.PolicyCache;
+import it.unicam.cs.formula1.Planner.PolicyTable;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyCacheTest {
+
+    @Test
+    void testMappedTableMatchesComputed() throws IOException {
+        Path directory = Files.createTempDirectory("policies");
+        try {
+            Track track = StateSpaceTest.randomTrack(30, 30, 0.2, 4);
+            StateSpace stateSpace = new StateSpace(track);
+            PolicyCache cache = new PolicyCache(directory.resolve("cache"));
+            PolicyTable computed = cache.get(stateSpace);
+            Path path = cache.getPath(track);
+            assertTrue(Files.exists(path));
+            try (Stream<Path> files = Files.list(directory.resolve("cache"))) {
+                assertEquals(List.of(path), files.toList());
+            }
+            FileTime written = Files.getLastModifiedTime(path);
+            PolicyTable mapped = cache.get(new StateSpace(track));
+            assertEquals(written, Files.getLastModifiedTime(path));
+            assertEquals(computed.getSweeps(), mapped.getSweeps());
+            for (long state = 0; state < stateSpace.size(); state++) {
+                assertEquals(computed.getMoves(state), mapped.getMoves(state));
+                assertEquals(computed.next(state), mapped.next(state));
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void testStaleFileIsReplaced() throws IOException {
+        Path directory = Files.createTempDirectory("policies");
+        try {
+            Track track = StateSpaceTest.randomTrack(20, 20, 0.2, 6);
+            StateSpace stateSpace = new StateSpace(track);
+            PolicyCache cache = new PolicyCache(directory);
+            PolicyTable computed = cache.get(stateSpace);
+            Path path = cache.getPath(track);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 0, 0, 0, 0, 0}), 16);
+            }
+            PolicyTable recomputed = cache.get(stateSpace);
+            long start = stateSpace.encode(0, 0, 0, 0, 1);
+            assertEquals(computed.getMoves(start), recomputed.getMoves(start));
+            PolicyTable mapped = cache.get(stateSpace);
+            assertEquals(computed.getMoves(start), mapped.getMoves(start));
+            Files.write(path, new byte[]{1, 2, 3});
+            assertEquals(computed.getMoves(start), cache.get(stateSpace).getMoves(start));
+            assertEquals(Files.size(path), 40 + 3 * stateSpace.size());
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    void testRulesHashIsStable() {
+        assertEquals(StateSpace.getRulesHash(), StateSpace.getRulesHash());
+        assertNotEquals(0, StateSpace.getRulesHash());
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted((first, second) -> second.compareTo(first)).toList())
+                Files.delete(path);
+        }
+    }
+}
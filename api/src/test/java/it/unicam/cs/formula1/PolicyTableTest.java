@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+import it.unicam.cs.formula1.Planner.AStarPlanner;
+import it.unicam.cs.formula1.Planner.PolicyTable;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyTableTest {
+
+    @Test
+    void testMovesMatchAStar() {
+        for (long seed = 0; seed < 5; seed++) {
+            Track track = StateSpaceTest.randomTrack(25, 25, 0.25, seed);
+            StateSpace stateSpace = new StateSpace(track);
+            PolicyTable policyTable = PolicyTable.compute(stateSpace);
+            AStarPlanner planner = new AStarPlanner(stateSpace);
+            RaceRandom random = new RaceRandom(seed);
+            for (int i = 0; i < 200; i++) {
+                int x = random.nextInt(track.getRows());
+                int y = random.nextInt(track.getColumns());
+                if (!track.isPassable(x, y))
+                    continue;
+                long state = stateSpace.encode(x, y, random.nextInt(7) - 3, random.nextInt(7) - 3, random.nextInt(3) + 1);
+                long[] plan = policyTable.plan(state);
+                assertEquals(planner.plan(state).length, plan.length);
+                assertEquals(plan.length == 0 ? PolicyTable.UNREACHABLE : plan.length - 1, policyTable.getMoves(state));
+                StateSpaceTest.assertValidPlan(stateSpace, plan);
+            }
+        }
+    }
+
+    @Test
+    void testComputeIsDeterministic() {
+        Track track = StateSpaceTest.randomTrack(60, 60, 0.2, 3);
+        StateSpace stateSpace = new StateSpace(track);
+        PolicyTable first = PolicyTable.compute(stateSpace);
+        PolicyTable second = PolicyTable.compute(stateSpace);
+        assertTrue(first.getSweeps() > 1);
+        for (long state = 0; state < stateSpace.size(); state++) {
+            assertEquals(first.getMoves(state), second.getMoves(state));
+            assertEquals(first.next(state), second.next(state));
+        }
+    }
+
+    @Test
+    void testPolicyBotsWin() throws BotException {
+        Track track = StateSpaceTest.randomTrack(40, 40, 0.2, 5);
+        StateSpace stateSpace = new StateSpace(track);
+        PolicyTable policyTable = PolicyTable.compute(stateSpace);
+        List<Bot> bots = BotFactory.createPolicyBots(List.of("Bot1"), policyTable, 1);
+        RaceResult result = new DefaultGameEngine(track, bots).runToCompletion(1000);
+        assertSame(bots.get(0), result.winner());
+        assertEquals(policyTable.getMoves(stateSpace.encode(0, 0, 0, 0, 1)), result.turns());
+        assertTrue(result.eliminatedBots().isEmpty());
+    }
+}
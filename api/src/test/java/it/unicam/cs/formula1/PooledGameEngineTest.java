@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.BotPool.ArrayBotPool;
+import it.unicam.cs.formula1.BotPool.BotPool;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.PooledGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledGameEngineTest {
+    private Track track;
+
+    @BeforeEach
+    void setUp() {
+        int[][] trackLayout = {
+                {2, 1, 1, 1, 1, 1, 1, 1},
+                {1, 1, 0, 1, 1, 0, 1, 1},
+                {2, 1, 1, 1, 0, 1, 1, 1},
+                {1, 0, 1, 1, 1, 1, 1, 3}
+        };
+        track = new DefaultTrack(trackLayout, List.of(new Position(0, 0), new Position(2, 0)), List.of(new Position(3, 7)));
+    }
+
+    @Test
+    void testRunToCompletionMatchesDefaultGameEngine() throws BotException {
+        List<String> names = List.of("Bot1", "Bot2");
+        for (long seed = 0; seed < 50; seed++) {
+            RaceResult expected = new DefaultGameEngine(track, BotFactory.createBots(names, track, seed)).runToCompletion(200);
+            RaceResult actual = new PooledGameEngine(new ArrayBotPool(track, names, seed)).runToCompletion(200);
+            assertEquals(expected.turns(), actual.turns());
+            assertEquals(expected.hasWinner(), actual.hasWinner());
+            if (expected.hasWinner())
+                assertEquals(expected.winner().getName(), actual.winner().getName());
+            assertEquals(expected.eliminatedBots().size(), actual.eliminatedBots().size());
+            for (int i = 0; i < names.size(); i++)
+                assertEquals(expected.bots().get(i).getCurrentPosition(), actual.bots().get(i).getCurrentPosition());
+        }
+    }
+
+    @Test
+    void testUpdateRaceRemovesEliminatedBots() throws BotException {
+        PooledGameEngine gameEngine = new PooledGameEngine(new ArrayBotPool(track, BotPool.numberedNames(4), 5));
+        List<Bot> bots = gameEngine.getBots();
+        Bot bot = bots.get(1);
+        bot.updatePosition(new Position(-5, -5));
+        assertEquals(4, bots.size());
+        gameEngine.updateRace();
+        assertEquals(3, bots.size());
+        assertFalse(bots.contains(bot));
+        assertTrue(bot.getEliminated());
+    }
+
+    @Test
+    void testParallelTickMatchesSequentialTick() throws BotException {
+        List<String> names = BotPool.numberedNames(50_000);
+        ArrayBotPool sequentialPool = new ArrayBotPool(track, names, 8);
+        ArrayBotPool parallelPool = new ArrayBotPool(track, names, 8);
+        PooledGameEngine sequential = new PooledGameEngine(sequentialPool);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            PooledGameEngine parallel = new PooledGameEngine(parallelPool, forkJoinPool);
+            RaceResult expected = sequential.runToCompletion(40);
+            RaceResult actual = parallel.runToCompletion(40);
+            assertEquals(expected.turns(), actual.turns());
+            assertEquals(expected.hasWinner(), actual.hasWinner());
+            if (expected.hasWinner())
+                assertEquals(expected.winner().getName(), actual.winner().getName());
+            assertEquals(expected.eliminatedBots().size(), actual.eliminatedBots().size());
+            for (int i = 0; i < expected.eliminatedBots().size(); i++)
+                assertEquals(expected.eliminatedBots().get(i).getName(), actual.eliminatedBots().get(i).getName());
+            for (int bot = 0; bot < names.size(); bot++) {
+                assertEquals(sequentialPool.getX(bot), parallelPool.getX(bot));
+                assertEquals(sequentialPool.getY(bot), parallelPool.getY(bot));
+                assertEquals(sequentialPool.getRandomState(bot), parallelPool.getRandomState(bot));
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    void testLargeFleet() throws BotException {
+        PooledGameEngine gameEngine = new PooledGameEngine(new ArrayBotPool(track, BotPool.numberedNames(100_000), 9));
+        RaceResult result = gameEngine.runToCompletion(100);
+        assertEquals(100_000, result.bots().size());
+        assertTrue(result.hasWinner() || result.eliminatedBots().size() == 100_000 || result.turns() == 100);
+    }
+}
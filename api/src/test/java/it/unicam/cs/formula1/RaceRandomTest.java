@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Random.RaceRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RaceRandomTest {
+
+    @Test
+    void testSameSeedGivesSameSequence() {
+        RaceRandom first = new RaceRandom(42);
+        RaceRandom second = new RaceRandom(42);
+        for (int i = 0; i < 1000; i++)
+            assertEquals(first.nextInt(8), second.nextInt(8));
+    }
+
+    @Test
+    void testRestoreState() {
+        RaceRandom random = new RaceRandom(3);
+        random.nextLong();
+        long state = random.getState();
+        long expected = random.nextLong();
+        random.setState(state);
+        assertEquals(expected, random.nextLong());
+    }
+
+    @Test
+    void testNextIntRange() {
+        RaceRandom random = new RaceRandom(5);
+        int[] counts = new int[5];
+        for (int i = 0; i < 10_000; i++)
+            counts[random.nextInt(5)]++;
+        for (int count : counts)
+            assertTrue(count > 1500 && count < 2500);
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+    @Test
+    void testDerive() {
+        assertEquals(RaceRandom.derive(1, 2), RaceRandom.derive(1, 2));
+        assertNotEquals(RaceRandom.derive(1, 2), RaceRandom.derive(1, 3));
+        assertNotEquals(RaceRandom.derive(1, 2), RaceRandom.derive(2, 2));
+    }
+}
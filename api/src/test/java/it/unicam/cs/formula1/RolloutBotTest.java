@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.Bot;
+import it.unicam.cs.formula1.Bot.BotException;
+import it.unicam.cs.formula1.Bot.BotFactory;
+import it.unicam.cs.formula1.Bot.RolloutSettings;
+import it.unicam.cs.formula1.GameEngine.DefaultGameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceResult;
+import it.unicam.cs.formula1.Track.Track;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RolloutBotTest {
+
+    @Test
+    void testSameSeedGivesSameRace() throws BotException {
+        Track track = StateSpaceTest.randomTrack(30, 30, 0.2, 2);
+        RolloutSettings settings = new RolloutSettings(64, 16, 0);
+        List<String> names = List.of("Bot1", "Bot2");
+        DefaultGameEngine first = new DefaultGameEngine(track, BotFactory.createRolloutBots(names, track, 9, settings));
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            DefaultGameEngine second = new DefaultGameEngine(track, BotFactory.createRolloutBots(names, track, 9, settings, pool));
+            for (int turn = 0; turn < 40 && !first.isRaceOver() && !first.allBotsEliminated(); turn++) {
+                first.updateRace();
+                second.updateRace();
+                for (int i = 0; i < first.getBots().size(); i++)
+                    assertEquals(first.getBots().get(i).getState(), second.getBots().get(i).getState());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testRolloutBotsBeatDefaultBots() throws BotException {
+        RolloutSettings settings = new RolloutSettings(64, 16, 0);
+        int rolloutWins = 0;
+        int defaultWins = 0;
+        for (long seed = 0; seed < 10; seed++) {
+            Track track = StateSpaceTest.randomTrack(30, 30, 0.2, seed);
+            rolloutWins += new DefaultGameEngine(track, BotFactory.createRolloutBots(List.of("Bot1"), track, seed, settings))
+                    .runToCompletion(200).hasWinner() ? 1 : 0;
+            defaultWins += new DefaultGameEngine(track, BotFactory.createBots(List.of("Bot1"), track, seed))
+                    .runToCompletion(200).hasWinner() ? 1 : 0;
+        }
+        assertTrue(rolloutWins > defaultWins);
+    }
+
+    @Test
+    void testTimeBudgetBoundsTurn() throws BotException {
+        Track track = StateSpaceTest.randomTrack(60, 60, 0.2, 3);
+        RolloutSettings settings = new RolloutSettings(1_000_000, 24, 5_000_000);
+        List<Bot> bots = BotFactory.createRolloutBots(List.of("Bot1"), track, 1, settings);
+        DefaultGameEngine engine = new DefaultGameEngine(track, bots);
+        long start = System.nanoTime();
+        engine.updateRace();
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+        assertNotEquals(track.getStartPositions().get(0), bots.get(0).getCurrentPosition());
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RolloutSettings(0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RolloutSettings(10, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RolloutSettings(10, 10, -1));
+        assertThrows(IllegalArgumentException.class, () -> new RolloutSettings(RolloutSettings.MAX_ROLLOUTS + 1, 10, 0));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024 Mattia Giaccaglia
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package it.unicam.cs.formula1;
+
+import it.unicam.cs.formula1.Bot.BotState;
+import it.unicam.cs.formula1.Bot.DefaultBot;
+import it.unicam.cs.formula1.Movement.DefaultMovement;
+import it.unicam.cs.formula1.Planner.StateSpace;
+import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Random.RaceRandom;
+import it.unicam.cs.formula1.Track.DefaultTrack;
+import it.unicam.cs.formula1.Track.Track;
+import it.unicam.cs.formula1.TrackOperation.DefaultTrackOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateSpaceTest {
+
+    static Track randomTrack(int rows, int columns, double walls, long seed) {
+        Random random = new Random(seed);
+        int[][] trackLayout = new int[rows][columns];
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < columns; j++)
+                trackLayout[i][j] = random.nextDouble() < walls ? 0 : 1;
+        trackLayout[0][0] = 2;
+        trackLayout[0][1] = 2;
+        trackLayout[rows - 1][columns - 1] = 3;
+        return new DefaultTrack(trackLayout, List.of(new Position(0, 0), new Position(0, 1)),
+                List.of(new Position(rows - 1, columns - 1)));
+    }
+
+    static void assertValidPlan(StateSpace stateSpace, long[] plan) {
+        long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+        for (int i = 0; i + 1 < plan.length; i++) {
+            int count = stateSpace.successors(plan[i], successors);
+            boolean found = false;
+            for (int j = 0; j < count; j++)
+                found |= successors[j] == plan[i + 1];
+            assertTrue(found);
+            assertEquals(i + 2 == plan.length, stateSpace.crossesFinish(plan[i], plan[i + 1]));
+        }
+    }
+
+    @Test
+    void testEncode() {
+        StateSpace stateSpace = new StateSpace(randomTrack(7, 9, 0, 1));
+        for (int x = 0; x < 7; x++)
+            for (int y = 0; y < 9; y++)
+                for (int velocityX = -3; velocityX <= 3; velocityX++)
+                    for (int velocityY = -3; velocityY <= 3; velocityY++)
+                        for (int speed = 1; speed <= 3; speed++) {
+                            long state = stateSpace.encode(x, y, velocityX, velocityY, speed);
+                            assertTrue(state >= 0 && state < stateSpace.size());
+                            assertEquals(x, stateSpace.getX(state));
+                            assertEquals(y, stateSpace.getY(state));
+                            assertEquals(velocityX, stateSpace.getVelocityX(state));
+                            assertEquals(velocityY, stateSpace.getVelocityY(state));
+                            assertEquals(speed, stateSpace.getSpeed(state));
+                        }
+        assertFalse(stateSpace.contains(0, 0, 4, 0, 1));
+        assertFalse(stateSpace.contains(0, 0, 0, 0, 0));
+        assertFalse(stateSpace.contains(7, 0, 0, 0, 1));
+    }
+
+    @Test
+    void testSuccessorsIncludeDefaultBotMoves() {
+        Track track = randomTrack(30, 30, 0.2, 2);
+        StateSpace stateSpace = new StateSpace(track);
+        DefaultTrackOperation trackOperation = new DefaultTrackOperation(track);
+        Random random = new Random(3);
+        long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+        for (int i = 0; i < 20_000; i++) {
+            int x = random.nextInt(30);
+            int y = random.nextInt(30);
+            int speed = 1 + random.nextInt(3);
+            int velocityX = random.nextInt(2 * speed + 1) - speed;
+            int velocityY = random.nextInt(2 * speed + 1) - speed;
+            if (!track.isPassable(x, y))
+                continue;
+            DefaultBot bot = new DefaultBot("Bot", new Position(x, y), new DefaultMovement(), trackOperation, new RaceRandom(i));
+            bot.setState(new BotState(x, y, velocityX, velocityY, speed, false, false, i));
+            bot.calculateNextMoves();
+            int nextX = bot.getCurrentX();
+            int nextY = bot.getCurrentY();
+            if (bot.getEliminated() || !track.isPassable(nextX, nextY) || !trackOperation.checkPassableTrack(x, y, nextX, nextY))
+                continue;
+            long next = stateSpace.encode(nextX, nextY, nextX - x, nextY - y, bot.getMovement().getSpeed());
+            int count = stateSpace.successors(stateSpace.encode(x, y, velocityX, velocityY, speed), successors);
+            boolean found = false;
+            for (int j = 0; j < count; j++)
+                found |= successors[j] == next;
+            assertTrue(found);
+        }
+    }
+
+    @Test
+    void testSuccessorMatchesSuccessors() {
+        StateSpace stateSpace = new StateSpace(randomTrack(12, 15, 0.2, 4));
+        long[] successors = new long[StateSpace.MAX_SUCCESSORS];
+        for (long state = 0; state < stateSpace.size(); state++) {
+            int count = stateSpace.successors(state, successors);
+            for (int i = 0; i < count; i++)
+                assertEquals(successors[i], stateSpace.successor(state, i));
+            assertEquals(-1, stateSpace.successor(state, count));
+        }
+    }
+}
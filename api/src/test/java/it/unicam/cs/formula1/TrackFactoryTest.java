@@ -37,6 +37,7 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -77,6 +78,109 @@ class TrackFactoryTest {
         Files.delete(Paths.get(jsonFilePath));
     }
 
+    @Test
+    void testLoadCompactTrackFromConfig() throws IOException, TrackException {
+        String jsonFilePath = "jsonTest.json";
+        String JsonContent = """
+                {
+                   "track":[
+                   "212",
+                   "10",
+                   "313"
+                   ]
+                }
+                """;
+        try (FileWriter file = new FileWriter(jsonFilePath)) {
+            file.write(JsonContent);
+        }
+        Track track = TrackFactory.loadCompactTrackFromConfig(jsonFilePath);
+        int[][] expectedTrackLayout = {
+                {2, 1, 2},
+                {1, 0, 0},
+                {3, 1, 3}
+        };
+        assertArrayEquals(expectedTrackLayout, track.getTrackLayout());
+        assertEquals(List.of(new Position(0, 0), new Position(0, 2)), track.getStartPositions());
+        assertEquals(List.of(new Position(2, 0), new Position(2, 2)), track.getEndPositions());
+        Files.delete(Paths.get(jsonFilePath));
+    }
+
+    @Test
+    void testLoadCompactTrackFromConfigInvalidCell() throws IOException {
+        String jsonFilePath = "jsonTest.json";
+        String invalidJsonContent = """
+        {
+            "track": [
+                "212",
+                "1x1",
+                "313"
+            ]
+        }
+        """;
+        try (FileWriter file = new FileWriter(jsonFilePath)) {
+            file.write(invalidJsonContent);
+        }
+        Exception exception = assertThrows(TrackException.class, () -> {
+            TrackFactory.loadCompactTrackFromConfig(jsonFilePath);
+        });
+        assertTrue(exception.getMessage().contains("Invalid cell value 'x' at position (1, 1)."));
+        Files.delete(Paths.get(jsonFilePath));
+    }
+
+    @Test
+    void testLoadTrackFromConfigKeepsNumericValues() throws IOException, TrackException {
+        String jsonFilePath = "jsonTest.json";
+        Files.writeString(Paths.get(jsonFilePath), "{\"track\": [\"2159\", \"1\\u00e9a3\", \"\\u0033\"]}");
+        int[][] expectedTrackLayout = {{2, 1, 5, 9}, {1, -1, 10, 3}, {3}};
+        assertArrayEquals(expectedTrackLayout, TrackFactory.loadTrackFromConfig(jsonFilePath).getTrackLayout());
+        assertArrayEquals(expectedTrackLayout, TrackFactory.loadTrackFromConfig(jsonFilePath, true).getTrackLayout());
+        Files.delete(Paths.get(jsonFilePath));
+    }
+
+    @Test
+    void testLoadCompactTrackFromConfigParallel() throws IOException, TrackException {
+        String jsonFilePath = "jsonTest.json";
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder("{\"bots\": [{\"name\": \"Bot1\", \"tags\": [1, 2.5e3, true, null]}],\n\"track\": [\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append(i == 0 ? "" : ",\n").append('"');
+            int length = 1 + random.nextInt(70);
+            for (int j = 0; j < length; j++)
+                content.append((char) ('0' + random.nextInt(4)));
+            content.append('"');
+        }
+        content.append("\n]}");
+        Files.writeString(Paths.get(jsonFilePath), content);
+        Track expected = TrackFactory.loadTrackFromConfig(jsonFilePath);
+        assertArrayEquals(expected.getTrackLayout(), TrackFactory.loadTrackFromConfig(jsonFilePath, true).getTrackLayout());
+        Track sequential = TrackFactory.loadCompactTrackFromConfig(jsonFilePath, false);
+        Track parallel = TrackFactory.loadCompactTrackFromConfig(jsonFilePath, true);
+        for (Track track : List.of(sequential, parallel)) {
+            assertEquals(1000, track.getRows());
+            assertEquals(expected.getColumns(), track.getColumns());
+            for (int i = 0; i < track.getRows(); i++)
+                for (int j = 0; j < track.getColumns(); j++)
+                    assertEquals(expected.getCell(i, j), track.getCell(i, j));
+            assertEquals(expected.getStartPositions(), track.getStartPositions());
+            assertEquals(expected.getEndPositions(), track.getEndPositions());
+        }
+        Files.delete(Paths.get(jsonFilePath));
+    }
+
+    @Test
+    void testLoadCompactTrackFromConfigErrors() throws IOException {
+        String jsonFilePath = "jsonTest.json";
+        Files.writeString(Paths.get(jsonFilePath), "{\"bots\": [{\"track\": [\"23\"]}]}");
+        Exception exception = assertThrows(TrackException.class, () -> TrackFactory.loadCompactTrackFromConfig(jsonFilePath, true));
+        assertTrue(exception.getMessage().contains("The configuration file does not contain the key 'track'."));
+        Files.writeString(Paths.get(jsonFilePath), "{\"track\": [\"2\\u0031\", \"111\"]}");
+        exception = assertThrows(TrackException.class, () -> TrackFactory.loadCompactTrackFromConfig(jsonFilePath, true));
+        assertTrue(exception.getMessage().contains("Start or finish positions are missing in the track."));
+        exception = assertThrows(NoSuchFileException.class, () -> TrackFactory.loadCompactTrackFromConfig("invalidPath.json"));
+        assertTrue(exception.getMessage().contains("File not found: invalidPath.json"));
+        Files.delete(Paths.get(jsonFilePath));
+    }
+
     @Test
     void testLoadTrackFromConfigFileNotFound() {
         Exception exception = assertThrows(NoSuchFileException.class, () -> {
@@ -26,8 +26,9 @@
 package it.unicam.cs.formula1.app.RaceDisplay;
 
 import it.unicam.cs.formula1.Bot.Bot;
-import it.unicam.cs.formula1.GameEngine.GameEngine;
+import it.unicam.cs.formula1.GameEngine.RaceView;
 import it.unicam.cs.formula1.Position.Position;
+import it.unicam.cs.formula1.Track.Track;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -41,32 +42,35 @@ import java.util.Map;
  * Handles the visual representation of the race, including displaying the track and updating bot positions.
  */
 public class DefaultRaceDisplay implements RaceDisplay {
-    private final GameEngine gameEngine;
+    private final RaceView raceView;
     private final Map<Bot, Circle> botCircles;
 
     /**
      * Constructor for DefaultRaceDisplay, initializes the map to track each bot associated Circle for visualization.
      *
-     * @param gameEngine the game engine managing the race logic
+     * The race can be a live race, managed by a {@link it.unicam.cs.formula1.GameEngine.GameEngine},
+     * or the replay of a recorded race.
+     *
+     * @param raceView the race to display
      */
-    public DefaultRaceDisplay(GameEngine gameEngine) {
-        this.gameEngine = gameEngine;
+    public DefaultRaceDisplay(RaceView raceView) {
+        this.raceView = raceView;
         this.botCircles = new HashMap<>();
     }
 
     @Override
     public void displayTrack(Pane root) {
-        int[][] grid = gameEngine.getTrack().getTrackLayout();
-        for (int i = 0; i < grid.length; i++)
-            for (int j = 0; j < grid[i].length; j++) {
-                Rectangle rect = createRectangleForGrid(grid[i][j], j, i);
+        Track track = raceView.getTrack();
+        for (int i = 0; i < track.getRows(); i++)
+            for (int j = 0; j < track.getColumns(); j++) {
+                Rectangle rect = createRectangleForGrid(track.getCell(i, j), j, i);
                 root.getChildren().add(rect);
             }
     }
 
     @Override
     public void updateBotPositions(Pane root) {
-        for (Bot bot : gameEngine.getBots()) {
+        for (Bot bot : raceView.getBots()) {
             Circle circle = botCircles.computeIfAbsent(bot, this::createCircleForBot);
             updateCirclePosition(circle, bot.getCurrentPosition());
             ensureCircleInPane(circle, root);